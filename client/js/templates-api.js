@@ -1,14 +1,44 @@
 class TemplatesAPI
 {
-    static async getTemplates()
+    // endpoint 별로 마지막 ETag 와 응답을 보관한다
+    static etagCache = new Map();
+
+    // If-None-Match 로 조건부 요청을 보내고, 304 이면 이전에 받은 응답을 그대로 사용한다
+    static async getWithETag(endpoint)
     {
         const token = Auth.getToken();
-        return API.request('/templates', {
+        const cacheKey = `${token}:${endpoint}`;
+        const cached = TemplatesAPI.etagCache.get(cacheKey);
+        const headers = {
+            'Authorization': `Bearer ${token}`
+        };
+        if (cached) {
+            headers['If-None-Match'] = cached.etag;
+        }
+
+        const response = await fetch(`${API_BASE_URL}${endpoint}`, {
             method: 'GET',
-            headers: {
-                'Authorization': `Bearer ${token}`
-            }
+            headers
         });
+        if (response.status === 304 && cached) {
+            return cached.data;
+        }
+
+        const data = await response.json().catch(() => null);
+        if (!response.ok) {
+            throw new Error(data?.message || `HTTP error! status: ${response.status}`);
+        }
+
+        const etag = response.headers.get('ETag');
+        if (etag) {
+            TemplatesAPI.etagCache.set(cacheKey, { etag, data });
+        }
+        return data;
+    }
+
+    static async getTemplates()
+    {
+        return TemplatesAPI.getWithETag('/templates');
     }
 
     static async createTemplate(data)
@@ -25,13 +55,7 @@ class TemplatesAPI
 
     static async getTemplate(templateId)
     {
-        const token = Auth.getToken();
-        return API.request(`/templates/${templateId}`, {
-            method: 'GET',
-            headers: {
-                'Authorization': `Bearer ${token}`
-            }
-        });
+        return TemplatesAPI.getWithETag(`/templates/${templateId}`);
     }
 
     static async deleteTemplate(templateId)
@@ -0,0 +1,95 @@
+package com.lien.cache;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.BitSet;
+
+/**
+ * 문자열 Bloom filter. 비트 위치는 MD5 128비트를 두 개의 해시로 나눈 double hashing 으로 구한다.
+ * {@link #toRedisBytes()} 와 {@link #loadRedisBytes(byte[])} 는 Redis SETBIT/GETBIT 의
+ * 비트 순서(바이트 안에서 상위 비트가 먼저)를 따른다.
+ */
+public class BloomFilter {
+
+    private final int bitSize;
+    private final int hashCount;
+    private final BitSet bits;
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitSize = (int) Math.min(Integer.MAX_VALUE - 7, Math.max(64, m));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitSize / n * Math.log(2)));
+        this.bits = new BitSet(bitSize);
+    }
+
+    public int bitSize() {
+        return bitSize;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    /**
+     * 값을 추가하고 켠 비트 위치를 돌려준다.
+     */
+    public synchronized int[] add(String value) {
+        int[] indexes = indexes(value);
+        for (int index : indexes) {
+            bits.set(index);
+        }
+        return indexes;
+    }
+
+    public synchronized boolean mightContain(String value) {
+        for (int index : indexes(value)) {
+            if (!bits.get(index)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public synchronized void clear() {
+        bits.clear();
+    }
+
+    public int[] indexes(String value) {
+        ByteBuffer hash = ByteBuffer.wrap(md5(value));
+        long h1 = hash.getLong();
+        long h2 = hash.getLong();
+        int[] indexes = new int[hashCount];
+        for (int i = 0; i < hashCount; i++) {
+            indexes[i] = (int) Math.floorMod(h1 + i * h2, (long) bitSize);
+        }
+        return indexes;
+    }
+
+    public synchronized byte[] toRedisBytes() {
+        byte[] bytes = new byte[(bitSize + 7) / 8];
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            bytes[i >>> 3] |= (byte) (0x80 >>> (i & 7));
+        }
+        return bytes;
+    }
+
+    public synchronized void loadRedisBytes(byte[] bytes) {
+        int limit = Math.min(bitSize, bytes.length * 8);
+        for (int i = 0; i < limit; i++) {
+            if ((bytes[i >>> 3] & (0x80 >>> (i & 7))) != 0) {
+                bits.set(i);
+            }
+        }
+    }
+
+    private static byte[] md5(String value) {
+        try {
+            return MessageDigest.getInstance("MD5").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.lien.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 사용자별 템플릿 개수 캐시. 상세 캐시와 같은 방식으로 사용자별 버전 번호를 키에 넣고,
+ * 템플릿이 생기거나 지워지면 커밋 이후 버전만 올린다.
+ */
+@Slf4j
+@Component
+public class TemplateCountCache {
+
+    private static final String VERSION_KEY_PREFIX = "template:count:version:";
+    private static final String COUNT_KEY_PREFIX = "template:count:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final boolean enabled;
+    private final Duration countTtl;
+    private final Duration versionTtl;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter errors;
+
+    public TemplateCountCache(
+            StringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${lien.cache.template-count.enabled:true}") boolean enabled,
+            @Value("${lien.redis.enabled:true}") boolean redisEnabled,
+            @Value("${lien.cache.template-count.ttl-ms:600000}") long countTtlMs,
+            @Value("${lien.cache.template-count.version-ttl-ms:86400000}") long versionTtlMs) {
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled && redisEnabled;
+        this.countTtl = Duration.ofMillis(countTtlMs);
+        this.versionTtl = Duration.ofMillis(Math.max(versionTtlMs, countTtlMs * 2));
+        this.hits = requests(meterRegistry, "hit");
+        this.misses = requests(meterRegistry, "miss");
+        this.errors = requests(meterRegistry, "error");
+    }
+
+    /**
+     * 캐시된 개수, 없으면 loader 로 센 값을 조회 시작 시점의 버전으로 저장하고 돌려준다.
+     */
+    public long get(Long userId, LongSupplier loader) {
+        if (!enabled) {
+            return loader.getAsLong();
+        }
+        String key;
+        try {
+            String version = redisTemplate.opsForValue().get(VERSION_KEY_PREFIX + userId);
+            key = COUNT_KEY_PREFIX + userId + ":v" + (version != null ? version : "0");
+            String cached = redisTemplate.opsForValue().get(key);
+            if (cached != null) {
+                hits.increment();
+                return Long.parseLong(cached);
+            }
+            misses.increment();
+        } catch (RuntimeException e) {
+            errors.increment();
+            log.warn("Template count cache read failed for {}: {}", userId, e.getMessage());
+            return loader.getAsLong();
+        }
+
+        long count = loader.getAsLong();
+        try {
+            redisTemplate.opsForValue().set(key, String.valueOf(count), countTtl);
+        } catch (RuntimeException e) {
+            errors.increment();
+            log.warn("Template count cache write failed for {}: {}", key, e.getMessage());
+        }
+        return count;
+    }
+
+    public void invalidate(Long userId) {
+        if (!enabled) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            try {
+                String versionKey = VERSION_KEY_PREFIX + userId;
+                redisTemplate.opsForValue().increment(versionKey);
+                redisTemplate.expire(versionKey, versionTtl);
+            } catch (RuntimeException e) {
+                errors.increment();
+                log.warn("Template count cache invalidation failed for {}: {}", userId, e.getMessage());
+            }
+        });
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("lien.template.count.cache.requests")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
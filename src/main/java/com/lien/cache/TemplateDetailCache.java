@@ -0,0 +1,166 @@
+package com.lien.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 템플릿 상세 응답(JSON) 캐시. 키에 템플릿별 버전 번호를 넣고, 템플릿이나 하위 항목이 바뀌면
+ * 커밋 이후 버전만 올린다. 이전 버전 항목은 다시 읽히지 않고 TTL 로 사라지므로,
+ * 변경 전에 읽기 시작한 요청이 오래된 응답을 저장하더라도 새 버전에서는 보이지 않는다.
+ *
+ * <p>버전 키는 상세 항목보다 오래 유지해야 버전이 초기화되어도 남아 있는 항목과 겹치지 않는다.
+ */
+@Slf4j
+@Component
+public class TemplateDetailCache {
+
+    private static final String VERSION_KEY_PREFIX = "template:detail:version:";
+    private static final String DETAIL_KEY_PREFIX = "template:detail:";
+    private static final String OWNER = "owner";
+    private static final String BODY = "body";
+    private static final String CACHED_AT = "cachedAt";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Duration detailTtl;
+    private final Duration versionTtl;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter errors;
+    private final Counter invalidations;
+    private final Timer entryAge;
+
+    public TemplateDetailCache(
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${lien.cache.template-detail.enabled:true}") boolean enabled,
+            @Value("${lien.redis.enabled:true}") boolean redisEnabled,
+            @Value("${lien.cache.template-detail.ttl-ms:600000}") long detailTtlMs,
+            @Value("${lien.cache.template-detail.version-ttl-ms:86400000}") long versionTtlMs) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled && redisEnabled;
+        this.detailTtl = Duration.ofMillis(detailTtlMs);
+        this.versionTtl = Duration.ofMillis(Math.max(versionTtlMs, detailTtlMs * 2));
+        this.hits = requests(meterRegistry, "hit");
+        this.misses = requests(meterRegistry, "miss");
+        this.errors = requests(meterRegistry, "error");
+        this.invalidations = Counter.builder("lien.template.detail.cache.invalidations").register(meterRegistry);
+        // 적중한 항목이 저장된 지 얼마나 되었는지 (버전이 바뀌지 않는 한 내용은 최신이다)
+        this.entryAge = Timer.builder("lien.template.detail.cache.entry.age").register(meterRegistry);
+    }
+
+    /**
+     * 현재 버전을 읽고 그 버전의 항목을 찾는다. 적중하지 않더라도 돌려받은 결과를
+     * {@link #store(Lookup, Long, Object)} 에 넘겨야 조회 시작 시점의 버전으로 저장된다.
+     */
+    public Lookup lookup(Long templateId) {
+        if (!enabled) {
+            return Lookup.DISABLED;
+        }
+        try {
+            String version = redisTemplate.opsForValue().get(VERSION_KEY_PREFIX + templateId);
+            String key = detailKey(templateId, version != null ? version : "0");
+            List<Object> values = redisTemplate.opsForHash().multiGet(key, List.of(OWNER, BODY, CACHED_AT));
+            if (values.get(0) == null || values.get(1) == null) {
+                misses.increment();
+                return new Lookup(key, null, null);
+            }
+            hits.increment();
+            if (values.get(2) != null) {
+                long age = System.currentTimeMillis() - Long.parseLong((String) values.get(2));
+                entryAge.record(Math.max(0, age), TimeUnit.MILLISECONDS);
+            }
+            return new Lookup(key, Long.valueOf((String) values.get(0)), new RawJson((String) values.get(1)));
+        } catch (RuntimeException e) {
+            errors.increment();
+            log.warn("Template detail cache read failed for {}: {}", templateId, e.getMessage());
+            return Lookup.DISABLED;
+        }
+    }
+
+    /**
+     * 응답을 JSON 으로 한 번 직렬화해 저장하고, 같은 JSON 을 그대로 쓰는 값을 돌려준다.
+     * 캐시를 쓸 수 없으면 받은 응답을 그대로 돌려준다.
+     */
+    public Object store(Lookup lookup, Long ownerId, Object detail) {
+        if (lookup.key() == null) {
+            return detail;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(detail);
+        } catch (JsonProcessingException e) {
+            log.warn("Template detail serialization failed: {}", e.getMessage());
+            return detail;
+        }
+        try {
+            redisTemplate.opsForHash().putAll(lookup.key(), Map.of(
+                    OWNER, String.valueOf(ownerId),
+                    BODY, json,
+                    CACHED_AT, String.valueOf(System.currentTimeMillis())));
+            redisTemplate.expire(lookup.key(), detailTtl);
+        } catch (RuntimeException e) {
+            errors.increment();
+            log.warn("Template detail cache write failed for {}: {}", lookup.key(), e.getMessage());
+        }
+        return new RawJson(json);
+    }
+
+    public void invalidate(Long templateId) {
+        invalidateAll(List.of(templateId));
+    }
+
+    public void invalidateAll(Collection<Long> templateIds) {
+        if (!enabled || templateIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(templateIds);
+        AfterCommit.run(() -> {
+            for (Long templateId : ids) {
+                try {
+                    String versionKey = VERSION_KEY_PREFIX + templateId;
+                    redisTemplate.opsForValue().increment(versionKey);
+                    redisTemplate.expire(versionKey, versionTtl);
+                    invalidations.increment();
+                } catch (RuntimeException e) {
+                    errors.increment();
+                    log.warn("Template detail cache invalidation failed for {}: {}", templateId, e.getMessage());
+                }
+            }
+        });
+    }
+
+    private static String detailKey(Long templateId, String version) {
+        return DETAIL_KEY_PREFIX + templateId + ":v" + version;
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("lien.template.detail.cache.requests")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public record Lookup(String key, Long ownerId, RawJson body) {
+
+        static final Lookup DISABLED = new Lookup(null, null, null);
+
+        public boolean hit() {
+            return body != null;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.lien.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 템플릿 id -> 소유자 id 프로세스 내부 캐시. 소유자는 바뀌지 않으므로 항목이 틀려지는 경우는 삭제뿐이고,
+ * 삭제된 템플릿은 변경 시 버전 갱신 행 수로 걸러내므로(TemplateAccess.touch) 인스턴스 간 무효화 없이 짧은 TTL 만 둔다.
+ */
+@Component
+public class TemplateOwnerCache {
+
+    private final BoundedTtlCache<Long, Long> owners;
+    private final boolean enabled;
+    private final long ttlMs;
+    private final Counter hits;
+    private final Counter misses;
+
+    public TemplateOwnerCache(
+            MeterRegistry meterRegistry,
+            @Value("${lien.cache.template-owner.enabled:true}") boolean enabled,
+            @Value("${lien.cache.template-owner.max-size:10000}") int maxSize,
+            @Value("${lien.cache.template-owner.ttl-ms:60000}") long ttlMs) {
+        this.owners = new BoundedTtlCache<>(maxSize);
+        this.enabled = enabled;
+        this.ttlMs = ttlMs;
+        this.hits = requests(meterRegistry, "hit");
+        this.misses = requests(meterRegistry, "miss");
+    }
+
+    public Optional<Long> ownerOf(Long templateId, Supplier<Optional<Long>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Long ownerId = owners.get(templateId);
+        if (ownerId != null) {
+            hits.increment();
+            return Optional.of(ownerId);
+        }
+        misses.increment();
+        Optional<Long> loaded = loader.get();
+        loaded.ifPresent(owner -> owners.putWithTtl(templateId, owner, ttlMs));
+        return loaded;
+    }
+
+    public void evict(Long templateId) {
+        owners.remove(templateId);
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("lien.template.owner.cache.requests")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
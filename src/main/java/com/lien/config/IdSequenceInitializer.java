@@ -0,0 +1,60 @@
+package com.lien.config;
+
+import com.lien.entity.IdSequences;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * id_sequences 의 값을 각 테이블의 현재 최대 id 뒤로 맞춘다. IDENTITY 로 저장된 기존 행과
+ * 새로 할당되는 id 가 겹치지 않게 하기 위해서이며, 스키마 생성 이후 웹 서버가 요청을 받기 전에 실행된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdSequenceInitializer implements SmartInitializingSingleton {
+
+    private final JdbcClient jdbcClient;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (Map.Entry<String, String> entry : IdSequences.SEQUENCE_TABLES.entrySet()) {
+            align(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void align(String sequenceName, String tableName) {
+        long maxId = jdbcClient.sql("SELECT COALESCE(MAX(id), 0) FROM " + tableName)
+                .query(Long.class)
+                .single();
+        // pooled 할당은 저장된 값에서 ALLOCATION_SIZE - 1 만큼 아래부터 쓰므로 그만큼 띄워 둔다
+        long floor = maxId + IdSequences.ALLOCATION_SIZE;
+
+        Optional<Long> current = jdbcClient.sql("SELECT " + IdSequences.VALUE_COLUMN + " FROM " + IdSequences.TABLE
+                        + " WHERE " + IdSequences.NAME_COLUMN + " = :name")
+                .param("name", sequenceName)
+                .query(Long.class)
+                .optional();
+        if (current.isEmpty()) {
+            jdbcClient.sql("INSERT INTO " + IdSequences.TABLE + " (" + IdSequences.NAME_COLUMN + ", "
+                            + IdSequences.VALUE_COLUMN + ") VALUES (:name, :value)")
+                    .param("name", sequenceName)
+                    .param("value", floor)
+                    .update();
+        } else if (current.get() < floor) {
+            jdbcClient.sql("UPDATE " + IdSequences.TABLE + " SET " + IdSequences.VALUE_COLUMN + " = :value"
+                            + " WHERE " + IdSequences.NAME_COLUMN + " = :name AND " + IdSequences.VALUE_COLUMN + " < :value")
+                    .param("name", sequenceName)
+                    .param("value", floor)
+                    .update();
+        } else {
+            return;
+        }
+        log.info("Aligned id sequence {} to {}", sequenceName, floor);
+    }
+}
@@ -0,0 +1,43 @@
+package com.lien.config;
+
+import com.lien.service.LocationClusterIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Component;
+
+/**
+ * location_clusters 가 현재 설정(max-zoom)과 맞지 않으면 공개 위치로 다시 만든다.
+ * 테이블이 처음 생겼거나 max-zoom 을 바꾼 뒤 첫 기동이 여기에 해당한다. 이후에는 기록된 위치 변경을 모아 증분으로 쓰고
+ * 주기적으로 다시 만들어 어긋난 개수를 바로잡는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LocationClusterInitializer implements SmartInitializingSingleton {
+
+    private final JdbcClient jdbcClient;
+    private final LocationClusterIndex locationClusterIndex;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        int maxZoom = locationClusterIndex.maxZoom();
+        boolean hasPublic = jdbcClient.sql("SELECT id FROM locations WHERE is_public = TRUE LIMIT 1")
+                .query(Long.class)
+                .optional()
+                .isPresent();
+        long builtAtMaxZoom = jdbcClient.sql("SELECT COUNT(*) FROM location_clusters WHERE zoom = :zoom")
+                .param("zoom", maxZoom)
+                .query(Long.class)
+                .single();
+        long beyondMaxZoom = jdbcClient.sql("SELECT COUNT(*) FROM location_clusters WHERE zoom > :zoom")
+                .param("zoom", maxZoom)
+                .query(Long.class)
+                .single();
+        if ((hasPublic && builtAtMaxZoom == 0) || beyondMaxZoom > 0) {
+            locationClusterIndex.rebuild();
+            log.info("Rebuilt location clusters up to zoom {}", maxZoom);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.lien.config;
+
+import com.lien.geo.GeoGrid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Component;
+
+/**
+ * geo_cell 컬럼 도입 이전에 저장된 위치의 칸 번호를 채운다. 반경 검색은 이 컬럼으로만 후보를 고르므로
+ * 요청을 받기 전에 실행한다. 긴 잠금을 피하려고 id 구간마다 문장 하나(자동 커밋)로 나눈다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LocationGeoCellInitializer implements SmartInitializingSingleton {
+
+    private static final long BATCH_IDS = 10_000;
+
+    private final JdbcClient jdbcClient;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        // 채울 행이 없으면 MIN 이 NULL 이다
+        long[] bounds = jdbcClient.sql("SELECT COALESCE(MIN(id), 0), COALESCE(MAX(id), -1) FROM locations"
+                        + " WHERE geo_cell IS NULL")
+                .query((rs, rowNum) -> new long[] {rs.getLong(1), rs.getLong(2)})
+                .single();
+        if (bounds[0] > bounds[1]) {
+            return;
+        }
+
+        long filled = 0;
+        for (long from = bounds[0]; from <= bounds[1]; from += BATCH_IDS) {
+            filled += jdbcClient.sql("UPDATE locations SET geo_cell = " + GeoGrid.cellSql("latitude", "longitude")
+                            + " WHERE geo_cell IS NULL AND id >= :from AND id < :to")
+                    .param("from", from)
+                    .param("to", from + BATCH_IDS)
+                    .update();
+        }
+        log.info("Filled geo_cell for {} locations", filled);
+    }
+}
@@ -12,9 +12,11 @@ import java.util.Map;
 @RequestMapping("/api/auth")
 public class AuthController {
     private final UserService userService;
+    private final JwtUtil jwtUtil;
 
-    public AuthController(UserService userService) {
+    public AuthController(UserService userService, JwtUtil jwtUtil) {
         this.userService = userService;
+        this.jwtUtil = jwtUtil;
     }
 
     @PostMapping("/register")
@@ -31,7 +33,7 @@ public class AuthController {
         String email = req.get("email");
         String password = req.get("password");
         User user = userService.authenticate(email, password);
-        String token = JwtUtil.generateToken(user.getEmail());
+        String token = jwtUtil.generateToken(user);
         return ResponseEntity.ok(Map.of("token", token, "email", user.getEmail(), "name", user.getName()));
     }
 } 
\ No newline at end of file
@@ -1,18 +1,27 @@
 package com.lien.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.lien.dto.request.LocationRequest;
+import com.lien.dto.response.LocationClustersResponse;
 import com.lien.dto.response.LocationResponse;
+import com.lien.dto.response.NearbyLocationResponse;
 import com.lien.entity.LocationCategory;
-import com.lien.entity.User;
+import com.lien.security.AuthenticatedUser;
 import com.lien.security.CurrentUser;
 import com.lien.service.LocationService;
+import com.lien.service.LocationStreamWriter;
+import com.lien.service.MergePatch;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -26,46 +35,102 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class LocationController {
 
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
     private final LocationService locationService;
 
     @PostMapping
     public ResponseEntity<LocationResponse> createLocation(
-            @CurrentUser User user,
+            @CurrentUser AuthenticatedUser user,
             @Valid @RequestBody LocationRequest request) {
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(locationService.createLocation(user, request));
+                .body(locationService.createLocation(user.id(), request));
     }
 
+    // size 나 cursor 를 주면 id 순 커서 페이지({content, nextCursor}), 없으면 기존처럼 전체 배열
     @GetMapping
-    public ResponseEntity<List<LocationResponse>> getLocations(
-            @CurrentUser User user,
+    public ResponseEntity<?> getLocations(
+            @CurrentUser AuthenticatedUser user,
             @RequestParam(required = false) LocationCategory category,
-            @RequestParam(required = false) String keyword) {
-        return ResponseEntity.ok(
-                locationService.getLocations(user, category, keyword));
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        if (cursor == null && size == null) {
+            return ResponseEntity.ok(locationService.getLocations(user.id(), category, keyword));
+        }
+        return ResponseEntity.ok(locationService.getLocationPage(
+                user.id(), category, keyword, cursor, size != null ? size : DEFAULT_PAGE_SIZE));
+    }
+
+    // Accept: application/x-ndjson 이면 한 줄에 하나씩 읽는 대로 내려준다
+    @GetMapping(produces = LocationStreamWriter.NDJSON)
+    public void streamLocations(
+            @CurrentUser AuthenticatedUser user,
+            @RequestParam(required = false) LocationCategory category,
+            @RequestParam(required = false) String keyword,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(LocationStreamWriter.NDJSON);
+        locationService.streamLocations(user.id(), category, keyword, response.getOutputStream());
+    }
+
+    // 반경 안의 위치를 가까운 순으로
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyLocationResponse>> getNearbyLocations(
+            @CurrentUser AuthenticatedUser user,
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "1000") double radiusMeters,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(locationService.findNearby(user.id(), lat, lng, radiusMeters, limit));
+    }
+
+    // 거리와 상관없이 가장 가까운 k 개 (최대 검색 반경 안에서)
+    @GetMapping("/nearest")
+    public ResponseEntity<List<NearbyLocationResponse>> getNearestLocations(
+            @CurrentUser AuthenticatedUser user,
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "10") int k) {
+        return ResponseEntity.ok(locationService.findNearest(user.id(), lat, lng, k));
+    }
+
+    // 지도 화면용. bbox=서,남,동,북 / 확대하면 묶음 대신 개별 위치
+    @GetMapping("/clusters")
+    public ResponseEntity<LocationClustersResponse> getLocationClusters(
+            @RequestParam String bbox,
+            @RequestParam int zoom) {
+        return ResponseEntity.ok(locationService.getClusters(bbox, zoom));
     }
 
     @GetMapping("/{locationId}")
     public ResponseEntity<LocationResponse> getLocation(
-            @CurrentUser User user,
+            @CurrentUser AuthenticatedUser user,
             @PathVariable Long locationId) {
-        return ResponseEntity.ok(locationService.getLocation(user, locationId));
+        return ResponseEntity.ok(locationService.getLocation(user.id(), locationId));
     }
 
     @PutMapping("/{locationId}")
     public ResponseEntity<LocationResponse> updateLocation(
-            @CurrentUser User user,
+            @CurrentUser AuthenticatedUser user,
             @PathVariable Long locationId,
             @Valid @RequestBody LocationRequest request) {
         return ResponseEntity.ok(
-                locationService.updateLocation(user, locationId, request));
+                locationService.updateLocation(user.id(), locationId, request));
+    }
+
+    @PatchMapping(value = "/{locationId}", consumes = {MergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<LocationResponse> patchLocation(
+            @CurrentUser AuthenticatedUser user,
+            @PathVariable Long locationId,
+            @RequestBody JsonNode patch) {
+        return ResponseEntity.ok(locationService.patchLocation(user.id(), locationId, patch));
     }
 
     @DeleteMapping("/{locationId}")
     public ResponseEntity<Void> deleteLocation(
-            @CurrentUser User user,
+            @CurrentUser AuthenticatedUser user,
             @PathVariable Long locationId) {
-        locationService.deleteLocation(user, locationId);
+        locationService.deleteLocation(user.id(), locationId);
         return ResponseEntity.noContent().build();
     }
 }
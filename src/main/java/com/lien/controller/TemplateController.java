@@ -1,27 +1,48 @@
 package com.lien.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.lien.dto.request.ActivityRequest;
 import com.lien.dto.request.ChecklistSectionRequest;
 import com.lien.dto.request.DayScheduleRequest;
+import com.lien.dto.request.MoveRequest;
+import com.lien.dto.request.TemplateCloneRequest;
+import com.lien.dto.request.TemplateBatchRequest;
 import com.lien.dto.request.TemplateCreateRequest;
+import com.lien.dto.request.TemplateListSort;
+import com.lien.dto.response.TemplateBatchResponse;
+import com.lien.dto.response.TemplateCursorResponse;
 import com.lien.dto.response.TemplateResponse;
-import com.lien.entity.User;
+import com.lien.dto.response.TemplateSummaryResponse;
+import com.lien.security.AuthenticatedUser;
 import com.lien.security.CurrentUser;
+import com.lien.service.TemplateBatchService;
+import com.lien.service.TemplateCloneService;
+import com.lien.service.TemplateImportService;
+import com.lien.service.TemplateOrderService;
+import com.lien.service.MergePatch;
 import com.lien.service.TemplateService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
 
 @RestController
 @RequestMapping("/api/templates")
@@ -29,129 +50,237 @@ import org.springframework.web.bind.annotation.RestController;
 public class TemplateController {
 
     private final TemplateService templateService;
+    private final TemplateImportService templateImportService;
+    private final TemplateBatchService templateBatchService;
+    private final TemplateOrderService templateOrderService;
+    private final TemplateCloneService templateCloneService;
 
     @PostMapping
     public ResponseEntity<TemplateResponse> createTemplate(
-            @CurrentUser User user,
+            @CurrentUser AuthenticatedUser user,
             @Valid @RequestBody TemplateCreateRequest request) {
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(templateService.createTemplate(user, request));
+                .body(templateService.createTemplate(user.id(), request));
     }
 
+    // 본문을 바인딩하지 않고 스트림 그대로 넘겨 요소 단위로 읽는다
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<TemplateResponse> importTemplate(
+            @CurrentUser AuthenticatedUser user,
+            HttpServletRequest request) throws IOException {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(templateImportService.importTemplate(user.id(), request.getInputStream()));
+    }
+
+    // If-None-Match 가 현재 버전과 같으면 목록/상세를 읽지 않고 304 로 응답한다
     @GetMapping
-    public ResponseEntity<Page<TemplateResponse>> getTemplates(
-            @CurrentUser User user,
-            Pageable pageable) {
-        return ResponseEntity.ok(templateService.getTemplates(user, pageable));
+    public ResponseEntity<Page<TemplateSummaryResponse>> getTemplates(
+            @CurrentUser AuthenticatedUser user,
+            Pageable pageable,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(templateService.getTemplatesETag(user.id(), pageable))) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(templateService.getTemplates(user.id(), pageable));
+    }
+
+    // 커서 기반 목록. 첫 페이지는 cursor 없이, 이후에는 응답의 nextCursor 를 그대로 넘긴다
+    @GetMapping("/cursor")
+    public ResponseEntity<TemplateCursorResponse> getTemplatesByCursor(
+            @CurrentUser AuthenticatedUser user,
+            @RequestParam(defaultValue = "UPDATED_AT") TemplateListSort sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(
+                templateService.getTemplatesByCursor(user.id(), sort, cursor, size, includeTotal));
     }
 
     @GetMapping("/{templateId}")
     public ResponseEntity<?> getTemplate(
-            @CurrentUser User user,
-            @PathVariable Long templateId) {
-        return ResponseEntity.ok(templateService.getTemplateDetail(user, templateId));
+            @CurrentUser AuthenticatedUser user,
+            @PathVariable Long templateId,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(templateService.getTemplateDetailETag(user.id(), templateId))) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(templateService.getTemplateDetail(user.id(), templateId));
     }
 
     @PutMapping("/{templateId}")
     public ResponseEntity<TemplateResponse> updateTemplate(
-            @CurrentUser User user,
+            @CurrentUser AuthenticatedUser user,
             @PathVariable Long templateId,
             @Valid @RequestBody TemplateCreateRequest request) {
-        return ResponseEntity.ok(templateService.updateTemplate(user, templateId, request));
+        return ResponseEntity.ok(templateService.updateTemplate(user.id(), templateId, request));
+    }
+
+    // 보낸 필드만 바꾼다 (RFC 7396). null 은 값을 지운다
+    @PatchMapping(value = "/{templateId}", consumes = {MergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<TemplateResponse> patchTemplate(
+            @CurrentUser AuthenticatedUser user,
+            @PathVariable Long templateId,
+            @RequestBody JsonNode patch) {
+        return ResponseEntity.ok(templateService.patchTemplate(user.id(), templateId, patch));
     }
 
     @DeleteMapping("/{templateId}")
     public ResponseEntity<Void> deleteTemplate(
-            @CurrentUser User user,
+            @CurrentUser AuthenticatedUser user,
             @PathVariable Long templateId) {
-        templateService.deleteTemplate(user, templateId);
+        templateService.deleteTemplate(user.id(), templateId);
         return ResponseEntity.noContent().build();
     }
 
+    // 본문을 생략하면 제목과 날짜를 그대로 복사한다
+    @PostMapping("/{templateId}/clone")
+    public ResponseEntity<TemplateResponse> cloneTemplate(
+            @CurrentUser AuthenticatedUser user,
+            @PathVariable Long templateId,
+            @Valid @RequestBody(required = false) TemplateCloneRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(templateCloneService.cloneTemplate(user.id(), templateId, request));
+    }
+
+    // 편집 화면의 여러 변경을 순서대로 한 트랜잭션에서 적용한다
+    @PostMapping("/{templateId}/batch")
+    public ResponseEntity<TemplateBatchResponse> applyBatch(
+            @CurrentUser AuthenticatedUser user,
+            @PathVariable Long templateId,
+            @Valid @RequestBody TemplateBatchRequest request) {
+        return ResponseEntity.ok(templateBatchService.apply(user.id(), templateId, request.getOperations()));
+    }
+
     @PostMapping("/{templateId}/checklist-sections")
     public ResponseEntity<?> addChecklistSection(
-            @CurrentUser User user,
+            @CurrentUser AuthenticatedUser user,
             @PathVariable Long templateId,
             @Valid @RequestBody ChecklistSectionRequest request) {
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(templateService.addChecklistSection(user, templateId, request));
+                .body(templateService.addChecklistSection(user.id(), templateId, request));
+    }
+
+    // 섹션 순서 변경. 옮기는 섹션의 순서 키만 바뀐다
+    @PostMapping("/{templateId}/checklist-sections/move")
+    public ResponseEntity<Void> moveChecklistSections(
+            @CurrentUser AuthenticatedUser user,
+            @PathVariable Long templateId,
+            @Valid @RequestBody MoveRequest request) {
+        templateOrderService.moveChecklistSections(user.id(), templateId, request);
+        return ResponseEntity.noContent().build();
     }
 
     @PutMapping("/{templateId}/checklist-sections/{sectionId}")
     public ResponseEntity<?> updateChecklistSection(
-            @CurrentUser User user,
+            @CurrentUser AuthenticatedUser user,
             @PathVariable Long templateId,
             @PathVariable Long sectionId,
             @Valid @RequestBody ChecklistSectionRequest request) {
         return ResponseEntity.ok(
-                templateService.updateChecklistSection(user, templateId, sectionId, request));
+                templateService.updateChecklistSection(user.id(), templateId, sectionId, request));
     }
 
     @DeleteMapping("/{templateId}/checklist-sections/{sectionId}")
     public ResponseEntity<Void> deleteChecklistSection(
-            @CurrentUser User user,
+            @CurrentUser AuthenticatedUser user,
             @PathVariable Long templateId,
             @PathVariable Long sectionId) {
-        templateService.deleteChecklistSection(user, templateId, sectionId);
+        templateService.deleteChecklistSection(user.id(), templateId, sectionId);
         return ResponseEntity.noContent().build();
     }
 
     @PostMapping("/{templateId}/days")
     public ResponseEntity<?> addDaySchedule(
-            @CurrentUser User user,
+            @CurrentUser AuthenticatedUser user,
             @PathVariable Long templateId,
             @Valid @RequestBody DayScheduleRequest request) {
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(templateService.addDaySchedule(user, templateId, request));
+                .body(templateService.addDaySchedule(user.id(), templateId, request));
     }
 
     @PutMapping("/{templateId}/days/{dayId}")
     public ResponseEntity<?> updateDaySchedule(
-            @CurrentUser User user,
+            @CurrentUser AuthenticatedUser user,
             @PathVariable Long templateId,
             @PathVariable Long dayId,
             @Valid @RequestBody DayScheduleRequest request) {
         return ResponseEntity.ok(
-                templateService.updateDaySchedule(user, templateId, dayId, request));
+                templateService.updateDaySchedule(user.id(), templateId, dayId, request));
+    }
+
+    @PatchMapping(value = "/{templateId}/days/{dayId}",
+            consumes = {MergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<?> patchDaySchedule(
+            @CurrentUser AuthenticatedUser user,
+            @PathVariable Long templateId,
+            @PathVariable Long dayId,
+            @RequestBody JsonNode patch) {
+        return ResponseEntity.ok(templateService.patchDaySchedule(user.id(), templateId, dayId, patch));
     }
 
     @DeleteMapping("/{templateId}/days/{dayId}")
     public ResponseEntity<Void> deleteDaySchedule(
-            @CurrentUser User user,
+            @CurrentUser AuthenticatedUser user,
             @PathVariable Long templateId,
             @PathVariable Long dayId) {
-        templateService.deleteDaySchedule(user, templateId, dayId);
+        templateService.deleteDaySchedule(user.id(), templateId, dayId);
+        return ResponseEntity.noContent().build();
+    }
+
+    // 활동을 일정 안에서 다시 정렬하거나 다른 일정으로 옮긴다
+    @PostMapping("/{templateId}/activities/move")
+    public ResponseEntity<Void> moveActivities(
+            @CurrentUser AuthenticatedUser user,
+            @PathVariable Long templateId,
+            @Valid @RequestBody MoveRequest request) {
+        templateOrderService.moveActivities(user.id(), templateId, request);
         return ResponseEntity.noContent().build();
     }
 
     @PostMapping("/{templateId}/days/{dayId}/activities")
     public ResponseEntity<?> addActivity(
-            @CurrentUser User user,
+            @CurrentUser AuthenticatedUser user,
             @PathVariable Long templateId,
             @PathVariable Long dayId,
             @Valid @RequestBody ActivityRequest request) {
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(templateService.addActivity(user, templateId, dayId, request));
+                .body(templateService.addActivity(user.id(), templateId, dayId, request));
     }
 
     @PutMapping("/{templateId}/days/{dayId}/activities/{activityId}")
     public ResponseEntity<?> updateActivity(
-            @CurrentUser User user,
+            @CurrentUser AuthenticatedUser user,
             @PathVariable Long templateId,
             @PathVariable Long dayId,
             @PathVariable Long activityId,
             @Valid @RequestBody ActivityRequest request) {
         return ResponseEntity.ok(
-                templateService.updateActivity(user, templateId, dayId, activityId, request));
+                templateService.updateActivity(user.id(), templateId, dayId, activityId, request));
+    }
+
+    @PatchMapping(value = "/{templateId}/days/{dayId}/activities/{activityId}",
+            consumes = {MergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<?> patchActivity(
+            @CurrentUser AuthenticatedUser user,
+            @PathVariable Long templateId,
+            @PathVariable Long dayId,
+            @PathVariable Long activityId,
+            @RequestBody JsonNode patch) {
+        return ResponseEntity.ok(
+                templateService.patchActivity(user.id(), templateId, dayId, activityId, patch));
     }
 
     @DeleteMapping("/{templateId}/days/{dayId}/activities/{activityId}")
     public ResponseEntity<Void> deleteActivity(
-            @CurrentUser User user,
+            @CurrentUser AuthenticatedUser user,
             @PathVariable Long templateId,
             @PathVariable Long dayId,
             @PathVariable Long activityId) {
-        templateService.deleteActivity(user, templateId, dayId, activityId);
+        templateService.deleteActivity(user.id(), templateId, dayId, activityId);
         return ResponseEntity.noContent().build();
     }
 }
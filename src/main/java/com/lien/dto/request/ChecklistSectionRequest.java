@@ -30,6 +30,9 @@ public class ChecklistSectionRequest {
     @Data
     public static class ChecklistItemDto {
 
+        // 기존 항목을 수정할 때만 보낸다. 없으면 새 항목
+        private Long id;
+
         @NotBlank
         @Size(max = 200)
         private String label;
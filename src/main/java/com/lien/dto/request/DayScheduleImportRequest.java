@@ -0,0 +1,15 @@
+package com.lien.dto.request;
+
+import jakarta.validation.Valid;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class DayScheduleImportRequest extends DayScheduleRequest {
+
+    @Valid
+    private List<ActivityRequest> activities = new ArrayList<>();
+}
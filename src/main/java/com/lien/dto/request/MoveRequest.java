@@ -0,0 +1,23 @@
+package com.lien.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class MoveRequest {
+
+    // 옮길 요소. 이 순서대로 연달아 놓인다
+    @NotEmpty
+    @Size(max = 500)
+    private List<Long> ids;
+
+    // 활동을 옮겨 놓을 일정 (같은 일정이면 일정 안에서 순서만 바꾼다)
+    private Long dayId;
+
+    // 기준 이웃. 둘 다 없으면 맨 뒤에 놓는다
+    private Long afterId;
+
+    private Long beforeId;
+}
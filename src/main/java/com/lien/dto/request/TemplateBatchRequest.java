@@ -0,0 +1,47 @@
+package com.lien.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class TemplateBatchRequest {
+
+    @NotEmpty(message = "작업은 최소 1개 이상이어야 합니다")
+    @Size(max = 500)
+    @Valid
+    private List<Operation> operations;
+
+    public enum OperationType {
+        ADD_SECTION, UPDATE_SECTION, DELETE_SECTION,
+        ADD_DAY, UPDATE_DAY, DELETE_DAY,
+        ADD_ACTIVITY, UPDATE_ACTIVITY, DELETE_ACTIVITY
+    }
+
+    @Data
+    public static class Operation {
+
+        @NotNull
+        private OperationType type;
+
+        // 수정/삭제 대상 id
+        private Long id;
+
+        // 활동 작업의 일정. 같은 요청에서 추가한 일정은 dayRef(ADD_DAY 작업의 순번)로 가리킨다
+        private Long dayId;
+
+        private Integer dayRef;
+
+        @Valid
+        private ChecklistSectionRequest section;
+
+        @Valid
+        private DayScheduleRequest day;
+
+        @Valid
+        private ActivityRequest activity;
+    }
+}
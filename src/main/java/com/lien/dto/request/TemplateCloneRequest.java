@@ -0,0 +1,16 @@
+package com.lien.dto.request;
+
+import jakarta.validation.constraints.Size;
+import java.time.LocalDate;
+import lombok.Data;
+
+@Data
+public class TemplateCloneRequest {
+
+    // 없으면 원본 제목
+    @Size(max = 200)
+    private String title;
+
+    // 없으면 원본 날짜 그대로. 있으면 일정 날짜 전체를 같은 만큼 옮긴다
+    private LocalDate startDate;
+}
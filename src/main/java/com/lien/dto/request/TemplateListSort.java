@@ -0,0 +1,7 @@
+package com.lien.dto.request;
+
+// 커서 목록의 정렬. 최근 수정순(내림차순) 또는 출발일순(오름차순), 같은 값이면 id 순
+public enum TemplateListSort {
+    UPDATED_AT,
+    START_DATE
+}
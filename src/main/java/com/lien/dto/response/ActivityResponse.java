@@ -0,0 +1,11 @@
+package com.lien.dto.response;
+
+public record ActivityResponse(
+        Long id,
+        String time,
+        String description,
+        LocationResponse location,
+        LocationResponse previousLocation,
+        Integer orderIndex
+) {
+}
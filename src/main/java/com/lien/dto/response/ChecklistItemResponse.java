@@ -0,0 +1,8 @@
+package com.lien.dto.response;
+
+public record ChecklistItemResponse(
+        Long id,
+        String label,
+        Integer orderIndex
+) {
+}
@@ -0,0 +1,12 @@
+package com.lien.dto.response;
+
+import java.util.List;
+
+public record ChecklistSectionResponse(
+        Long id,
+        String title,
+        String icon,
+        Integer orderIndex,
+        List<ChecklistItemResponse> items
+) {
+}
@@ -0,0 +1,14 @@
+package com.lien.dto.response;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record DayScheduleResponse(
+        Long id,
+        Integer dayNumber,
+        LocalDate date,
+        String title,
+        String color,
+        List<ActivityResponse> activities
+) {
+}
@@ -0,0 +1,13 @@
+package com.lien.dto.response;
+
+import com.lien.entity.LocationCategory;
+
+import java.util.Map;
+
+// 격자 칸 하나의 묶음. latitude/longitude 는 칸 안 위치들의 중심점
+public record LocationClusterResponse(
+        double latitude,
+        double longitude,
+        long count,
+        Map<LocationCategory, Long> categories) {
+}
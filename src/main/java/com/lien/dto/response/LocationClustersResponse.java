@@ -0,0 +1,10 @@
+package com.lien.dto.response;
+
+import java.util.List;
+
+// 묶음 단계에서는 clusters 만, 그보다 확대하면 points 만 채운다
+public record LocationClustersResponse(
+        int zoom,
+        List<LocationClusterResponse> clusters,
+        List<LocationResponse> points) {
+}
@@ -0,0 +1,7 @@
+package com.lien.dto.response;
+
+import java.util.List;
+
+// nextCursor 가 null 이면 마지막 페이지
+public record LocationCursorResponse(List<LocationResponse> content, String nextCursor) {
+}
@@ -0,0 +1,5 @@
+package com.lien.dto.response;
+
+// 가까운 순 검색 결과. distanceMeters 는 검색 중심에서의 대원 거리
+public record NearbyLocationResponse(LocationResponse location, double distanceMeters) {
+}
@@ -0,0 +1,11 @@
+package com.lien.dto.response;
+
+import com.lien.dto.request.TemplateBatchRequest.OperationType;
+import java.util.List;
+
+public record TemplateBatchResponse(List<OperationResult> results) {
+
+    // result 는 추가/수정된 요소의 응답, 삭제면 null
+    public record OperationResult(int index, OperationType type, Long id, Object result) {
+    }
+}
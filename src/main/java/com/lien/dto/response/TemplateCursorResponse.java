@@ -0,0 +1,7 @@
+package com.lien.dto.response;
+
+import java.util.List;
+
+// nextCursor 가 null 이면 마지막 페이지. totalElements 는 요청했을 때만 채운다
+public record TemplateCursorResponse(List<TemplateSummaryResponse> content, String nextCursor, Long totalElements) {
+}
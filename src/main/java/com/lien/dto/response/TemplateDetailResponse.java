@@ -0,0 +1,10 @@
+package com.lien.dto.response;
+
+import java.util.List;
+
+public record TemplateDetailResponse(
+        TemplateResponse template,
+        List<ChecklistSectionResponse> checklistSections,
+        List<DayScheduleResponse> daySchedules
+) {
+}
@@ -0,0 +1,20 @@
+package com.lien.dto.response;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// 목록용. TemplateResponse 의 필드에 일정/활동 개수를 더해 한 쿼리로 바로 만든다
+public record TemplateSummaryResponse(
+        Long id,
+        String title,
+        String destination,
+        LocalDate startDate,
+        LocalDate endDate,
+        Integer totalDays,
+        String accommodation,
+        String transportation,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long dayCount,
+        Long activityCount) {
+}
@@ -2,8 +2,10 @@ package com.lien.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
+@DynamicUpdate
 @Table(name = "activities")
 @Getter @Setter
 @NoArgsConstructor
@@ -12,7 +14,14 @@ import lombok.*;
 public class Activity {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = IdSequences.ACTIVITIES)
+    @TableGenerator(
+            name = IdSequences.ACTIVITIES,
+            table = IdSequences.TABLE,
+            pkColumnName = IdSequences.NAME_COLUMN,
+            valueColumnName = IdSequences.VALUE_COLUMN,
+            pkColumnValue = IdSequences.ACTIVITIES,
+            allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -35,4 +44,8 @@ public class Activity {
     
     @Column(nullable = false)
     private Integer orderIndex;
+
+    // 실제 정렬 기준. 옮길 때 이 행만 바뀌도록 이웃 키 사이의 문자열을 쓴다 (RankKeys)
+    @Column(length = 64)
+    private String rankKey;
 }
@@ -12,7 +12,14 @@ import lombok.*;
 public class ChecklistItem {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = IdSequences.CHECKLIST_ITEMS)
+    @TableGenerator(
+            name = IdSequences.CHECKLIST_ITEMS,
+            table = IdSequences.TABLE,
+            pkColumnName = IdSequences.NAME_COLUMN,
+            valueColumnName = IdSequences.VALUE_COLUMN,
+            pkColumnValue = IdSequences.CHECKLIST_ITEMS,
+            allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -14,7 +14,14 @@ import java.util.List;
 public class ChecklistSection {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = IdSequences.CHECKLIST_SECTIONS)
+    @TableGenerator(
+            name = IdSequences.CHECKLIST_SECTIONS,
+            table = IdSequences.TABLE,
+            pkColumnName = IdSequences.NAME_COLUMN,
+            valueColumnName = IdSequences.VALUE_COLUMN,
+            pkColumnValue = IdSequences.CHECKLIST_SECTIONS,
+            allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -29,6 +36,10 @@ public class ChecklistSection {
     
     @Column(nullable = false)
     private Integer orderIndex;
+
+    // 실제 정렬 기준. 옮길 때 이 행만 바뀌도록 이웃 키 사이의 문자열을 쓴다 (RankKeys)
+    @Column(length = 64)
+    private String rankKey;
     
     @OneToMany(mappedBy = "section", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("orderIndex ASC")
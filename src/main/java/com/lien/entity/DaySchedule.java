@@ -2,11 +2,13 @@ package com.lien.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@DynamicUpdate
 @Table(name = "day_schedules")
 @Getter @Setter
 @NoArgsConstructor
@@ -15,7 +17,14 @@ import java.util.List;
 public class DaySchedule {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = IdSequences.DAY_SCHEDULES)
+    @TableGenerator(
+            name = IdSequences.DAY_SCHEDULES,
+            table = IdSequences.TABLE,
+            pkColumnName = IdSequences.NAME_COLUMN,
+            valueColumnName = IdSequences.VALUE_COLUMN,
+            pkColumnValue = IdSequences.DAY_SCHEDULES,
+            allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -35,7 +44,7 @@ public class DaySchedule {
     private String color;
     
     @OneToMany(mappedBy = "daySchedule", cascade = CascadeType.ALL, orphanRemoval = true)
-    @OrderBy("orderIndex ASC")
+    @OrderBy("rankKey ASC, orderIndex ASC")
     @Builder.Default
     private List<Activity> activities = new ArrayList<>();
 }
\ No newline at end of file
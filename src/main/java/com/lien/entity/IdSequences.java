@@ -0,0 +1,37 @@
+package com.lien.entity;
+
+import java.util.Map;
+
+/**
+ * 여러 행을 한 번에 저장하는 엔티티의 id 할당 설정. IDENTITY 는 행마다 INSERT 를 바로 실행해야 해서
+ * JDBC 배치가 꺼지므로, id_sequences 테이블에서 ALLOCATION_SIZE 만큼 미리 받아 쓰는 pooled 방식을 쓴다.
+ * MySQL 과 H2 모두에서 같은 방식으로 동작한다.
+ */
+public final class IdSequences {
+
+    public static final String TABLE = "id_sequences";
+    public static final String NAME_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int ALLOCATION_SIZE = 50;
+
+    public static final String TEMPLATES = "templates";
+    public static final String CHECKLIST_SECTIONS = "checklist_sections";
+    public static final String CHECKLIST_ITEMS = "checklist_items";
+    public static final String DAY_SCHEDULES = "day_schedules";
+    public static final String ACTIVITIES = "activities";
+    public static final String LOCATIONS = "locations";
+
+    /**
+     * 시퀀스 이름 -> id 를 가진 테이블. 시퀀스 이름은 테이블 이름과 같다.
+     */
+    public static final Map<String, String> SEQUENCE_TABLES = Map.of(
+            TEMPLATES, "templates",
+            CHECKLIST_SECTIONS, "checklist_sections",
+            CHECKLIST_ITEMS, "checklist_items",
+            DAY_SCHEDULES, "day_schedules",
+            ACTIVITIES, "activities",
+            LOCATIONS, "locations");
+
+    private IdSequences() {
+    }
+}
@@ -1,13 +1,19 @@
 package com.lien.entity;
 
+import com.lien.geo.GeoGrid;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "locations")
+@DynamicUpdate
+// geo_cell: 위경도 격자 칸 번호(GeoGrid). 반경 검색이 칸 구간으로 이 인덱스를 탄다
+@Table(name = "locations", indexes = {
+        @Index(name = "idx_locations_geo_cell", columnList = "geo_cell, id")
+})
 @Getter @Setter
 @NoArgsConstructor
 @AllArgsConstructor
@@ -16,7 +22,14 @@ import java.time.LocalDateTime;
 public class Location {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = IdSequences.LOCATIONS)
+    @TableGenerator(
+            name = IdSequences.LOCATIONS,
+            table = IdSequences.TABLE,
+            pkColumnName = IdSequences.NAME_COLUMN,
+            valueColumnName = IdSequences.VALUE_COLUMN,
+            pkColumnValue = IdSequences.LOCATIONS,
+            allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -36,6 +49,10 @@ public class Location {
     @Column(nullable = false)
     private Double longitude;
     
+    // 좌표에서 계산한다. 저장과 수정 때 assignGeoCell 이 채운다
+    @Column(name = "geo_cell")
+    private Long geoCell;
+    
     @Column(nullable = false, length = 500)
     private String address;
     
@@ -49,4 +66,10 @@ public class Location {
     @CreatedDate
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
-}
\ No newline at end of file
+
+    @PrePersist
+    @PreUpdate
+    void assignGeoCell() {
+        geoCell = GeoGrid.cellOf(latitude, longitude);
+    }
+}
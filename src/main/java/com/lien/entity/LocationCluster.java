@@ -0,0 +1,51 @@
+package com.lien.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * 지도 확대 단계(zoom)별 격자 칸, 카테고리마다 공개 위치의 개수와 좌표 합. 중심점은 합 / 개수다.
+ * 테이블 정의용이며 읽기와 쓰기는 LocationClusterIndex 가 SQL 로 한다.
+ */
+@Entity
+@Table(name = "location_clusters", indexes = {
+        @Index(name = "idx_location_clusters_zoom_cell", columnList = "zoom, cell")
+})
+@IdClass(LocationCluster.Key.class)
+@Getter
+@NoArgsConstructor
+public class LocationCluster {
+
+    @Id
+    private Integer zoom;
+
+    @Id
+    private Long cell;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 50)
+    private LocationCategory category;
+
+    @Column(name = "location_count", nullable = false)
+    private Long locationCount;
+
+    @Column(name = "latitude_sum", nullable = false)
+    private Double latitudeSum;
+
+    @Column(name = "longitude_sum", nullable = false)
+    private Double longitudeSum;
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        private Integer zoom;
+        private Long cell;
+        private LocationCategory category;
+    }
+}
@@ -0,0 +1,41 @@
+package com.lien.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 아직 location_clusters 에 쓰지 않은 공개 위치 변경 하나(before -> after, 공개 위치가 아니면 null).
+ * 위치를 고치는 트랜잭션이 함께 넣으므로 위치 변경과 같이 커밋되고 같이 되돌려진다.
+ * 테이블 정의용이며 읽기와 쓰기는 LocationClusterIndex 가 SQL 로 한다.
+ */
+@Entity
+@Table(name = "location_cluster_changes")
+@Getter
+@NoArgsConstructor
+public class LocationClusterChange {
+
+    // SQL 로 한 행씩 넣으므로 id_sequences 대신 자동 증가 값을 쓴다
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "before_category", length = 50)
+    private LocationCategory beforeCategory;
+
+    @Column(name = "before_latitude")
+    private Double beforeLatitude;
+
+    @Column(name = "before_longitude")
+    private Double beforeLongitude;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "after_category", length = 50)
+    private LocationCategory afterCategory;
+
+    @Column(name = "after_latitude")
+    private Double afterLatitude;
+
+    @Column(name = "after_longitude")
+    private Double afterLongitude;
+}
@@ -0,0 +1,24 @@
+package com.lien.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * location_clusters 를 고치는 작업의 잠금 행(id = 1). flush 와 rebuild 는 이 행을 FOR UPDATE 로 잠근 뒤에
+ * 실행하므로 인스턴스가 여럿이어도 한 번에 하나만 돈다. rebuilt_at 은 마지막으로 전체를 다시 만든 시각이다.
+ * 테이블 정의용이며 읽기와 쓰기는 LocationClusterIndex 가 SQL 로 한다.
+ */
+@Entity
+@Table(name = "location_cluster_state")
+@Getter
+@NoArgsConstructor
+public class LocationClusterState {
+
+    @Id
+    private Integer id;
+
+    @Column(name = "rebuilt_at")
+    private LocalDateTime rebuiltAt;
+}
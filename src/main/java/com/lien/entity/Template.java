@@ -2,6 +2,8 @@ package com.lien.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -11,7 +13,13 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "templates")
+// 목록 커서 조회가 (사용자, 정렬 컬럼, id) 순으로 이어 읽는다
+@Table(name = "templates", indexes = {
+        @Index(name = "idx_templates_user_updated", columnList = "user_id, updated_at, id"),
+        @Index(name = "idx_templates_user_start", columnList = "user_id, start_date, id")
+})
+// PATCH 로 일부 필드만 바꿀 때 바뀐 컬럼만 UPDATE 한다
+@DynamicUpdate
 @Getter @Setter
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,7 +28,14 @@ import java.util.List;
 public class Template {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = IdSequences.TEMPLATES)
+    @TableGenerator(
+            name = IdSequences.TEMPLATES,
+            table = IdSequences.TABLE,
+            pkColumnName = IdSequences.NAME_COLUMN,
+            valueColumnName = IdSequences.VALUE_COLUMN,
+            pkColumnValue = IdSequences.TEMPLATES,
+            allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -49,6 +64,7 @@ public class Template {
     private String transportation;
     
     @OneToMany(mappedBy = "template", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("rankKey ASC, id ASC")
     @Builder.Default
     private List<ChecklistSection> checklistSections = new ArrayList<>();
     
@@ -56,6 +72,13 @@ public class Template {
     @Builder.Default
     private List<DaySchedule> daySchedules = new ArrayList<>();
     
+    // 하위 섹션/항목/일정/활동 변경까지 포함한 집합 버전 (ETag 용).
+    // 엔티티 UPDATE 로는 쓰지 않고 TemplateRepository#bumpAggregateVersion 으로만 원자적으로 올린다.
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long aggregateVersion = 0L;
+    
     @CreatedDate
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -1,5 +1,6 @@
 package com.lien.entity;
 
+import com.lien.security.PrincipalCacheEvictionListener;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -8,6 +9,7 @@ import java.time.LocalDateTime;
 @Getter
 @Entity
 @Table(name = "users")
+@EntityListeners(PrincipalCacheEvictionListener.class)
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -29,6 +31,10 @@ public class User {
     @Column(nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    // DB 에 있는 이메일. 이메일을 바꿔 저장할 때 이전 이메일 키의 인증 캐시도 지우는 데 쓴다
+    @Transient
+    private String storedEmail;
+
     public User() {}
 
     public User(String email, String password, String name) {
@@ -37,4 +43,15 @@ public class User {
         this.name = name;
         this.createdAt = LocalDateTime.now();
     }
+
+    public void markEmailStored() {
+        this.storedEmail = email;
+    }
+
+    // 캐시된 인증 정보로부터 만드는 detached 인스턴스 (비밀번호 없음)
+    public User(Long id, String email, String name) {
+        this.id = id;
+        this.email = email;
+        this.name = name;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.lien.exception;
+
+/**
+ * 작업 큐가 가득 차 요청을 바로 처리할 수 없을 때. 503 + Retry-After 로 응답한다.
+ */
+public class ServiceBusyException extends RuntimeException {
+
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
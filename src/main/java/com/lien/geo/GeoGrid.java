@@ -0,0 +1,141 @@
+package com.lien.geo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 위경도 격자. 지구를 0.01도(적도에서 약 1.1km) 칸으로 나누고 칸마다 정수 번호를 매긴다.
+ * 번호는 위도 줄 단위로 연속이므로 반경 검색은 줄마다 BETWEEN 구간 하나로 일반 B-tree 인덱스를 탄다.
+ * MySQL 과 H2 가 같은 결과를 내도록 칸 계산은 SQL 식({@link #cellSql})과 같은 double 연산으로 한다.
+ */
+public final class GeoGrid {
+
+    public static final int CELLS_PER_DEGREE = 100;
+
+    static final long ROWS = 180L * CELLS_PER_DEGREE;
+    static final long COLUMNS = 360L * CELLS_PER_DEGREE;
+
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    private GeoGrid() {
+    }
+
+    public static long cellOf(double latitude, double longitude) {
+        return row(latitude) * COLUMNS + column(longitude);
+    }
+
+    /**
+     * {@link #cellOf} 와 같은 값을 내는 SQL 식. 기존 행을 채울 때 쓴다.
+     */
+    public static String cellSql(String latitudeColumn, String longitudeColumn) {
+        return "LEAST(FLOOR((" + latitudeColumn + " + 90) * " + CELLS_PER_DEGREE + "), " + (ROWS - 1) + ") * " + COLUMNS
+                + " + LEAST(FLOOR((" + longitudeColumn + " + 180) * " + CELLS_PER_DEGREE + "), " + (COLUMNS - 1) + ")";
+    }
+
+    /**
+     * 위경도 상자. west 가 east 보다 크면 날짜변경선을 넘는 상자다.
+     */
+    public record Box(double south, double west, double north, double east) {
+
+        public boolean crossesAntimeridian() {
+            return west > east;
+        }
+    }
+
+    /**
+     * 중심에서 radiusMeters 안의 점을 모두 담는 상자. 경도 폭은 구면 위 원의 실제 최대 경도차로 잡고,
+     * 원이 극을 덮으면 경도 전체, 날짜변경선을 넘으면 west 가 east 보다 큰 상자가 된다.
+     */
+    public static Box boundingBox(double latitude, double longitude, double radiusMeters) {
+        double angular = radiusMeters / EARTH_RADIUS_METERS;
+        double latitudeDelta = Math.toDegrees(angular);
+        double south = latitude - latitudeDelta;
+        double north = latitude + latitudeDelta;
+        if (south <= -90 || north >= 90) {
+            return new Box(Math.max(south, -90), -180, Math.min(north, 90), 180);
+        }
+
+        double sine = Math.sin(angular) / Math.cos(Math.toRadians(latitude));
+        double longitudeDelta = sine >= 1 ? 180 : Math.toDegrees(Math.asin(sine));
+        double west = longitude - longitudeDelta;
+        double east = longitude + longitudeDelta;
+        if (longitudeDelta >= 180) {
+            return new Box(south, -180, north, 180);
+        } else if (west < -180) {
+            return new Box(south, west + 360, north, east);
+        } else if (east > 180) {
+            return new Box(south, west, north, east - 360);
+        }
+        return new Box(south, west, north, east);
+    }
+
+    /**
+     * 중심에서 radiusMeters 안의 점이 들어 있을 수 있는 칸 번호 구간 [from, to] 목록.
+     */
+    public static List<long[]> ranges(double latitude, double longitude, double radiusMeters) {
+        Box box = boundingBox(latitude, longitude, radiusMeters);
+        return boxRanges(box.south(), box.west(), box.north(), box.east());
+    }
+
+    /**
+     * 상자 [south, north] x [west, east] 를 덮는 칸 번호 구간. west 가 east 보다 크면 날짜변경선을 넘는 상자다.
+     */
+    public static List<long[]> boxRanges(double south, double west, double north, double east) {
+        List<long[]> columnSpans = west <= east
+                ? List.of(new long[] {column(west), column(east)})
+                : List.of(new long[] {0, column(east)}, new long[] {column(west), COLUMNS - 1});
+        return rowRanges(row(south), row(north), COLUMNS, columnSpans);
+    }
+
+    /**
+     * 줄 번호 * columns + 열 번호로 매긴 격자에서, 각 줄의 열 구간을 칸 번호 구간으로 바꾼다.
+     * columnSpans 는 열 순서대로 와야 한다. 해상도가 다른 격자(지도 확대 단계별 묶음)도 같이 쓴다.
+     */
+    public static List<long[]> rowRanges(long fromRow, long toRow, long columns, List<long[]> columnSpans) {
+        List<long[]> ranges = new ArrayList<>();
+        for (long row = fromRow; row <= toRow; row++) {
+            for (long[] span : columnSpans) {
+                long from = row * columns + span[0];
+                long to = row * columns + span[1];
+                long[] last = ranges.isEmpty() ? null : ranges.get(ranges.size() - 1);
+                // 경도 전체를 덮는 줄이 이어지면 구간 하나로 합친다
+                if (last != null && last[1] + 1 == from) {
+                    last[1] = to;
+                } else {
+                    ranges.add(new long[] {from, to});
+                }
+            }
+        }
+        return ranges;
+    }
+
+    /**
+     * {@link #distanceMeters} 와 같은 하버사인 SQL 식. 기준점은 :latitude, :longitude 파라미터로 받는다.
+     */
+    public static String distanceSql(String latitudeColumn, String longitudeColumn) {
+        return "2 * " + EARTH_RADIUS_METERS + " * ASIN(LEAST(1, SQRT("
+                + "POWER(SIN(RADIANS(" + latitudeColumn + " - :latitude) / 2), 2)"
+                + " + COS(RADIANS(:latitude)) * COS(RADIANS(" + latitudeColumn + "))"
+                + " * POWER(SIN(RADIANS(" + longitudeColumn + " - :longitude) / 2), 2))))";
+    }
+
+    /**
+     * 두 점 사이의 대원 거리(하버사인).
+     */
+    public static double distanceMeters(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double dLatitude = Math.toRadians(latitude2 - latitude1);
+        double dLongitude = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(dLatitude / 2) * Math.sin(dLatitude / 2)
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+                * Math.sin(dLongitude / 2) * Math.sin(dLongitude / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    public static long row(double latitude) {
+        return Math.min(Math.max((long) Math.floor((latitude + 90) * CELLS_PER_DEGREE), 0), ROWS - 1);
+    }
+
+    static long column(double longitude) {
+        return Math.min(Math.max((long) Math.floor((longitude + 180) * CELLS_PER_DEGREE), 0), COLUMNS - 1);
+    }
+}
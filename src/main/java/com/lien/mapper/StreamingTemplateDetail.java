@@ -0,0 +1,220 @@
+package com.lien.mapper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.lien.dto.response.TemplateDetailResponse;
+import com.lien.entity.Activity;
+import com.lien.entity.ChecklistItem;
+import com.lien.entity.ChecklistSection;
+import com.lien.entity.DaySchedule;
+import com.lien.entity.Location;
+import com.lien.entity.Template;
+
+import java.io.IOException;
+
+/**
+ * 이미 읽어 둔 템플릿 그래프를 중간 DTO 없이 응답 {@link JsonGenerator} 에 바로 쓴다.
+ * 필드 이름은 미리 인코딩해 두고, 출력 형태는 {@link TemplateDetailResponse} 와 같다.
+ * 날짜 값만 애플리케이션 ObjectMapper 설정을 따르도록 Jackson 에 맡긴다.
+ */
+public final class StreamingTemplateDetail implements JsonSerializable {
+
+    private static final SerializableString TEMPLATE = new SerializedString("template");
+    private static final SerializableString CHECKLIST_SECTIONS = new SerializedString("checklistSections");
+    private static final SerializableString DAY_SCHEDULES = new SerializedString("daySchedules");
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString TITLE = new SerializedString("title");
+    private static final SerializableString DESTINATION = new SerializedString("destination");
+    private static final SerializableString START_DATE = new SerializedString("startDate");
+    private static final SerializableString END_DATE = new SerializedString("endDate");
+    private static final SerializableString TOTAL_DAYS = new SerializedString("totalDays");
+    private static final SerializableString ACCOMMODATION = new SerializedString("accommodation");
+    private static final SerializableString TRANSPORTATION = new SerializedString("transportation");
+    private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializableString UPDATED_AT = new SerializedString("updatedAt");
+    private static final SerializableString ICON = new SerializedString("icon");
+    private static final SerializableString ORDER_INDEX = new SerializedString("orderIndex");
+    private static final SerializableString ITEMS = new SerializedString("items");
+    private static final SerializableString LABEL = new SerializedString("label");
+    private static final SerializableString DAY_NUMBER = new SerializedString("dayNumber");
+    private static final SerializableString DATE = new SerializedString("date");
+    private static final SerializableString COLOR = new SerializedString("color");
+    private static final SerializableString ACTIVITIES = new SerializedString("activities");
+    private static final SerializableString TIME = new SerializedString("time");
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
+    private static final SerializableString LOCATION = new SerializedString("location");
+    private static final SerializableString PREVIOUS_LOCATION = new SerializedString("previousLocation");
+    private static final SerializableString NAME = new SerializedString("name");
+    private static final SerializableString CATEGORY = new SerializedString("category");
+    private static final SerializableString LATITUDE = new SerializedString("latitude");
+    private static final SerializableString LONGITUDE = new SerializedString("longitude");
+    private static final SerializableString ADDRESS = new SerializedString("address");
+    private static final SerializableString IS_PUBLIC = new SerializedString("isPublic");
+
+    private final Template template;
+
+    public StreamingTemplateDetail(Template template) {
+        this.template = template;
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject();
+        gen.writeFieldName(TEMPLATE);
+        writeTemplate(gen, provider);
+
+        gen.writeFieldName(CHECKLIST_SECTIONS);
+        gen.writeStartArray();
+        int position = 0;
+        for (ChecklistSection section : template.getChecklistSections()) {
+            writeSection(gen, section, position++);
+        }
+        gen.writeEndArray();
+
+        gen.writeFieldName(DAY_SCHEDULES);
+        gen.writeStartArray();
+        for (DaySchedule day : template.getDaySchedules()) {
+            writeDay(gen, provider, day);
+        }
+        gen.writeEndArray();
+        gen.writeEndObject();
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider provider, TypeSerializer typeSer)
+            throws IOException {
+        serialize(gen, provider);
+    }
+
+    private void writeTemplate(JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject();
+        writeNumber(gen, ID, template.getId());
+        writeString(gen, TITLE, template.getTitle());
+        writeString(gen, DESTINATION, template.getDestination());
+        writeValue(gen, provider, START_DATE, template.getStartDate());
+        writeValue(gen, provider, END_DATE, template.getEndDate());
+        writeNumber(gen, TOTAL_DAYS, template.getTotalDays());
+        writeString(gen, ACCOMMODATION, template.getAccommodation());
+        writeString(gen, TRANSPORTATION, template.getTransportation());
+        writeValue(gen, provider, CREATED_AT, template.getCreatedAt());
+        writeValue(gen, provider, UPDATED_AT, template.getUpdatedAt());
+        gen.writeEndObject();
+    }
+
+    // orderIndex 는 TemplateMapper 와 같이 rank_key 순서의 자리다
+    private static void writeSection(JsonGenerator gen, ChecklistSection section, int position) throws IOException {
+        gen.writeStartObject();
+        writeNumber(gen, ID, section.getId());
+        writeString(gen, TITLE, section.getTitle());
+        writeString(gen, ICON, section.getIcon());
+        writeNumber(gen, ORDER_INDEX, position);
+        gen.writeFieldName(ITEMS);
+        gen.writeStartArray();
+        for (ChecklistItem item : section.getItems()) {
+            gen.writeStartObject();
+            writeNumber(gen, ID, item.getId());
+            writeString(gen, LABEL, item.getLabel());
+            writeNumber(gen, ORDER_INDEX, item.getOrderIndex());
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+        gen.writeEndObject();
+    }
+
+    private static void writeDay(JsonGenerator gen, SerializerProvider provider, DaySchedule day) throws IOException {
+        gen.writeStartObject();
+        writeNumber(gen, ID, day.getId());
+        writeNumber(gen, DAY_NUMBER, day.getDayNumber());
+        writeValue(gen, provider, DATE, day.getDate());
+        writeString(gen, TITLE, day.getTitle());
+        writeString(gen, COLOR, day.getColor());
+        gen.writeFieldName(ACTIVITIES);
+        gen.writeStartArray();
+        int position = 0;
+        for (Activity activity : day.getActivities()) {
+            gen.writeStartObject();
+            writeNumber(gen, ID, activity.getId());
+            writeString(gen, TIME, activity.getTime());
+            writeString(gen, DESCRIPTION, activity.getDescription());
+            gen.writeFieldName(LOCATION);
+            writeLocation(gen, provider, activity.getLocation(), true);
+            gen.writeFieldName(PREVIOUS_LOCATION);
+            writeLocation(gen, provider, activity.getPreviousLocation(), false);
+            writeNumber(gen, ORDER_INDEX, position++);
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+        gen.writeEndObject();
+    }
+
+    // 이전 위치는 TemplateMapper#toPreviousLocationResponse 와 같이 요약 필드만 채운다
+    private static void writeLocation(JsonGenerator gen, SerializerProvider provider, Location location, boolean full)
+            throws IOException {
+        if (location == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject();
+        writeNumber(gen, ID, location.getId());
+        writeString(gen, NAME, location.getName());
+        writeString(gen, CATEGORY, location.getCategory() != null ? location.getCategory().name() : null);
+        writeNumber(gen, LATITUDE, location.getLatitude());
+        writeNumber(gen, LONGITUDE, location.getLongitude());
+        writeString(gen, ADDRESS, location.getAddress());
+        writeString(gen, DESCRIPTION, full ? location.getDescription() : null);
+        gen.writeFieldName(IS_PUBLIC);
+        if (full && location.getIsPublic() != null) {
+            gen.writeBoolean(location.getIsPublic());
+        } else {
+            gen.writeNull();
+        }
+        writeValue(gen, provider, CREATED_AT, full ? location.getCreatedAt() : null);
+        gen.writeEndObject();
+    }
+
+    private static void writeString(JsonGenerator gen, SerializableString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+
+    private static void writeNumber(JsonGenerator gen, SerializableString name, Long value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    private static void writeNumber(JsonGenerator gen, SerializableString name, Integer value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    private static void writeNumber(JsonGenerator gen, SerializableString name, Double value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    private static void writeValue(JsonGenerator gen, SerializerProvider provider, SerializableString name, Object value)
+            throws IOException {
+        gen.writeFieldName(name);
+        provider.defaultSerializeValue(value, gen);
+    }
+}
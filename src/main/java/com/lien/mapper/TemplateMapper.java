@@ -0,0 +1,71 @@
+package com.lien.mapper;
+
+import com.lien.dto.response.ActivityResponse;
+import com.lien.dto.response.ChecklistItemResponse;
+import com.lien.dto.response.ChecklistSectionResponse;
+import com.lien.dto.response.DayScheduleResponse;
+import com.lien.dto.response.LocationResponse;
+import com.lien.dto.response.TemplateDetailResponse;
+import com.lien.dto.response.TemplateResponse;
+import com.lien.entity.Activity;
+import com.lien.entity.ChecklistItem;
+import com.lien.entity.ChecklistSection;
+import com.lien.entity.DaySchedule;
+import com.lien.entity.Location;
+import com.lien.entity.Template;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.Named;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface TemplateMapper {
+
+    TemplateResponse toResponse(Template template);
+
+    @Mapping(target = "template", source = ".")
+    TemplateDetailResponse toDetailResponse(Template template);
+
+    ChecklistSectionResponse toChecklistSectionResponse(ChecklistSection section);
+
+    ChecklistItemResponse toChecklistItemResponse(ChecklistItem item);
+
+    DayScheduleResponse toDayScheduleResponse(DaySchedule daySchedule);
+
+    @Mapping(target = "previousLocation", qualifiedByName = "previousLocation")
+    ActivityResponse toActivityResponse(Activity activity);
+
+    LocationResponse toLocationResponse(Location location);
+
+    // 목록 응답의 orderIndex 는 rank_key 순서의 자리다. 저장된 order_index 는 처음 넣을 때의 값이라
+    // 이동 API 로 옮긴 뒤에는 맞지 않는다
+    default List<ChecklistSectionResponse> toChecklistSectionResponses(List<ChecklistSection> sections) {
+        List<ChecklistSectionResponse> responses = new ArrayList<>(sections.size());
+        for (ChecklistSection section : sections) {
+            ChecklistSectionResponse response = toChecklistSectionResponse(section);
+            responses.add(new ChecklistSectionResponse(
+                    response.id(), response.title(), response.icon(), responses.size(), response.items()));
+        }
+        return responses;
+    }
+
+    default List<ActivityResponse> toActivityResponses(List<Activity> activities) {
+        List<ActivityResponse> responses = new ArrayList<>(activities.size());
+        for (Activity activity : activities) {
+            ActivityResponse response = toActivityResponse(activity);
+            responses.add(new ActivityResponse(response.id(), response.time(), response.description(),
+                    response.location(), response.previousLocation(), responses.size()));
+        }
+        return responses;
+    }
+
+    // 이전 위치는 경로 표시용이라 요약 정보만 내려준다
+    @Named("previousLocation")
+    @Mapping(target = "description", ignore = true)
+    @Mapping(target = "isPublic", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    LocationResponse toPreviousLocationResponse(Location location);
+}
@@ -2,6 +2,27 @@ package com.lien.repository;
 
 import com.lien.entity.Activity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface ActivityRepository extends JpaRepository<Activity, Long> {
-}
\ No newline at end of file
+
+    @Query("SELECT DISTINCT a.daySchedule.template.id FROM Activity a " +
+           "WHERE a.location.id = :locationId OR a.previousLocation.id = :locationId")
+    List<Long> findTemplateIdsByLocationId(@Param("locationId") Long locationId);
+
+    List<Activity> findByIdInAndDayScheduleTemplateId(Collection<Long> ids, Long templateId);
+
+    // 활동 -> 일정 -> 템플릿 -> 소유자 관계를 한 번에 확인한다
+    @Query("SELECT a FROM Activity a " +
+           "WHERE a.id = :activityId AND a.daySchedule.id = :dayId " +
+           "AND a.daySchedule.template.id = :templateId AND a.daySchedule.template.user.id = :userId")
+    Optional<Activity> findOwned(@Param("activityId") Long activityId,
+                                 @Param("dayId") Long dayId,
+                                 @Param("templateId") Long templateId,
+                                 @Param("userId") Long userId);
+}
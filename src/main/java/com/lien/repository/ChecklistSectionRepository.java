@@ -2,6 +2,25 @@ package com.lien.repository;
 
 import com.lien.entity.ChecklistSection;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface ChecklistSectionRepository extends JpaRepository<ChecklistSection, Long> {
-}
\ No newline at end of file
+
+    @Query("SELECT cs FROM ChecklistSection cs LEFT JOIN FETCH cs.items i " +
+           "WHERE cs.template.id = :templateId ORDER BY cs.rankKey, cs.id, i.orderIndex")
+    List<ChecklistSection> findAllWithItemsByTemplateId(@Param("templateId") Long templateId);
+
+    List<ChecklistSection> findByIdInAndTemplateId(Collection<Long> ids, Long templateId);
+
+    // 섹션이 그 템플릿에 속하고 템플릿이 사용자의 것인지 한 번에 확인한다
+    @Query("SELECT cs FROM ChecklistSection cs " +
+           "WHERE cs.id = :sectionId AND cs.template.id = :templateId AND cs.template.user.id = :userId")
+    Optional<ChecklistSection> findOwned(@Param("sectionId") Long sectionId,
+                                         @Param("templateId") Long templateId,
+                                         @Param("userId") Long userId);
+}
@@ -2,6 +2,26 @@ package com.lien.repository;
 
 import com.lien.entity.DaySchedule;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface DayScheduleRepository extends JpaRepository<DaySchedule, Long> {
-}
\ No newline at end of file
+
+    @Query("SELECT ds FROM DaySchedule ds LEFT JOIN FETCH ds.activities a " +
+           "LEFT JOIN FETCH a.location LEFT JOIN FETCH a.previousLocation " +
+           "WHERE ds.template.id = :templateId ORDER BY ds.id, a.rankKey, a.orderIndex")
+    List<DaySchedule> findAllWithActivitiesByTemplateId(@Param("templateId") Long templateId);
+
+    List<DaySchedule> findByIdInAndTemplateId(Collection<Long> ids, Long templateId);
+
+    // 일정이 그 템플릿에 속하고 템플릿이 사용자의 것인지 한 번에 확인한다
+    @Query("SELECT ds FROM DaySchedule ds " +
+           "WHERE ds.id = :dayId AND ds.template.id = :templateId AND ds.template.user.id = :userId")
+    Optional<DaySchedule> findOwned(@Param("dayId") Long dayId,
+                                    @Param("templateId") Long templateId,
+                                    @Param("userId") Long userId);
+}
@@ -3,25 +3,49 @@ package com.lien.repository;
 import com.lien.entity.Location;
 import com.lien.entity.LocationCategory;
 import com.lien.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface LocationRepository extends JpaRepository<Location, Long> {
     
     @Query("SELECT l FROM Location l WHERE " +
-           "(l.isPublic = true OR l.user = :user) " +
+           "(l.isPublic = true OR l.user.id = :userId) " +
            "AND (:category IS NULL OR l.category = :category) " +
            "AND (:keyword IS NULL OR LOWER(l.name) LIKE LOWER(CONCAT('%', :keyword, '%')))")
     List<Location> findByUserOrPublicWithFilters(
-        @Param("user") User user,
+        @Param("userId") Long userId,
         @Param("category") LocationCategory category,
         @Param("keyword") String keyword
     );
     
-    Optional<Location> findByIdAndUser(Long id, User user);
+    // 위 조건의 id 순 커서 페이지
+    @Query("SELECT l FROM Location l WHERE " +
+           "(l.isPublic = true OR l.user.id = :userId) " +
+           "AND (:category IS NULL OR l.category = :category) " +
+           "AND (:keyword IS NULL OR LOWER(l.name) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
+           "AND l.id > :afterId ORDER BY l.id")
+    List<Location> findPageByUserOrPublicWithFilters(
+        @Param("userId") Long userId,
+        @Param("category") LocationCategory category,
+        @Param("keyword") String keyword,
+        @Param("afterId") Long afterId,
+        Limit limit
+    );
+
+    Optional<Location> findByIdAndUserId(Long id, Long userId);
+
+    // 일괄 가져오기 검증용. 주어진 id 중 사용자가 쓸 수 있는(공개 또는 본인) 위치만 돌려준다
+    @Query("SELECT l.id FROM Location l WHERE l.id IN :ids AND (l.isPublic = true OR l.user.id = :userId)")
+    List<Long> findAccessibleIds(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    // 활동 단건 편집용. findAccessibleIds 와 같은 조건이다
+    @Query("SELECT l FROM Location l WHERE l.id = :id AND (l.isPublic = true OR l.user.id = :userId)")
+    Optional<Location> findAccessibleById(@Param("id") Long id, @Param("userId") Long userId);
     
     List<Location> findByUser(User user);
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.lien.repository;
+
+/**
+ * 목록 ETag 계산용 사용자별 집계. 버전은 늘기만 하고 새 템플릿은 더 큰 id 를 받으므로
+ * 생성, 수정, 삭제 중 하나라도 있으면 세 값 중 하나가 바뀐다.
+ */
+public record TemplateListVersion(Long count, Long versionSum, Long maxId) {
+}
@@ -1,24 +1,104 @@
 package com.lien.repository;
 
+import com.lien.dto.response.TemplateSummaryResponse;
 import com.lien.entity.Template;
-import com.lien.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 public interface TemplateRepository extends JpaRepository<Template, Long> {
-    Page<Template> findByUser(User user, Pageable pageable);
-    
+    long countByUserId(Long userId);
+
+    // 목록은 엔티티 대신 요약 컬럼과 일정/활동 개수만 읽는다. 개수는 페이지에 든 행에 대해서만 센다
+    String SUMMARY = "SELECT new com.lien.dto.response.TemplateSummaryResponse(" +
+                     "t.id, t.title, t.destination, t.startDate, t.endDate, t.totalDays, " +
+                     "t.accommodation, t.transportation, t.createdAt, t.updatedAt, " +
+                     "(SELECT COUNT(ds) FROM DaySchedule ds WHERE ds.template.id = t.id), " +
+                     "(SELECT COUNT(a) FROM Activity a WHERE a.daySchedule.template.id = t.id)) " +
+                     "FROM Template t WHERE t.user.id = :userId";
+
+    @Query(value = SUMMARY, countQuery = "SELECT COUNT(t) FROM Template t WHERE t.user.id = :userId")
+    Page<TemplateSummaryResponse> findSummariesByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // 커서 목록: 마지막으로 받은 (정렬 값, id) 다음부터 idx_templates_user_* 인덱스를 이어 읽는다
+    @Query(SUMMARY + " ORDER BY t.updatedAt DESC, t.id DESC")
+    List<TemplateSummaryResponse> findRecentlyUpdated(@Param("userId") Long userId, Limit limit);
+
+    @Query(SUMMARY + " AND (t.updatedAt < :updatedAt OR (t.updatedAt = :updatedAt AND t.id < :id)) " +
+           "ORDER BY t.updatedAt DESC, t.id DESC")
+    List<TemplateSummaryResponse> findRecentlyUpdatedAfter(@Param("userId") Long userId,
+                                                           @Param("updatedAt") LocalDateTime updatedAt,
+                                                           @Param("id") Long id,
+                                                           Limit limit);
+
+    @Query(SUMMARY + " ORDER BY t.startDate, t.id")
+    List<TemplateSummaryResponse> findByStartDate(@Param("userId") Long userId, Limit limit);
+
+    @Query(SUMMARY + " AND (t.startDate > :startDate OR (t.startDate = :startDate AND t.id > :id)) " +
+           "ORDER BY t.startDate, t.id")
+    List<TemplateSummaryResponse> findByStartDateAfter(@Param("userId") Long userId,
+                                                       @Param("startDate") LocalDate startDate,
+                                                       @Param("id") Long id,
+                                                       Limit limit);
+
     @Query("SELECT t FROM Template t LEFT JOIN FETCH t.checklistSections cs " +
-           "LEFT JOIN FETCH cs.items WHERE t.id = :templateId AND t.user = :user")
-    Template findByIdAndUserWithChecklistSections(@Param("templateId") Long templateId, 
-                                                   @Param("user") User user);
-    
+           "WHERE t.id = :templateId ORDER BY cs.rankKey, cs.id")
+    Optional<Template> findByIdWithChecklistSections(@Param("templateId") Long templateId);
+
     @Query("SELECT t FROM Template t LEFT JOIN FETCH t.daySchedules ds " +
-           "LEFT JOIN FETCH ds.activities a LEFT JOIN FETCH a.location " +
-           "WHERE t.id = :templateId AND t.user = :user")
-    Template findByIdAndUserWithDaySchedules(@Param("templateId") Long templateId, 
-                                             @Param("user") User user);
-}
\ No newline at end of file
+           "WHERE t.id = :templateId ORDER BY ds.id")
+    Optional<Template> findByIdWithDaySchedules(@Param("templateId") Long templateId);
+
+    @Query("SELECT new com.lien.repository.TemplateVersion(t.id, t.user.id, t.aggregateVersion) " +
+           "FROM Template t WHERE t.id = :templateId")
+    Optional<TemplateVersion> findVersionById(@Param("templateId") Long templateId);
+
+    @Query("SELECT t.user.id FROM Template t WHERE t.id = :templateId")
+    Optional<Long> findOwnerIdById(@Param("templateId") Long templateId);
+
+    Optional<Template> findByIdAndUserId(Long id, Long userId);
+
+    @Query("SELECT new com.lien.repository.TemplateListVersion(" +
+           "COUNT(t), COALESCE(SUM(t.aggregateVersion), 0), COALESCE(MAX(t.id), 0)) " +
+           "FROM Template t WHERE t.user.id = :userId")
+    TemplateListVersion findListVersionByUserId(@Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE templates SET aggregate_version = aggregate_version + 1, updated_at = :now " +
+                   "WHERE id IN (:templateIds)", nativeQuery = true)
+    int bumpAggregateVersion(@Param("templateIds") Collection<Long> templateIds, @Param("now") LocalDateTime now);
+
+    // 템플릿 삭제: 엔티티를 읽지 않고 자식 테이블부터 템플릿 id 기준으로 한 문장씩 지운다
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM checklist_items WHERE section_id IN " +
+                   "(SELECT id FROM checklist_sections WHERE template_id = :templateId)", nativeQuery = true)
+    int deleteChecklistItemsByTemplateId(@Param("templateId") Long templateId);
+
+    @Modifying
+    @Query(value = "DELETE FROM checklist_sections WHERE template_id = :templateId", nativeQuery = true)
+    int deleteChecklistSectionsByTemplateId(@Param("templateId") Long templateId);
+
+    @Modifying
+    @Query(value = "DELETE FROM activities WHERE day_schedule_id IN " +
+                   "(SELECT id FROM day_schedules WHERE template_id = :templateId)", nativeQuery = true)
+    int deleteActivitiesByTemplateId(@Param("templateId") Long templateId);
+
+    @Modifying
+    @Query(value = "DELETE FROM day_schedules WHERE template_id = :templateId", nativeQuery = true)
+    int deleteDaySchedulesByTemplateId(@Param("templateId") Long templateId);
+
+    // 영속성 컨텍스트에 남은 삭제된 엔티티를 비운다
+    @Modifying(clearAutomatically = true)
+    @Query(value = "DELETE FROM templates WHERE id = :templateId", nativeQuery = true)
+    int deleteRowById(@Param("templateId") Long templateId);
+}
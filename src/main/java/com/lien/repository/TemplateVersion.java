@@ -0,0 +1,7 @@
+package com.lien.repository;
+
+/**
+ * ETag 계산용 템플릿 버전 정보. 템플릿 그래프를 읽지 않고 한 행만 조회한다.
+ */
+public record TemplateVersion(Long id, Long ownerId, Long version) {
+}
@@ -2,8 +2,13 @@ package com.lien.repository;
 
 import com.lien.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+
+    @Query("SELECT u.email FROM User u")
+    Stream<String> streamAllEmails();
 } 
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.lien.security;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * 토큰 클레임만으로 만드는 인증 주체. DB 조회 없이 컨트롤러에 전달된다.
+ */
+public record AuthenticatedUser(Long id, String email, String name) {
+
+    static final String USER_ID_CLAIM = "uid";
+    static final String NAME_CLAIM = "name";
+
+    static AuthenticatedUser from(Claims claims) {
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        if (userId == null || claims.getSubject() == null) {
+            throw new IllegalArgumentException("토큰에 사용자 정보가 없습니다");
+        }
+        return new AuthenticatedUser(userId.longValue(), claims.getSubject(), claims.get(NAME_CLAIM, String.class));
+    }
+}
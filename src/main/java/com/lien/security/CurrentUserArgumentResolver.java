@@ -2,25 +2,33 @@ package com.lien.security;
 
 import com.lien.entity.User;
 import com.lien.repository.UserRepository;
-import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.MethodParameter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.bind.support.WebDataBinderFactory;
 import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.method.support.ModelAndViewContainer;
 
+/**
+ * {@link JwtAuthenticationFilter} 가 올린 주체를 꺼낸다. 대부분의 API 는
+ * {@link AuthenticatedUser} 만으로 충분하고, {@link User} 엔티티가 필요한 경우에만
+ * 인증 캐시를 거쳐 조회한다.
+ */
 @Component
 @RequiredArgsConstructor
 public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
 
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     @Override
     public boolean supportsParameter(MethodParameter parameter) {
         return parameter.hasParameterAnnotation(CurrentUser.class)
-                && parameter.getParameterType().equals(User.class);
+                && (parameter.getParameterType().equals(AuthenticatedUser.class)
+                || parameter.getParameterType().equals(User.class));
     }
 
     @Override
@@ -29,19 +37,23 @@ public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolve
             ModelAndViewContainer mavContainer,
             NativeWebRequest webRequest,
             WebDataBinderFactory binderFactory) {
-        HttpServletRequest request = (HttpServletRequest) webRequest.getNativeRequest();
-        String authHeader = request.getHeader("Authorization");
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AuthenticatedUser principal)) {
+            throw new IllegalArgumentException("인증이 필요합니다");
+        }
 
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            String token = authHeader.substring(7);
-            if (JwtUtil.validateToken(token)) {
-                String email = JwtUtil.getEmailFromToken(token);
-                return userRepository.findByEmail(email)
-                        .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다"));
-            }
+        if (parameter.getParameterType().equals(AuthenticatedUser.class)) {
+            return principal;
         }
+        return principalCache.get(principal.email())
+                .map(PrincipalCache.CachedPrincipal::toUser)
+                .orElseGet(() -> loadUser(principal.email()));
+    }
 
-        throw new IllegalArgumentException("인증이 필요합니다");
+    private User loadUser(String email) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다"));
+        principalCache.put(user);
+        return user;
     }
 }
-
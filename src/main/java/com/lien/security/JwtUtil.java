@@ -1,62 +1,127 @@
 package com.lien.security;
 
+import com.lien.cache.BoundedTtlCache;
+import com.lien.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 
+/**
+ * 서명 키와 파서는 기동 시 한 번만 만든다. 키 링(kid -> 키)을 두어 이전 키로 발급된 토큰도
+ * 만료될 때까지 검증할 수 있으며, 검증된 토큰은 만료 시각까지 다이제스트 키로 캐시한다.
+ */
 @Component
 public class JwtUtil {
-    private static String secretKey;
-    private static long expirationMs;
+    private static final int MIN_SECRET_BYTES = 32;
 
-    @Value("${jwt.secret}")
-    public void setSecretKey(String secret) {
-        secretKey = secret;
-    }
-
-    @Value("${jwt.expiration}")
-    public void setExpirationMs(long expiration) {
-        expirationMs = expiration;
-    }
+    private final String activeKeyId;
+    private final SecretKey signingKey;
+    private final Map<String, SecretKey> keyRing;
+    private final JwtParser parser;
+    private final long expirationMs;
+    private final BoundedTtlCache<String, Claims> verifiedTokens;
 
-    private static SecretKey getSigningKey() {
-        byte[] keyBytes = secretKey.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public JwtUtil(
+            @Value("${jwt.secret}") String secret,
+            @Value("${jwt.key-id:default}") String keyId,
+            @Value("${jwt.retired-keys:}") String retiredKeys,
+            @Value("${jwt.expiration}") long expirationMs,
+            @Value("${jwt.verified-cache-size:10000}") int verifiedCacheSize) {
+        this.activeKeyId = keyId;
+        this.signingKey = hmacKey(secret);
+        this.keyRing = buildKeyRing(keyId, signingKey, retiredKeys);
+        this.parser = Jwts.parser().keyLocator(new KeyRingLocator()).build();
+        this.expirationMs = expirationMs;
+        this.verifiedTokens = new BoundedTtlCache<>(verifiedCacheSize);
     }
 
-    public static String generateToken(String email) {
+    public String generateToken(User user) {
         return Jwts.builder()
-                .subject(email)
+                .header().keyId(activeKeyId).and()
+                .subject(user.getEmail())
+                .claim(AuthenticatedUser.USER_ID_CLAIM, user.getId())
+                .claim(AuthenticatedUser.NAME_CLAIM, user.getName())
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + expirationMs))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    public static String getEmailFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.getSubject();
+    /**
+     * 서명과 만료를 한 번에 검증하고 클레임을 돌려준다. 실패하면 {@link JwtException}.
+     */
+    public Claims verify(String token) {
+        String digest = digest(token);
+        Claims cached = verifiedTokens.get(digest);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        if (claims.getExpiration() != null) {
+            verifiedTokens.put(digest, claims, claims.getExpiration().getTime());
+        }
+        return claims;
+    }
+
+    // HS256 은 256비트 이상의 키가 필요하다. 짧으면 라이브러리의 WeakKeyException 대신 설정 문제로 알린다
+    private static SecretKey hmacKey(String secret) {
+        byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("JWT 서명 키(jwt.secret / JWT_SECRET_KEY, jwt.retired-keys)는 "
+                    + MIN_SECRET_BYTES + "바이트 이상이어야 합니다: 현재 " + bytes.length + "바이트");
+        }
+        return Keys.hmacShaKeyFor(bytes);
+    }
+
+    // jwt.retired-keys 형식: kid1=secret1,kid2=secret2
+    private static Map<String, SecretKey> buildKeyRing(String activeKeyId, SecretKey activeKey, String retiredKeys) {
+        Map<String, SecretKey> keys = new HashMap<>();
+        keys.put(activeKeyId, activeKey);
+        for (String entry : retiredKeys.split(",")) {
+            int separator = entry.indexOf('=');
+            if (separator <= 0) {
+                continue;
+            }
+            keys.putIfAbsent(entry.substring(0, separator).trim(), hmacKey(entry.substring(separator + 1).trim()));
+        }
+        return Map.copyOf(keys);
     }
 
-    public static boolean validateToken(String token) {
+    private static String digest(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private class KeyRingLocator extends LocatorAdapter<Key> {
+        @Override
+        protected Key locate(JwsHeader header) {
+            // kid 가 없는 토큰은 키 링 도입 이전에 현재 키로 발급된 것
+            String keyId = header.getKeyId() != null ? header.getKeyId() : activeKeyId;
+            SecretKey key = keyRing.get(keyId);
+            if (key == null) {
+                throw new JwtException("Unknown signing key id: " + keyId);
+            }
+            return key;
         }
     }
-} 
\ No newline at end of file
+}
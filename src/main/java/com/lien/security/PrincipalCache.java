@@ -0,0 +1,153 @@
+package com.lien.security;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lien.cache.AfterCommit;
+import com.lien.cache.BoundedTtlCache;
+import com.lien.entity.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 인증된 사용자 정보 캐시. 프로세스 내부 near cache 뒤에 Redis 를 두는 2단 구조이며,
+ * 토큰 subject(이메일)를 키로 사용한다. 비밀번호 해시는 캐시하지 않는다.
+ */
+@Slf4j
+@Component
+public class PrincipalCache {
+
+    public static final String INVALIDATION_CHANNEL = "principal:invalidate";
+    private static final String KEY_PREFIX = "principal:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final BoundedTtlCache<String, CachedPrincipal> nearCache;
+    private final boolean enabled;
+    private final boolean redisEnabled;
+    private final long nearTtlMs;
+    private final long redisTtlMs;
+    private final Counter nearHits;
+    private final Counter redisHits;
+    private final Counter misses;
+
+    public PrincipalCache(
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${lien.cache.principal.enabled:true}") boolean enabled,
+            @Value("${lien.redis.enabled:true}") boolean redisEnabled,
+            @Value("${lien.cache.principal.near-max-size:10000}") int nearMaxSize,
+            @Value("${lien.cache.principal.near-ttl-ms:30000}") long nearTtlMs,
+            @Value("${lien.cache.principal.redis-ttl-ms:600000}") long redisTtlMs) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.nearCache = new BoundedTtlCache<>(nearMaxSize);
+        this.enabled = enabled;
+        this.redisEnabled = redisEnabled;
+        this.nearTtlMs = nearTtlMs;
+        this.redisTtlMs = redisTtlMs;
+        this.nearHits = requests(meterRegistry, "near_hit");
+        this.redisHits = requests(meterRegistry, "redis_hit");
+        this.misses = requests(meterRegistry, "miss");
+    }
+
+    public Optional<CachedPrincipal> get(String email) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        CachedPrincipal principal = nearCache.get(email);
+        if (principal != null) {
+            nearHits.increment();
+            return Optional.of(principal);
+        }
+        principal = readRedis(email);
+        if (principal != null) {
+            redisHits.increment();
+            nearCache.putWithTtl(email, principal, nearTtlMs);
+            return Optional.of(principal);
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    public void put(User user) {
+        if (!enabled) {
+            return;
+        }
+        CachedPrincipal principal = new CachedPrincipal(user.getId(), user.getEmail(), user.getName());
+        nearCache.putWithTtl(principal.email(), principal, nearTtlMs);
+        writeRedis(principal);
+    }
+
+    /**
+     * 사용자 정보가 바뀌면 커밋 이후 두 계층 모두에서 제거하고, 다른 인스턴스의 near cache 도
+     * 비우도록 Redis 채널로 알린다.
+     */
+    public void evict(String email) {
+        if (!enabled) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            nearCache.remove(email);
+            if (!redisEnabled) {
+                return;
+            }
+            try {
+                redisTemplate.delete(KEY_PREFIX + email);
+                redisTemplate.convertAndSend(INVALIDATION_CHANNEL, email);
+            } catch (RuntimeException e) {
+                log.warn("Principal cache eviction failed for {}: {}", email, e.getMessage());
+            }
+        });
+    }
+
+    public void evictLocal(String email) {
+        nearCache.remove(email);
+    }
+
+    private CachedPrincipal readRedis(String email) {
+        if (!redisEnabled) {
+            return null;
+        }
+        try {
+            String json = redisTemplate.opsForValue().get(KEY_PREFIX + email);
+            return json != null ? objectMapper.readValue(json, CachedPrincipal.class) : null;
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Principal cache read failed for {}: {}", email, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeRedis(CachedPrincipal principal) {
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(
+                    KEY_PREFIX + principal.email(),
+                    objectMapper.writeValueAsString(principal),
+                    Duration.ofMillis(redisTtlMs));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Principal cache write failed for {}: {}", principal.email(), e.getMessage());
+        }
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("lien.principal.cache.requests")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public record CachedPrincipal(Long id, String email, String name) {
+
+        public User toUser() {
+            return new User(id, email, name);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.lien.security;
+
+import com.lien.entity.User;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * 사용자 행이 바뀌거나 지워지면 인증 캐시를 지운다. 캐시 키가 이메일이므로 이메일을 바꾼 경우에는
+ * 읽을 때 기억해 둔 이전 이메일의 키도 함께 지운다.
+ */
+public class PrincipalCacheEvictionListener {
+
+    private final PrincipalCache principalCache;
+
+    public PrincipalCacheEvictionListener(PrincipalCache principalCache) {
+        this.principalCache = principalCache;
+    }
+
+    @PostLoad
+    @PostPersist
+    public void remember(User user) {
+        user.markEmailStored();
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void evict(User user) {
+        principalCache.evict(user.getEmail());
+        String previous = user.getStoredEmail();
+        if (previous != null && !previous.equals(user.getEmail())) {
+            principalCache.evict(previous);
+        }
+        user.markEmailStored();
+    }
+}
@@ -0,0 +1,76 @@
+package com.lien.security;
+
+import com.lien.exception.ErrorResponseWriter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 로그인/회원가입은 IP 단위로, 템플릿 쓰기 API 는 사용자 단위로 요청 수를 제한한다.
+ * {@link JwtAuthenticationFilter} 뒤에 두어 인증된 사용자 id 를 키로 쓸 수 있게 한다.
+ */
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final ErrorResponseWriter errorResponseWriter;
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        RateLimiter.RouteGroup group = routeGroupOf(request);
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RateLimiter.Decision decision = rateLimiter.tryConsume(group, clientKeyOf(request, group));
+        if (!decision.allowed()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, decision.retryAfterSeconds())));
+            errorResponseWriter.write(response, HttpStatus.TOO_MANY_REQUESTS,
+                    "TOO_MANY_REQUESTS", "요청이 너무 많습니다. 잠시 후 다시 시도해주세요");
+            return;
+        }
+        if (decision.remaining() >= 0) {
+            response.setHeader("X-RateLimit-Remaining", String.valueOf(decision.remaining()));
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private RateLimiter.RouteGroup routeGroupOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        HttpMethod method = HttpMethod.valueOf(request.getMethod());
+        if (method == HttpMethod.POST
+                && (path.equals("/api/auth/login") || path.equals("/api/auth/register"))) {
+            return RateLimiter.RouteGroup.AUTH;
+        }
+        if (path.startsWith("/api/templates")
+                && (method == HttpMethod.POST || method == HttpMethod.PUT
+                || method == HttpMethod.PATCH || method == HttpMethod.DELETE)) {
+            return RateLimiter.RouteGroup.WRITE;
+        }
+        return null;
+    }
+
+    private String clientKeyOf(HttpServletRequest request, RateLimiter.RouteGroup group) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (group == RateLimiter.RouteGroup.WRITE
+                && authentication != null
+                && authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+            return "user:" + principal.id();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
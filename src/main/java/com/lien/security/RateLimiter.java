@@ -0,0 +1,178 @@
+package com.lien.security;
+
+import com.lien.cache.BoundedTtlCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * 라우트 그룹별 토큰 버킷. 버킷 상태는 Redis 에 두고 Lua 스크립트로 원자적으로 갱신하며,
+ * Redis 에 접근할 수 없으면 잠시 동안 인스턴스 로컬 버킷으로 대신한다.
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+
+    public enum RouteGroup {
+        AUTH, WRITE
+    }
+
+    public record Decision(boolean allowed, long remaining, long retryAfterSeconds) {
+    }
+
+    private record Limit(long capacity, long refillPerMinute) {
+
+        double refillPerMs() {
+            return refillPerMinute / 60_000.0;
+        }
+
+        long fullRefillMs() {
+            return (long) Math.ceil(capacity / refillPerMs());
+        }
+    }
+
+    // KEYS[1]=버킷 키, ARGV[1]=용량, ARGV[2]=분당 충전량. 반환: {허용 여부, 남은 토큰, 재시도까지 ms}
+    private static final RedisScript<List> TOKEN_BUCKET = new DefaultRedisScript<>("""
+            local capacity = tonumber(ARGV[1])
+            local refill_per_ms = tonumber(ARGV[2]) / 60000
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(bucket[1])
+            local ts = tonumber(bucket[2])
+            if tokens == nil then
+                tokens = capacity
+                ts = now
+            end
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * refill_per_ms)
+            local allowed = 0
+            local retry_after = 0
+            if tokens >= 1 then
+                tokens = tokens - 1
+                allowed = 1
+            else
+                retry_after = math.ceil((1 - tokens) / refill_per_ms)
+            end
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+            redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / refill_per_ms) + 1000)
+            return {allowed, math.floor(tokens), retry_after}
+            """, List.class);
+
+    private static final long REDIS_RETRY_INTERVAL_MS = 5_000;
+
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final boolean redisEnabled;
+    private final Limit authLimit;
+    private final Limit writeLimit;
+    private final BoundedTtlCache<String, LocalBucket> localBuckets;
+    private volatile long redisRetryAt;
+
+    public RateLimiter(
+            StringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${lien.rate-limit.enabled:true}") boolean enabled,
+            @Value("${lien.redis.enabled:true}") boolean redisEnabled,
+            @Value("${lien.rate-limit.auth.capacity:10}") long authCapacity,
+            @Value("${lien.rate-limit.auth.refill-per-minute:10}") long authRefillPerMinute,
+            @Value("${lien.rate-limit.write.capacity:120}") long writeCapacity,
+            @Value("${lien.rate-limit.write.refill-per-minute:600}") long writeRefillPerMinute,
+            @Value("${lien.rate-limit.local-max-buckets:100000}") int localMaxBuckets) {
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.redisEnabled = redisEnabled;
+        this.authLimit = new Limit(authCapacity, authRefillPerMinute);
+        this.writeLimit = new Limit(writeCapacity, writeRefillPerMinute);
+        this.localBuckets = new BoundedTtlCache<>(localMaxBuckets);
+    }
+
+    public Decision tryConsume(RouteGroup group, String key) {
+        if (!enabled) {
+            return new Decision(true, -1, 0);
+        }
+        Limit limit = group == RouteGroup.AUTH ? authLimit : writeLimit;
+        String bucketKey = "ratelimit:" + group.name().toLowerCase() + ":" + key;
+
+        Decision decision = null;
+        String backend = "redis";
+        if (redisEnabled && System.currentTimeMillis() >= redisRetryAt) {
+            decision = consumeRedis(bucketKey, limit);
+        }
+        if (decision == null) {
+            backend = "local";
+            decision = consumeLocal(bucketKey, limit);
+        }
+
+        meterRegistry.counter("lien.ratelimit.decisions",
+                "group", group.name().toLowerCase(),
+                "backend", backend,
+                "result", decision.allowed() ? "allowed" : "rejected").increment();
+        return decision;
+    }
+
+    private Decision consumeRedis(String bucketKey, Limit limit) {
+        try {
+            List<?> result = redisTemplate.execute(TOKEN_BUCKET, List.of(bucketKey),
+                    String.valueOf(limit.capacity()), String.valueOf(limit.refillPerMinute()));
+            if (result == null || result.size() < 3) {
+                return null;
+            }
+            return new Decision(
+                    ((Number) result.get(0)).longValue() == 1,
+                    ((Number) result.get(1)).longValue(),
+                    toSeconds(((Number) result.get(2)).longValue()));
+        } catch (RuntimeException e) {
+            log.warn("Rate limiter falling back to local buckets: {}", e.getMessage());
+            redisRetryAt = System.currentTimeMillis() + REDIS_RETRY_INTERVAL_MS;
+            return null;
+        }
+    }
+
+    private Decision consumeLocal(String bucketKey, Limit limit) {
+        LocalBucket bucket;
+        synchronized (localBuckets) {
+            bucket = localBuckets.get(bucketKey);
+            if (bucket == null) {
+                bucket = new LocalBucket(limit);
+                localBuckets.putWithTtl(bucketKey, bucket, limit.fullRefillMs() + 1000);
+            }
+        }
+        return bucket.tryConsume();
+    }
+
+    private static long toSeconds(long millis) {
+        return millis <= 0 ? 0 : (millis + 999) / 1000;
+    }
+
+    private static final class LocalBucket {
+
+        private final Limit limit;
+        private double tokens;
+        private long updatedAt;
+
+        LocalBucket(Limit limit) {
+            this.limit = limit;
+            this.tokens = limit.capacity();
+            this.updatedAt = System.currentTimeMillis();
+        }
+
+        synchronized Decision tryConsume() {
+            long now = System.currentTimeMillis();
+            tokens = Math.min(limit.capacity(), tokens + (now - updatedAt) * limit.refillPerMs());
+            updatedAt = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return new Decision(true, (long) tokens, 0);
+            }
+            long retryAfterMs = (long) Math.ceil((1 - tokens) / limit.refillPerMs());
+            return new Decision(false, 0, toSeconds(retryAfterMs));
+        }
+    }
+}
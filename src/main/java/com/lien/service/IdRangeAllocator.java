@@ -0,0 +1,51 @@
+package com.lien.service;
+
+import com.lien.entity.IdSequences;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * INSERT ... SELECT 처럼 DB 안에서 행을 만들 때 쓸 연속 id 구간을 id_sequences 에서 예약한다.
+ * Hibernate 의 pooled 할당과 같은 규칙(읽은 값 V 에 대해 V - ALLOCATION_SIZE + 1 부터 사용)을 따르고
+ * ALLOCATION_SIZE 단위로 값을 올리므로, 엔티티 저장으로 받는 id 와 겹치지 않는다.
+ * 예약은 별도 트랜잭션에서 바로 커밋해 시퀀스 행의 잠금을 짧게 유지한다.
+ */
+@Component
+public class IdRangeAllocator {
+
+    private final JdbcClient jdbcClient;
+    private final TransactionTemplate newTransaction;
+
+    public IdRangeAllocator(JdbcClient jdbcClient, PlatformTransactionManager transactionManager) {
+        this.jdbcClient = jdbcClient;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * count 개의 연속 id 를 예약하고 첫 id 를 돌려준다. 예약한 구간은 롤백되어도 다시 쓰지 않는다.
+     */
+    public long allocate(String sequenceName, long count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count must be positive: " + count);
+        }
+        long blocks = (count + IdSequences.ALLOCATION_SIZE - 1) / IdSequences.ALLOCATION_SIZE;
+        Long current = newTransaction.execute(status -> {
+            long value = jdbcClient.sql("SELECT " + IdSequences.VALUE_COLUMN + " FROM " + IdSequences.TABLE
+                            + " WHERE " + IdSequences.NAME_COLUMN + " = :name FOR UPDATE")
+                    .param("name", sequenceName)
+                    .query(Long.class)
+                    .single();
+            jdbcClient.sql("UPDATE " + IdSequences.TABLE + " SET " + IdSequences.VALUE_COLUMN + " = :value"
+                            + " WHERE " + IdSequences.NAME_COLUMN + " = :name")
+                    .param("name", sequenceName)
+                    .param("value", value + blocks * IdSequences.ALLOCATION_SIZE)
+                    .update();
+            return value;
+        });
+        return current - (IdSequences.ALLOCATION_SIZE - 1);
+    }
+}
@@ -0,0 +1,466 @@
+package com.lien.service;
+
+import com.lien.dto.response.LocationClusterResponse;
+import com.lien.dto.response.LocationClustersResponse;
+import com.lien.dto.response.LocationResponse;
+import com.lien.entity.Location;
+import com.lien.entity.LocationCategory;
+import com.lien.geo.GeoGrid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * 지도 화면용 공개 위치 묶음. 확대 단계 z 마다 경도 한 바퀴를 2^(z+2) 칸(256px 타일 하나에 64px 칸 4개)으로,
+ * 위도는 같은 각도 간격으로 나눈 격자에 칸/카테고리별 개수와 좌표 합을 location_clusters 에 미리 쌓아 둔다.
+ * 위치를 고치는 트랜잭션은 location_cluster_changes 에 변경 한 행만 넣고, 주기적인 flush 가 이를 모아
+ * 짧은 트랜잭션 하나에 키 순서대로 쓴다. 그래서 낮은 확대 단계의 몇 안 되는 행을 요청 트랜잭션이 잠그지 않는다.
+ * flush 와 rebuild 는 location_cluster_state 행을 잠그고 실행해 인스턴스 전체에서 하나씩만 돈다.
+ * max-zoom 보다 확대하면 묶지 않고 geo_cell 인덱스로 개별 위치를 돌려준다.
+ */
+@Slf4j
+@Component
+public class LocationClusterIndex
+{
+
+    private static final int COLUMN_SHIFT = 2;
+    private static final int MAX_SUPPORTED_ZOOM = 20;
+    private static final int FLUSH_BATCH_SIZE = 1000;
+
+    // 한 번에 보는 영역의 칸 수 상한. 화면 크기 기준으로 넉넉히 잡았다
+    static final int MAX_CELL_ROWS = 128;
+    static final int MAX_CELL_COLUMNS = 256;
+    static final int MAX_POINTS = 1000;
+
+    private static final Comparator<CellKey> KEY_ORDER = Comparator.comparingInt(CellKey::zoom)
+            .thenComparingLong(CellKey::cell)
+            .thenComparing(CellKey::category);
+
+    private static final String CHANGE_COLUMNS = "before_category, before_latitude, before_longitude,"
+            + " after_category, after_latitude, after_longitude";
+
+    private final JdbcClient jdbcClient;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    // rebuild 는 변경 기록과 위치를 같은 스냅샷에서 읽어야 한다
+    private final TransactionTemplate snapshotTemplate;
+    private final int maxZoom;
+    private final boolean enabled;
+    private final Duration rebuildInterval;
+
+    public LocationClusterIndex(
+            JdbcClient jdbcClient,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${lien.location.cluster.max-zoom:15}") int maxZoom,
+            @Value("${lien.location.cluster.scheduled.enabled:true}") boolean enabled,
+            @Value("${lien.location.cluster.rebuild-interval-ms:3600000}") long rebuildIntervalMs)
+    {
+        this.jdbcClient = jdbcClient;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.snapshotTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.maxZoom = Math.min(Math.max(maxZoom, 0), MAX_SUPPORTED_ZOOM);
+        this.enabled = enabled;
+        this.rebuildInterval = Duration.ofMillis(rebuildIntervalMs);
+    }
+
+    public int maxZoom()
+    {
+        return maxZoom;
+    }
+
+    /**
+     * 묶음에 들어가는 위치 상태. 공개 위치가 아니면 null 이다.
+     */
+    public record Point(LocationCategory category, double latitude, double longitude)
+    {
+        public static Point of(Location location)
+        {
+            return Boolean.TRUE.equals(location.getIsPublic())
+                    ? new Point(location.getCategory(), location.getLatitude(), location.getLongitude())
+                    : null;
+        }
+    }
+
+    /**
+     * 위치 하나가 before 에서 after 로 바뀌었음을 기록한다(생성은 before, 삭제는 after 가 null).
+     * 호출하는 쪽 트랜잭션 안에서 한 행을 넣으므로 위치 변경과 함께 커밋되거나 되돌려진다. 묶음에는 다음 flush 때 쓴다.
+     */
+    public void change(Point before, Point after)
+    {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        Map<String, Object> params = new HashMap<>();
+        putPoint(params, "before", before);
+        putPoint(params, "after", after);
+        jdbcClient.sql("INSERT INTO location_cluster_changes (" + CHANGE_COLUMNS + ") VALUES"
+                        + " (:beforeCategory, :beforeLatitude, :beforeLongitude,"
+                        + " :afterCategory, :afterLatitude, :afterLongitude)")
+                .params(params)
+                .update();
+    }
+
+    /**
+     * 쌓인 변경을 FLUSH_BATCH_SIZE 개씩 칸별 증감으로 합쳐 쓰고, 쓴 변경 행을 같은 트랜잭션에서 지운다.
+     * 칸은 항상 같은 키 순서로 쓴다. 실패하면 변경 행이 남아 다음 번에 다시 쓴다.
+     */
+    public void flush()
+    {
+        boolean full;
+        do {
+            full = Boolean.TRUE.equals(transactionTemplate.execute(status -> flushBatch()));
+        } while (full);
+    }
+
+    // 배치를 꽉 채웠으면 true. 남은 변경이 더 있을 수 있다
+    private boolean flushBatch()
+    {
+        lockState();
+        List<Long> ids = new ArrayList<>();
+        Map<CellKey, double[]> deltas = new TreeMap<>(KEY_ORDER);
+        jdbcClient.sql("SELECT id, " + CHANGE_COLUMNS + " FROM location_cluster_changes ORDER BY id LIMIT :limit")
+                .param("limit", FLUSH_BATCH_SIZE)
+                .query(rs -> {
+                    ids.add(rs.getLong("id"));
+                    accumulate(deltas, point(rs, "before"), -1);
+                    accumulate(deltas, point(rs, "after"), 1);
+                });
+
+        for (Map.Entry<CellKey, double[]> entry : deltas.entrySet()) {
+            double[] delta = entry.getValue();
+            if (delta[0] != 0 || delta[1] != 0 || delta[2] != 0) {
+                apply(entry.getKey(), (long) delta[0], delta[1], delta[2]);
+            }
+        }
+        deleteChanges(ids);
+        return ids.size() == FLUSH_BATCH_SIZE;
+    }
+
+    @Scheduled(initialDelayString = "${lien.location.cluster.flush-interval-ms:1000}",
+            fixedDelayString = "${lien.location.cluster.flush-interval-ms:1000}")
+    public void flushPending()
+    {
+        if (!enabled) {
+            return;
+        }
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Location cluster flush failed: {}", e.getMessage());
+        }
+    }
+
+    // 모든 인스턴스에서 돌지만 다른 인스턴스가 주기 안에 이미 다시 만들었으면 건너뛴다
+    @Scheduled(initialDelayString = "${lien.location.cluster.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${lien.location.cluster.rebuild-interval-ms:3600000}")
+    public void reconcile()
+    {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (rebuild(LocalDateTime.now().minus(rebuildInterval))) {
+                log.info("Rebuilt location clusters");
+            }
+        } catch (RuntimeException e) {
+            log.warn("Location cluster rebuild failed: {}", e.getMessage());
+        }
+    }
+
+    public LocationClustersResponse find(int zoom, double south, double west, double north, double east)
+    {
+        if (zoom > maxZoom) {
+            return new LocationClustersResponse(zoom, List.of(), points(south, west, north, east));
+        }
+
+        long columns = columns(zoom);
+        long fromRow = row(zoom, south);
+        long toRow = row(zoom, north);
+        List<long[]> columnSpans = west <= east
+                ? List.of(new long[] {column(zoom, west), column(zoom, east)})
+                : List.of(new long[] {0, column(zoom, east)}, new long[] {column(zoom, west), columns - 1});
+        long columnCount = columnSpans.stream().mapToLong(span -> span[1] - span[0] + 1).sum();
+        if (toRow - fromRow + 1 > MAX_CELL_ROWS || columnCount > MAX_CELL_COLUMNS) {
+            throw new IllegalArgumentException("영역이 너무 넓습니다. 확대 단계를 높여 주세요");
+        }
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("zoom", zoom);
+        String cells = rangeCondition("cell", GeoGrid.rowRanges(fromRow, toRow, columns, columnSpans), params);
+
+        Map<Long, ClusterSum> sums = new LinkedHashMap<>();
+        jdbcClient.sql("SELECT cell, category, location_count, latitude_sum, longitude_sum FROM location_clusters"
+                        + " WHERE zoom = :zoom AND (" + cells + ") ORDER BY cell")
+                .params(params)
+                .query(rs -> {
+                    ClusterSum sum = sums.computeIfAbsent(rs.getLong("cell"), cell -> new ClusterSum());
+                    long count = rs.getLong("location_count");
+                    sum.count += count;
+                    sum.latitude += rs.getDouble("latitude_sum");
+                    sum.longitude += rs.getDouble("longitude_sum");
+                    sum.categories.merge(LocationCategory.valueOf(rs.getString("category")), count, Long::sum);
+                });
+
+        List<LocationClusterResponse> clusters = new ArrayList<>(sums.size());
+        for (ClusterSum sum : sums.values()) {
+            if (sum.count > 0) {
+                clusters.add(new LocationClusterResponse(
+                        sum.latitude / sum.count, sum.longitude / sum.count, sum.count, sum.categories));
+            }
+        }
+        return new LocationClustersResponse(zoom, clusters, List.of());
+    }
+
+    /**
+     * 공개 위치 전체로 묶음을 다시 만든다.
+     */
+    public void rebuild()
+    {
+        rebuild(null);
+    }
+
+    /**
+     * 상태 행을 잠근 뒤 마지막 재구성이 since 이후면 건너뛴다(null 이면 항상 만든다).
+     * 아직 쓰지 않은 변경 행과 위치를 REPEATABLE READ 의 한 스냅샷에서 읽어, 스냅샷에 보이는 변경은 결과에 이미
+     * 들어 있으므로 지우고 그 뒤에 커밋된 변경만 남겨 다음 flush 가 쓰게 한다. 위치를 잠그지 않도록
+     * INSERT ... SELECT 대신 확대 단계마다 GROUP BY 결과를 읽어 배치로 넣는다.
+     */
+    private boolean rebuild(LocalDateTime since)
+    {
+        return Boolean.TRUE.equals(snapshotTemplate.execute(status -> {
+            LocalDateTime rebuiltAt = lockState();
+            if (since != null && rebuiltAt != null && rebuiltAt.isAfter(since)) {
+                return false;
+            }
+
+            // 트랜잭션의 첫 일관된 읽기라 여기서 스냅샷이 정해진다
+            List<Long> applied = jdbcClient.sql("SELECT id FROM location_cluster_changes")
+                    .query(Long.class)
+                    .list();
+            jdbcClient.sql("DELETE FROM location_clusters").update();
+            for (int zoom = 0; zoom <= maxZoom; zoom++) {
+                String cell = cellSql(zoom);
+                int z = zoom;
+                List<Object[]> rows = jdbcClient.sql("SELECT " + cell + " AS cell, category,"
+                                + " COUNT(*) AS location_count, SUM(latitude) AS latitude_sum, SUM(longitude) AS longitude_sum"
+                                + " FROM locations WHERE is_public = TRUE GROUP BY " + cell + ", category")
+                        .query((rs, rowNum) -> new Object[] {
+                                z, rs.getLong("cell"), rs.getString("category"), rs.getLong("location_count"),
+                                rs.getDouble("latitude_sum"), rs.getDouble("longitude_sum")})
+                        .list();
+                jdbcTemplate.batchUpdate("INSERT INTO location_clusters"
+                        + " (zoom, cell, category, location_count, latitude_sum, longitude_sum)"
+                        + " VALUES (?, ?, ?, ?, ?, ?)", rows);
+            }
+            deleteChanges(applied);
+            jdbcClient.sql("UPDATE location_cluster_state SET rebuilt_at = :now WHERE id = 1")
+                    .param("now", LocalDateTime.now())
+                    .update();
+            return true;
+        }));
+    }
+
+    // 상태 행을 FOR UPDATE 로 잠그고 마지막 재구성 시각을 돌려준다. 행이 없으면 만든다
+    private LocalDateTime lockState()
+    {
+        Optional<State> state = selectStateForUpdate();
+        if (state.isEmpty()) {
+            try {
+                jdbcClient.sql("INSERT INTO location_cluster_state (id) VALUES (1)").update();
+            } catch (DuplicateKeyException e) {
+                // 다른 인스턴스가 먼저 만들었다
+            }
+            state = selectStateForUpdate();
+        }
+        return state.orElseThrow().rebuiltAt();
+    }
+
+    private Optional<State> selectStateForUpdate()
+    {
+        return jdbcClient.sql("SELECT rebuilt_at FROM location_cluster_state WHERE id = 1 FOR UPDATE")
+                .query((rs, rowNum) -> new State(rs.getObject("rebuilt_at", LocalDateTime.class)))
+                .optional();
+    }
+
+    private void deleteChanges(List<Long> ids)
+    {
+        for (int from = 0; from < ids.size(); from += FLUSH_BATCH_SIZE) {
+            jdbcClient.sql("DELETE FROM location_cluster_changes WHERE id IN (:ids)")
+                    .param("ids", ids.subList(from, Math.min(from + FLUSH_BATCH_SIZE, ids.size())))
+                    .update();
+        }
+    }
+
+    private static void putPoint(Map<String, Object> params, String prefix, Point point)
+    {
+        params.put(prefix + "Category", point == null ? null : point.category().name());
+        params.put(prefix + "Latitude", point == null ? null : point.latitude());
+        params.put(prefix + "Longitude", point == null ? null : point.longitude());
+    }
+
+    private static Point point(ResultSet rs, String prefix) throws SQLException
+    {
+        String category = rs.getString(prefix + "_category");
+        return category == null
+                ? null
+                : new Point(LocationCategory.valueOf(category),
+                        rs.getDouble(prefix + "_latitude"), rs.getDouble(prefix + "_longitude"));
+    }
+
+    private List<LocationResponse> points(double south, double west, double north, double east)
+    {
+        if (GeoGrid.row(north) - GeoGrid.row(south) + 1 > MAX_CELL_ROWS) {
+            throw new IllegalArgumentException("영역이 너무 넓습니다. 확대 단계를 낮춰 주세요");
+        }
+        Map<String, Object> params = new HashMap<>();
+        params.put("south", south);
+        params.put("north", north);
+        params.put("west", west);
+        params.put("east", east);
+        params.put("limit", MAX_POINTS);
+        String cells = rangeCondition("geo_cell", GeoGrid.boxRanges(south, west, north, east), params);
+        String longitude = west <= east
+                ? "longitude BETWEEN :west AND :east"
+                : "(longitude >= :west OR longitude <= :east)";
+
+        return jdbcClient.sql("SELECT " + LocationStreamWriter.COLUMNS + " FROM locations"
+                        + " WHERE (" + cells + ") AND is_public = TRUE"
+                        + " AND latitude BETWEEN :south AND :north AND " + longitude
+                        + " ORDER BY id LIMIT :limit")
+                .params(params)
+                .query((rs, rowNum) -> LocationStreamWriter.toResponse(rs))
+                .list();
+    }
+
+    private void apply(CellKey key, long count, double latitude, double longitude)
+    {
+        Map<String, Object> params = new HashMap<>();
+        params.put("zoom", key.zoom());
+        params.put("cell", key.cell());
+        params.put("category", key.category());
+        params.put("count", count);
+        params.put("latitude", latitude);
+        params.put("longitude", longitude);
+
+        // flush 는 상태 행을 잠그고 하나씩 돌므로 없는 칸을 다른 쪽이 먼저 만들지 않는다
+        if (increment(params) == 0 && count > 0) {
+            jdbcClient.sql("INSERT INTO location_clusters"
+                            + " (zoom, cell, category, location_count, latitude_sum, longitude_sum)"
+                            + " VALUES (:zoom, :cell, :category, :count, :latitude, :longitude)")
+                    .params(params)
+                    .update();
+        }
+        if (count < 0) {
+            jdbcClient.sql("DELETE FROM location_clusters"
+                            + " WHERE zoom = :zoom AND cell = :cell AND category = :category AND location_count <= 0")
+                    .params(params)
+                    .update();
+        }
+    }
+
+    private int increment(Map<String, Object> params)
+    {
+        return jdbcClient.sql("UPDATE location_clusters SET location_count = location_count + :count,"
+                        + " latitude_sum = latitude_sum + :latitude, longitude_sum = longitude_sum + :longitude"
+                        + " WHERE zoom = :zoom AND cell = :cell AND category = :category")
+                .params(params)
+                .update();
+    }
+
+    private void accumulate(Map<CellKey, double[]> deltas, Point point, int sign)
+    {
+        if (point == null) {
+            return;
+        }
+        for (int zoom = 0; zoom <= maxZoom; zoom++) {
+            CellKey key = new CellKey(zoom, cellOf(zoom, point.latitude(), point.longitude()), point.category().name());
+            double[] delta = deltas.computeIfAbsent(key, k -> new double[3]);
+            delta[0] += sign;
+            delta[1] += sign * point.latitude();
+            delta[2] += sign * point.longitude();
+        }
+    }
+
+    private static String rangeCondition(String column, List<long[]> ranges, Map<String, Object> params)
+    {
+        StringBuilder condition = new StringBuilder();
+        for (int i = 0; i < ranges.size(); i++) {
+            condition.append(i == 0 ? "" : " OR ")
+                    .append(column).append(" BETWEEN :from").append(i).append(" AND :to").append(i);
+            params.put("from" + i, ranges.get(i)[0]);
+            params.put("to" + i, ranges.get(i)[1]);
+        }
+        return condition.toString();
+    }
+
+    // 칸 번호 = 줄 * columns + 열. 칸 너비는 360 / columns 도이고 위도 줄도 같은 간격이다
+    static long cellOf(int zoom, double latitude, double longitude)
+    {
+        return row(zoom, latitude) * columns(zoom) + column(zoom, longitude);
+    }
+
+    // cellOf 와 같은 값을 내는 SQL 식. 곱하고 나누는 순서까지 같게 둔다
+    private static String cellSql(int zoom)
+    {
+        long columns = columns(zoom);
+        return "LEAST(FLOOR((latitude + 90) * " + columns + " / 360), " + (columns / 2 - 1) + ") * " + columns
+                + " + LEAST(FLOOR((longitude + 180) * " + columns + " / 360), " + (columns - 1) + ")";
+    }
+
+    private static long columns(int zoom)
+    {
+        return 1L << (zoom + COLUMN_SHIFT);
+    }
+
+    private static long row(int zoom, double latitude)
+    {
+        long rows = columns(zoom) / 2;
+        return Math.min(Math.max((long) Math.floor((latitude + 90) * columns(zoom) / 360), 0), rows - 1);
+    }
+
+    private static long column(int zoom, double longitude)
+    {
+        long columns = columns(zoom);
+        return Math.min(Math.max((long) Math.floor((longitude + 180) * columns / 360), 0), columns - 1);
+    }
+
+    private record CellKey(int zoom, long cell, String category)
+    {
+    }
+
+    private record State(LocalDateTime rebuiltAt)
+    {
+    }
+
+    private static final class ClusterSum
+    {
+        private long count;
+        private double latitude;
+        private double longitude;
+        private final Map<LocationCategory, Long> categories = new EnumMap<>(LocationCategory.class);
+    }
+}
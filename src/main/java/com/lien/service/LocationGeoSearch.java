@@ -0,0 +1,102 @@
+package com.lien.service;
+
+import com.lien.dto.response.NearbyLocationResponse;
+import com.lien.geo.GeoGrid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 반경/최근접 위치 검색. 원을 덮는 격자 칸 구간(GeoGrid)으로 geo_cell 인덱스를 범위 조회하고,
+ * 위경도 상자와 실제 거리로 거른 뒤 가까운 순으로 필요한 개수만 읽는다.
+ * 공개이거나 본인 위치만 본다(LocationService#getLocation 과 같은 규칙).
+ */
+@Component
+public class LocationGeoSearch
+{
+
+    private final JdbcClient jdbcClient;
+    private final double maxRadiusMeters;
+    private final double initialNearestRadiusMeters;
+
+    public LocationGeoSearch(
+            JdbcClient jdbcClient,
+            @Value("${lien.location.nearby.max-radius-meters:20000}") double maxRadiusMeters,
+            @Value("${lien.location.nearest.initial-radius-meters:1000}") double initialNearestRadiusMeters)
+    {
+        this.jdbcClient = jdbcClient;
+        this.maxRadiusMeters = maxRadiusMeters;
+        this.initialNearestRadiusMeters = Math.min(initialNearestRadiusMeters, maxRadiusMeters);
+    }
+
+    public double maxRadiusMeters()
+    {
+        return maxRadiusMeters;
+    }
+
+    /**
+     * 반경 안의 가까운 순 limit 개. 거리 계산, 정렬, 개수 제한을 SQL 에서 하므로 JVM 으로는 limit 행만 온다.
+     */
+    public List<NearbyLocationResponse> withinRadius(
+        Long userId,
+        double latitude,
+        double longitude,
+        double radiusMeters,
+        int limit
+    ) {
+        GeoGrid.Box box = GeoGrid.boundingBox(latitude, longitude, radiusMeters);
+        Map<String, Object> params = new HashMap<>();
+        params.put("userId", userId);
+        params.put("latitude", latitude);
+        params.put("longitude", longitude);
+        params.put("south", box.south());
+        params.put("north", box.north());
+        params.put("west", box.west());
+        params.put("east", box.east());
+        params.put("radius", radiusMeters);
+        params.put("limit", limit);
+        List<long[]> ranges = GeoGrid.ranges(latitude, longitude, radiusMeters);
+        StringBuilder cells = new StringBuilder();
+        for (int i = 0; i < ranges.size(); i++) {
+            cells.append(i == 0 ? "" : " OR ").append("geo_cell BETWEEN :from").append(i).append(" AND :to").append(i);
+            params.put("from" + i, ranges.get(i)[0]);
+            params.put("to" + i, ranges.get(i)[1]);
+        }
+        String longitudeCondition = box.crossesAntimeridian()
+                ? "(longitude >= :west OR longitude <= :east)"
+                : "longitude BETWEEN :west AND :east";
+        String distance = GeoGrid.distanceSql("latitude", "longitude");
+
+        return jdbcClient.sql("SELECT " + LocationStreamWriter.COLUMNS + ", " + distance + " AS distance_meters"
+                        + " FROM locations"
+                        + " WHERE (" + cells + ") AND latitude BETWEEN :south AND :north AND " + longitudeCondition
+                        + " AND (is_public = TRUE OR user_id = :userId)"
+                        + " AND " + distance + " <= :radius"
+                        + " ORDER BY distance_meters, id LIMIT :limit")
+                .params(params)
+                .query((rs, rowNum) -> new NearbyLocationResponse(
+                        LocationStreamWriter.toResponse(rs), rs.getDouble("distance_meters")))
+                .list();
+    }
+
+    /**
+     * 가까운 k 개. 반경을 두 배씩 넓히다가 반경 안에 k 개가 모이면 그 안의 가까운 k 개가 답이다.
+     * 매번 k 행까지만 읽고, 넓이가 네 배씩 늘므로 앞선 조회를 다 더해도 마지막 조회 범위의 1/3 을 넘지 않는다.
+     * 최대 반경까지 넓혀도 모자라면 찾은 만큼만 돌려준다.
+     */
+    public List<NearbyLocationResponse> nearest(Long userId, double latitude, double longitude, int k)
+    {
+        double radius = initialNearestRadiusMeters;
+        while (true) {
+            List<NearbyLocationResponse> found = withinRadius(userId, latitude, longitude, radius, k);
+            if (found.size() >= k || radius >= maxRadiusMeters) {
+                return found;
+            }
+            radius = Math.min(radius * 2, maxRadiusMeters);
+        }
+    }
+}
@@ -1,15 +1,26 @@
 package com.lien.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.lien.cache.TemplateDetailCache;
 import com.lien.dto.request.LocationRequest;
+import com.lien.dto.response.LocationClustersResponse;
+import com.lien.dto.response.LocationCursorResponse;
 import com.lien.dto.response.LocationResponse;
+import com.lien.dto.response.NearbyLocationResponse;
 import com.lien.entity.Location;
 import com.lien.entity.LocationCategory;
-import com.lien.entity.User;
+import com.lien.repository.ActivityRepository;
 import com.lien.repository.LocationRepository;
+import com.lien.repository.TemplateRepository;
+import com.lien.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -18,13 +29,25 @@ import java.util.stream.Collectors;
 public class LocationService
 {
 
+    static final int MAX_PAGE_SIZE = 500;
+    static final int MAX_NEARBY_RESULTS = 100;
+    static final int MAX_ZOOM = 22;
+
     private final LocationRepository locationRepository;
+    private final UserRepository userRepository;
+    private final ActivityRepository activityRepository;
+    private final TemplateRepository templateRepository;
+    private final TemplateDetailCache templateDetailCache;
+    private final MergePatch mergePatch;
+    private final LocationStreamWriter locationStreamWriter;
+    private final LocationGeoSearch locationGeoSearch;
+    private final LocationClusterIndex locationClusterIndex;
 
     @Transactional
-    public LocationResponse createLocation(User user, LocationRequest request)
+    public LocationResponse createLocation(Long userId, LocationRequest request)
     {
         Location location = Location.builder()
-                .user(user)
+                .user(userRepository.getReferenceById(userId))
                 .name(request.getName())
                 .category(request.getCategory())
                 .latitude(request.getLatitude())
@@ -35,30 +58,130 @@ public class LocationService
                 .build();
 
         location = locationRepository.save(location);
+        locationClusterIndex.change(null, LocationClusterIndex.Point.of(location));
         return toResponse(location);
     }
 
     @Transactional(readOnly = true)
     public List<LocationResponse> getLocations(
-        User user,
+        Long userId,
         LocationCategory category,
         String keyword
     ) {
-        return locationRepository.findByUserOrPublicWithFilters(user, category, keyword)
+        return locationRepository.findByUserOrPublicWithFilters(userId, category, keyword)
                 .stream()
                 .map(this::toResponse)
                 .collect(Collectors.toList());
     }
 
+    // id 순 커서 페이지. cursor 는 이전 페이지 마지막 위치의 id 이다
+    @Transactional(readOnly = true)
+    public LocationCursorResponse getLocationPage(
+        Long userId,
+        LocationCategory category,
+        String keyword,
+        String cursor,
+        int size
+    ) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size 는 1 이상 " + MAX_PAGE_SIZE + " 이하여야 합니다");
+        }
+        long afterId;
+        try {
+            afterId = cursor != null ? Long.parseLong(cursor) : 0L;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다");
+        }
+
+        // 한 행 더 읽어 다음 페이지가 있는지 판단한다
+        List<Location> rows = locationRepository.findPageByUserOrPublicWithFilters(
+                userId, category, keyword, afterId, Limit.of(size + 1));
+        boolean hasNext = rows.size() > size;
+        List<Location> page = hasNext ? rows.subList(0, size) : rows;
+
+        return new LocationCursorResponse(
+                page.stream().map(this::toResponse).toList(),
+                hasNext ? String.valueOf(page.get(page.size() - 1).getId()) : null);
+    }
+
+    // NDJSON 응답. 트랜잭션 커넥션 하나로 커서를 열어 다 쓸 때까지 유지한다
+    @Transactional(readOnly = true)
+    public void streamLocations(
+        Long userId,
+        LocationCategory category,
+        String keyword,
+        OutputStream out
+    ) throws IOException {
+        locationStreamWriter.write(userId, category, keyword, out);
+    }
+
+    @Transactional(readOnly = true)
+    public List<NearbyLocationResponse> findNearby(
+        Long userId,
+        double latitude,
+        double longitude,
+        double radiusMeters,
+        int limit
+    ) {
+        checkPoint(latitude, longitude);
+        checkLimit(limit);
+        if (!(radiusMeters > 0 && radiusMeters <= locationGeoSearch.maxRadiusMeters())) {
+            throw new IllegalArgumentException(
+                    "radiusMeters 는 0 보다 크고 " + (long) locationGeoSearch.maxRadiusMeters() + " 이하여야 합니다");
+        }
+        return locationGeoSearch.withinRadius(userId, latitude, longitude, radiusMeters, limit);
+    }
+
     @Transactional(readOnly = true)
-    public LocationResponse getLocation(User user, Long locationId)
+    public List<NearbyLocationResponse> findNearest(Long userId, double latitude, double longitude, int k)
+    {
+        checkPoint(latitude, longitude);
+        checkLimit(k);
+        return locationGeoSearch.nearest(userId, latitude, longitude, k);
+    }
+
+    /**
+     * 지도 화면 영역의 공개 위치 묶음. bbox 는 "서,남,동,북" 경위도이며 서쪽이 동쪽보다 크면 날짜변경선을 넘는다.
+     */
+    @Transactional(readOnly = true)
+    public LocationClustersResponse getClusters(String bbox, int zoom)
+    {
+        if (zoom < 0 || zoom > MAX_ZOOM) {
+            throw new IllegalArgumentException("zoom 은 0 이상 " + MAX_ZOOM + " 이하여야 합니다");
+        }
+        String[] parts = bbox != null ? bbox.split(",") : new String[0];
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("bbox 는 서,남,동,북 네 값이어야 합니다");
+        }
+        double[] values = new double[4];
+        try {
+            for (int i = 0; i < 4; i++) {
+                values[i] = Double.parseDouble(parts[i].trim());
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("bbox 는 서,남,동,북 네 값이어야 합니다");
+        }
+        double west = values[0];
+        double south = values[1];
+        double east = values[2];
+        double north = values[3];
+        checkPoint(south, west);
+        checkPoint(north, east);
+        if (south > north) {
+            throw new IllegalArgumentException("bbox 의 남쪽이 북쪽보다 클 수 없습니다");
+        }
+        return locationClusterIndex.find(zoom, south, west, north, east);
+    }
+
+    @Transactional(readOnly = true)
+    public LocationResponse getLocation(Long userId, Long locationId)
     {
         Location location = locationRepository.findById(locationId)
                 .orElseThrow(() -> new IllegalArgumentException("위치를 찾을 수 없습니다"));
 
         // Public이거나 본인의 위치만 조회 가능
         if (!location.getIsPublic()
-            && (location.getUser() == null || !location.getUser().getId().equals(user.getId()))) {
+            && (location.getUser() == null || !location.getUser().getId().equals(userId))) {
             throw new IllegalArgumentException("권한이 없습니다");
         }
 
@@ -67,13 +190,65 @@ public class LocationService
 
     @Transactional
     public LocationResponse updateLocation(
-        User user,
+        Long userId,
         Long locationId,
         LocationRequest request
     ) {
-        Location location = locationRepository.findByIdAndUser(locationId, user)
+        Location location = locationRepository.findByIdAndUserId(locationId, userId)
                 .orElseThrow(() -> new IllegalArgumentException("위치를 찾을 수 없거나 권한이 없습니다"));
 
+        LocationClusterIndex.Point before = LocationClusterIndex.Point.of(location);
+        apply(location, request);
+        locationClusterIndex.change(before, LocationClusterIndex.Point.of(location));
+        touchTemplates(locationId);
+
+        return toResponse(locationRepository.save(location));
+    }
+
+    // 부분 수정(RFC 7396). 바뀐 필드가 없으면 참조하는 템플릿도 건드리지 않는다
+    @Transactional
+    public LocationResponse patchLocation(Long userId, Long locationId, JsonNode patch)
+    {
+        Location location = locationRepository.findByIdAndUserId(locationId, userId)
+                .orElseThrow(() -> new IllegalArgumentException("위치를 찾을 수 없거나 권한이 없습니다"));
+        LocationRequest current = toRequest(location);
+        LocationRequest patched = mergePatch.apply(current, patch, LocationRequest.class);
+
+        if (!patched.equals(current)) {
+            LocationClusterIndex.Point before = LocationClusterIndex.Point.of(location);
+            apply(location, patched);
+            locationClusterIndex.change(before, LocationClusterIndex.Point.of(location));
+            touchTemplates(locationId);
+        }
+        return toResponse(location);
+    }
+
+    @Transactional
+    public void deleteLocation(Long userId, Long locationId)
+    {
+        Location location = locationRepository.findByIdAndUserId(locationId, userId)
+                .orElseThrow(() -> new IllegalArgumentException("위치를 찾을 수 없거나 권한이 없습니다"));
+
+        locationClusterIndex.change(LocationClusterIndex.Point.of(location), null);
+        locationRepository.delete(location);
+    }
+
+    private static void checkPoint(double latitude, double longitude)
+    {
+        if (!(latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180)) {
+            throw new IllegalArgumentException("잘못된 좌표입니다");
+        }
+    }
+
+    private static void checkLimit(int limit)
+    {
+        if (limit < 1 || limit > MAX_NEARBY_RESULTS) {
+            throw new IllegalArgumentException("개수는 1 이상 " + MAX_NEARBY_RESULTS + " 이하여야 합니다");
+        }
+    }
+
+    private static void apply(Location location, LocationRequest request)
+    {
         location.setName(request.getName());
         location.setCategory(request.getCategory());
         location.setLatitude(request.getLatitude());
@@ -81,17 +256,29 @@ public class LocationService
         location.setAddress(request.getAddress());
         location.setDescription(request.getDescription());
         location.setIsPublic(request.getIsPublic());
-
-        return toResponse(locationRepository.save(location));
     }
 
-    @Transactional
-    public void deleteLocation(User user, Long locationId)
+    private static LocationRequest toRequest(Location location)
     {
-        Location location = locationRepository.findByIdAndUser(locationId, user)
-                .orElseThrow(() -> new IllegalArgumentException("위치를 찾을 수 없거나 권한이 없습니다"));
+        LocationRequest request = new LocationRequest();
+        request.setName(location.getName());
+        request.setCategory(location.getCategory());
+        request.setLatitude(location.getLatitude());
+        request.setLongitude(location.getLongitude());
+        request.setAddress(location.getAddress());
+        request.setDescription(location.getDescription());
+        request.setIsPublic(location.getIsPublic());
+        return request;
+    }
 
-        locationRepository.delete(location);
+    // 활동에 포함된 위치 정보는 템플릿 상세 응답의 일부이므로 참조하는 템플릿의 버전을 올리고 캐시를 무효화한다
+    private void touchTemplates(Long locationId)
+    {
+        List<Long> templateIds = activityRepository.findTemplateIdsByLocationId(locationId);
+        if (!templateIds.isEmpty()) {
+            templateRepository.bumpAggregateVersion(templateIds, LocalDateTime.now());
+            templateDetailCache.invalidateAll(templateIds);
+        }
     }
 
     private LocationResponse toResponse(Location location)
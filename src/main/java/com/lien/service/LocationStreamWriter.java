@@ -0,0 +1,108 @@
+package com.lien.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lien.dto.response.LocationResponse;
+import com.lien.entity.LocationCategory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * 위치 목록을 NDJSON(한 줄에 LocationResponse 하나)으로 쓴다. 엔티티나 목록을 만들지 않고
+ * JDBC 커서로 읽는 즉시 응답에 쓰므로 행 수와 상관없이 메모리 사용량이 일정하다.
+ * MySQL 에서는 fetch size 를 Integer.MIN_VALUE 로 두어 이 문장만 스트리밍 결과셋으로 읽는다.
+ * 접속 URL 의 useCursorFetch 처럼 다른 문장의 동작을 바꾸지 않는다.
+ */
+@Component
+public class LocationStreamWriter
+{
+
+    public static final String NDJSON = "application/x-ndjson";
+
+    // toResponse 가 읽는 컬럼
+    static final String COLUMNS = "id, name, category, latitude, longitude, address, description, is_public, created_at";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int flushRows;
+
+    public LocationStreamWriter(
+            DataSource dataSource,
+            ObjectMapper objectMapper,
+            @Value("${lien.location.stream.fetch-size:500}") int fetchSize,
+            @Value("${lien.location.stream.flush-rows:500}") int flushRows)
+    {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(fetchSize);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+        this.objectMapper = objectMapper;
+        this.flushRows = Math.max(flushRows, 1);
+    }
+
+    /**
+     * 호출하는 쪽의 트랜잭션 커넥션으로 읽는다. 조건은 LocationRepository#findByUserOrPublicWithFilters 와 같다.
+     */
+    public void write(Long userId, LocationCategory category, String keyword, OutputStream out) throws IOException
+    {
+        StringBuilder sql = new StringBuilder("SELECT " + COLUMNS
+                + " FROM locations WHERE (is_public = TRUE OR user_id = :userId)");
+        MapSqlParameterSource params = new MapSqlParameterSource("userId", userId);
+        if (category != null) {
+            sql.append(" AND category = :category");
+            params.addValue("category", category.name());
+        }
+        if (keyword != null) {
+            sql.append(" AND LOWER(name) LIKE :pattern");
+            params.addValue("pattern", "%" + keyword.toLowerCase() + "%");
+        }
+        sql.append(" ORDER BY id");
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            int[] rows = {0};
+            jdbcTemplate.query(sql.toString(), params, rs -> {
+                try {
+                    generator.writeObject(toResponse(rs));
+                    if (++rows[0] % flushRows == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (rows[0] > 0) {
+                generator.writeRaw('\n');
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    static LocationResponse toResponse(ResultSet rs) throws SQLException
+    {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        return LocationResponse.builder()
+                .id(rs.getLong("id"))
+                .name(rs.getString("name"))
+                .category(LocationCategory.valueOf(rs.getString("category")))
+                .latitude(rs.getDouble("latitude"))
+                .longitude(rs.getDouble("longitude"))
+                .address(rs.getString("address"))
+                .description(rs.getString("description"))
+                .isPublic(rs.getBoolean("is_public"))
+                .createdAt(createdAt != null ? createdAt.toLocalDateTime() : null)
+                .build();
+    }
+}
@@ -0,0 +1,80 @@
+package com.lien.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * RFC 7396 JSON Merge Patch. 현재 값을 요청 DTO 로 만든 뒤 패치를 합쳐 다시 DTO 로 읽고,
+ * 전체 수정(PUT)과 같은 제약으로 검증한다. null 은 해당 필드를 지운다는 뜻이다.
+ */
+@Component
+@RequiredArgsConstructor
+public class MergePatch
+{
+
+    public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public <T> T apply(T current, JsonNode patch, Class<T> type)
+    {
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException("패치는 객체여야 합니다");
+        }
+        ObjectNode target = objectMapper.valueToTree(current);
+        for (Iterator<String> names = patch.fieldNames(); names.hasNext(); ) {
+            String name = names.next();
+            if (!target.has(name)) {
+                throw new IllegalArgumentException("알 수 없는 필드입니다: " + name);
+            }
+        }
+
+        T patched;
+        try {
+            patched = objectMapper.treeToValue(merge(target, patch), type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("잘못된 요청 형식입니다: " + e.getOriginalMessage());
+        }
+        validator.validate(patched).stream()
+                .min(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .ifPresent(violation -> {
+                    throw new IllegalArgumentException(describe(violation));
+                });
+        return patched;
+    }
+
+    static JsonNode merge(JsonNode target, JsonNode patch)
+    {
+        if (!patch.isObject()) {
+            return patch;
+        }
+        ObjectNode result = target != null && target.isObject()
+                ? ((ObjectNode) target).deepCopy()
+                : ((ObjectNode) patch).objectNode();
+        for (Iterator<Map.Entry<String, JsonNode>> fields = patch.fields(); fields.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (field.getValue().isNull()) {
+                result.remove(field.getKey());
+            } else {
+                result.set(field.getKey(), merge(result.get(field.getKey()), field.getValue()));
+            }
+        }
+        return result;
+    }
+
+    private static String describe(ConstraintViolation<?> violation)
+    {
+        return violation.getPropertyPath() + ": " + violation.getMessage();
+    }
+}
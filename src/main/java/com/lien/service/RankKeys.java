@@ -0,0 +1,96 @@
+package com.lien.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 정렬용 문자열 키. 두 키 사이에 항상 새 키를 만들 수 있으므로 항목 하나를 옮길 때 그 행만 고치면 된다.
+ * 숫자와 소문자(36진수)만 쓰므로 MySQL 의 대소문자 무시 콜레이션에서도 사전순과 정렬 순서가 같다.
+ * 키는 '0' 으로 끝나지 않는다. 그래야 어떤 키 앞에도 더 작은 키를 만들 수 있다.
+ */
+public final class RankKeys {
+
+    public static final int MAX_LENGTH = 64;
+
+    private static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+    private static final int INDEX_WIDTH = 4;
+
+    private RankKeys() {
+    }
+
+    /**
+     * orderIndex 로 만든 고정 길이 키. 정수 순서를 그대로 따르며, 재정렬 시 짧은 키로 되돌릴 때도 쓴다.
+     */
+    public static String forIndex(int index) {
+        if (index < 0) {
+            throw new IllegalArgumentException("순서는 0 이상이어야 합니다");
+        }
+        StringBuilder key = new StringBuilder();
+        long value = Math.min(index, (long) Math.pow(BASE, INDEX_WIDTH) - 1);
+        for (int i = 0; i < INDEX_WIDTH; i++) {
+            key.insert(0, DIGITS.charAt((int) (value % BASE)));
+            value /= BASE;
+        }
+        return key.append(DIGITS.charAt(BASE / 2)).toString();
+    }
+
+    /**
+     * lower 와 upper 사이의 키. null 이면 해당 방향으로 끝이 없다는 뜻이다.
+     */
+    public static String between(String lower, String upper) {
+        String low = lower != null ? lower : "";
+        if (upper != null && low.compareTo(upper) >= 0) {
+            throw new IllegalArgumentException("잘못된 순서 키 범위입니다: " + lower + ", " + upper);
+        }
+
+        StringBuilder key = new StringBuilder();
+        boolean bounded = upper != null;
+        for (int i = 0; ; i++) {
+            if (bounded && i >= upper.length()) {
+                throw new IllegalArgumentException("잘못된 순서 키입니다: " + upper);
+            }
+            int lo = i < low.length() ? digit(low.charAt(i)) : 0;
+            int hi = bounded ? digit(upper.charAt(i)) : BASE;
+            if (lo == hi) {
+                key.append(DIGITS.charAt(lo));
+                continue;
+            }
+            int mid = (lo + hi) / 2;
+            if (mid > lo) {
+                return key.append(DIGITS.charAt(mid)).toString();
+            }
+            // 바로 옆 자리 숫자: 아래 키의 숫자를 쓰면 이후로는 위쪽 제한이 없다
+            key.append(DIGITS.charAt(lo));
+            bounded = false;
+        }
+    }
+
+    /**
+     * lower 와 upper 사이에 count 개의 오름차순 키. 이분해서 만들므로 길이는 log(count) 만큼만 늘어난다.
+     */
+    public static List<String> between(String lower, String upper, int count) {
+        List<String> keys = new ArrayList<>(count);
+        fill(lower, upper, count, keys);
+        return keys;
+    }
+
+    private static void fill(String lower, String upper, int count, List<String> keys) {
+        if (count <= 0) {
+            return;
+        }
+        String middle = between(lower, upper);
+        int left = (count - 1) / 2;
+        fill(lower, middle, left, keys);
+        keys.add(middle);
+        fill(middle, upper, count - 1 - left, keys);
+    }
+
+    private static int digit(char c) {
+        int digit = DIGITS.indexOf(c);
+        if (digit < 0) {
+            throw new IllegalArgumentException("잘못된 순서 키입니다: " + c);
+        }
+        return digit;
+    }
+}
@@ -0,0 +1,153 @@
+package com.lien.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 이동을 반복하면 rank_key 가 길어진다. 주기적으로 키가 길어졌거나 아직 키가 없는(도입 이전) 부모를 찾아
+ * 형제들의 키를 순서 그대로 짧은 고정 길이 키로 다시 쓴다. 부모마다 짧은 트랜잭션 하나를 쓴다.
+ */
+@Slf4j
+@Component
+public class RankRebalancer {
+
+    private final JdbcClient jdbcClient;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int maxKeyLength;
+    private final int batchSize;
+
+    public RankRebalancer(
+            JdbcClient jdbcClient,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${lien.rank.rebalance.enabled:true}") boolean enabled,
+            @Value("${lien.rank.rebalance.max-key-length:12}") int maxKeyLength,
+            @Value("${lien.rank.rebalance.batch-size:100}") int batchSize) {
+        this.jdbcClient = jdbcClient;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        // 다시 매긴 키보다 짧게 잡으면 같은 부모를 끝없이 다시 고르게 된다
+        this.maxKeyLength = Math.max(maxKeyLength, RankKeys.forIndex(0).length());
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${lien.rank.rebalance.initial-delay-ms:10000}",
+            fixedDelayString = "${lien.rank.rebalance.interval-ms:600000}")
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+        for (RankedSiblings siblings : RankedSiblings.values()) {
+            try {
+                sweep(siblings);
+            } catch (RuntimeException e) {
+                log.warn("Rank rebalance failed for {}: {}", siblings.table, e.getMessage());
+            }
+        }
+    }
+
+    private void sweep(RankedSiblings siblings) {
+        while (true) {
+            List<Long> parentIds = jdbcClient.sql("SELECT DISTINCT " + siblings.parentColumn + " FROM " + siblings.table
+                            + " WHERE rank_key IS NULL OR LENGTH(rank_key) > :maxKeyLength LIMIT :limit")
+                    .param("maxKeyLength", maxKeyLength)
+                    .param("limit", batchSize)
+                    .query(Long.class)
+                    .list();
+            for (Long parentId : parentIds) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (lockParent(siblings, parentId)) {
+                        rebalance(siblings, parentId);
+                    }
+                });
+            }
+            meterRegistry.counter("lien.rank.rebalanced", "siblings", siblings.name().toLowerCase())
+                    .increment(parentIds.size());
+            if (parentIds.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 부모 행을 잠근다. 이동과 재정렬은 모두 이 잠금 아래에서 키를 읽고 쓴다.
+     */
+    boolean lockParent(RankedSiblings siblings, long parentId) {
+        return jdbcClient.sql("SELECT id FROM " + siblings.parentTable + " WHERE id = :parentId FOR UPDATE")
+                .param("parentId", parentId)
+                .query(Long.class)
+                .optional()
+                .isPresent();
+    }
+
+    /**
+     * 현재 순서를 유지한 채 형제들의 키를 0부터 고정 길이로 다시 매긴다. 키가 없는 행은 order_index 로 자리를 정한다.
+     * 호출하는 쪽에서 트랜잭션과 부모 잠금을 잡고 있어야 한다.
+     */
+    void rebalance(RankedSiblings siblings, long parentId) {
+        List<Sibling> rows = jdbcClient.sql("SELECT id, rank_key, order_index FROM " + siblings.table
+                        + " WHERE " + siblings.parentColumn + " = :parentId")
+                .param("parentId", parentId)
+                .query((rs, rowNum) -> new Sibling(rs.getLong("id"), rs.getString("rank_key"), rs.getInt("order_index")))
+                .list();
+
+        List<Sibling> ordered = rows.stream()
+                .sorted(Comparator.comparing(Sibling::effectiveKey).thenComparing(Sibling::id))
+                .toList();
+        Map<Long, String> changed = new LinkedHashMap<>();
+        for (int position = 0; position < ordered.size(); position++) {
+            String key = RankKeys.forIndex(position);
+            if (!key.equals(ordered.get(position).rankKey())) {
+                changed.put(ordered.get(position).id(), key);
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("parentId", parentId);
+        params.put("ids", changed.keySet());
+        jdbcClient.sql("UPDATE " + siblings.table + " SET rank_key = " + keyCase(changed, params)
+                        + " WHERE id IN (:ids) AND " + siblings.parentColumn + " = :parentId")
+                .params(params)
+                .update();
+    }
+
+    /**
+     * id 별 키를 한 문장으로 쓰기 위한 CASE 식. 바인딩 값은 params 에 채운다.
+     */
+    static String keyCase(Map<Long, String> keys, Map<String, Object> params) {
+        StringBuilder sql = new StringBuilder("CASE id");
+        int i = 0;
+        for (Map.Entry<Long, String> entry : keys.entrySet()) {
+            sql.append(" WHEN :id").append(i).append(" THEN :key").append(i);
+            params.put("id" + i, entry.getKey());
+            params.put("key" + i, entry.getValue());
+            i++;
+        }
+        // ELSE 로 컬럼을 두면 바인딩 값만 있는 CASE 의 타입을 DB 가 추론하지 못하는 문제도 피한다
+        return sql.append(" ELSE rank_key END").toString();
+    }
+
+    private record Sibling(long id, String rankKey, int orderIndex) {
+
+        String effectiveKey() {
+            return rankKey != null ? rankKey : RankKeys.forIndex(orderIndex);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.lien.service;
+
+/**
+ * rank_key 로 정렬되는 형제 집합. 같은 부모 아래에서만 순서가 의미 있고,
+ * 순서를 바꿀 때는 부모 행을 잠가 동시 이동과 재정렬이 섞이지 않게 한다.
+ */
+enum RankedSiblings {
+
+    ACTIVITIES("activities", "day_schedule_id", "day_schedules"),
+    CHECKLIST_SECTIONS("checklist_sections", "template_id", "templates");
+
+    final String table;
+    final String parentColumn;
+    final String parentTable;
+
+    RankedSiblings(String table, String parentColumn, String parentTable) {
+        this.table = table;
+        this.parentColumn = parentColumn;
+        this.parentTable = parentTable;
+    }
+}
@@ -0,0 +1,163 @@
+package com.lien.service;
+
+import com.lien.cache.BloomFilter;
+import com.lien.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 가입된 이메일의 Bloom filter. "없음" 이면 중복 조회 없이 바로 가입을 진행하고,
+ * "있을 수 있음" 일 때만 DB 를 조회한다. 중복 판정의 기준은 users.email 유니크 제약이므로
+ * 필터가 오래되었거나 아직 준비되지 않아도 결과는 틀리지 않는다.
+ *
+ * <p>기동 시 Redis 에 저장된 비트맵이 있으면 그것을 읽고, 없으면 DB 에서 다시 만들어 Redis 의 비트맵에 합친다.
+ * 가입할 때마다 로컬 비트와 Redis 비트맵을 함께 갱신한다.
+ */
+@Slf4j
+@Component
+public class RegisteredEmailFilter {
+
+    private static final String REDIS_KEY = "bloom:registered-emails";
+    private static final long TEMP_KEY_TTL_SECONDS = 60;
+
+    private final UserRepository userRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final boolean redisEnabled;
+    private final BloomFilter bloomFilter;
+    private final String redisKey;
+    private volatile boolean ready;
+
+    public RegisteredEmailFilter(
+            UserRepository userRepository,
+            StringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${lien.auth.email-bloom.enabled:true}") boolean enabled,
+            @Value("${lien.redis.enabled:true}") boolean redisEnabled,
+            @Value("${lien.auth.email-bloom.expected-insertions:1000000}") long expectedInsertions,
+            @Value("${lien.auth.email-bloom.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.redisEnabled = redisEnabled;
+        this.bloomFilter = new BloomFilter(expectedInsertions, falsePositiveRate);
+        // 크기가 바뀌면 이전 비트맵과 섞이지 않도록 키에 파라미터를 넣는다
+        this.redisKey = REDIS_KEY + ":" + bloomFilter.bitSize() + ":" + bloomFilter.hashCount();
+    }
+
+    /**
+     * 준비되기 전이거나 꺼져 있으면 항상 true 를 돌려 DB 조회로 넘긴다.
+     */
+    public boolean mightContain(String email) {
+        if (!enabled || !ready) {
+            return true;
+        }
+        boolean result = bloomFilter.mightContain(normalize(email));
+        meterRegistry.counter("lien.auth.email-bloom.lookups", "result", result ? "maybe" : "absent").increment();
+        return result;
+    }
+
+    public void add(String email) {
+        if (!enabled) {
+            return;
+        }
+        int[] indexes = bloomFilter.add(normalize(email));
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                byte[] key = redisKey.getBytes(StandardCharsets.UTF_8);
+                for (int index : indexes) {
+                    connection.stringCommands().setBit(key, index, true);
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Registered email bloom filter update failed: {}", e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        if (loadFromRedis()) {
+            ready = true;
+            return;
+        }
+        bloomFilter.clear();
+        AtomicLong count = new AtomicLong();
+        try (Stream<String> emails = userRepository.streamAllEmails()) {
+            emails.forEach(email -> {
+                bloomFilter.add(normalize(email));
+                count.incrementAndGet();
+            });
+        }
+        saveToRedis();
+        ready = true;
+        log.info("Registered email bloom filter rebuilt from {} users", count.get());
+    }
+
+    private boolean loadFromRedis() {
+        if (!redisEnabled) {
+            return false;
+        }
+        try {
+            byte[] bytes = redisTemplate.execute((RedisCallback<byte[]>) connection ->
+                    connection.stringCommands().get(redisKey.getBytes(StandardCharsets.UTF_8)));
+            if (bytes == null) {
+                return false;
+            }
+            bloomFilter.loadRedisBytes(bytes);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Registered email bloom filter load failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    // 다시 만든 비트맵을 임시 키에 쓰고 BITOP OR 로 합친다. 그 사이 다른 인스턴스의 add() 가 먼저 키를 만들었어도
+    // 그 비트와 전체 비트가 함께 남는다. 임시 키는 중간에 죽어도 사라지도록 만료를 둔다
+    private void saveToRedis() {
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            byte[] bytes = bloomFilter.toRedisBytes();
+            byte[] key = redisKey.getBytes(StandardCharsets.UTF_8);
+            byte[] tempKey = (redisKey + ":rebuild:" + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+            redisTemplate.execute((RedisCallback<Object>) connection -> {
+                connection.stringCommands().set(tempKey, bytes, Expiration.seconds(TEMP_KEY_TTL_SECONDS),
+                        RedisStringCommands.SetOption.upsert());
+                connection.stringCommands().bitOp(RedisStringCommands.BitOperation.OR, key, key, tempKey);
+                connection.keyCommands().del(tempKey);
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Registered email bloom filter save failed: {}", e.getMessage());
+        }
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,45 @@
+package com.lien.service;
+
+import com.lien.cache.TemplateDetailCache;
+import com.lien.cache.TemplateOwnerCache;
+import com.lien.repository.TemplateRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 템플릿 편집 서비스들이 함께 쓰는 소유권 확인과 변경 표시. 소유자는 TemplateOwnerCache 로 읽고,
+ * 변경은 집합 버전 갱신 한 문장으로 템플릿 행을 잠그면서 삭제 여부도 함께 확인한다.
+ */
+@Component
+@RequiredArgsConstructor
+class TemplateAccess
+{
+
+    private final TemplateRepository templateRepository;
+    private final TemplateOwnerCache templateOwnerCache;
+    private final TemplateDetailCache templateDetailCache;
+
+    void checkOwner(Long templateId, Long userId)
+    {
+        Long ownerId = templateOwnerCache.ownerOf(templateId, () -> templateRepository.findOwnerIdById(templateId))
+                .orElseThrow(() -> new IllegalArgumentException("템플릿을 찾을 수 없습니다"));
+
+        if (!ownerId.equals(userId)) {
+            throw new IllegalArgumentException("권한이 없습니다");
+        }
+    }
+
+    // 상세 응답이 바뀌는 변경: 집합 버전을 올리고 커밋 이후 상세 캐시를 무효화한다.
+    // 갱신된 행이 없으면 소유자 캐시에 남아 있던 삭제된 템플릿이다
+    void touch(Long templateId)
+    {
+        if (templateRepository.bumpAggregateVersion(List.of(templateId), LocalDateTime.now()) == 0) {
+            templateOwnerCache.evict(templateId);
+            throw new IllegalArgumentException("템플릿을 찾을 수 없습니다");
+        }
+        templateDetailCache.invalidate(templateId);
+    }
+}
@@ -0,0 +1,42 @@
+package com.lien.service;
+
+import com.lien.entity.Template;
+import com.lien.repository.ChecklistSectionRepository;
+import com.lien.repository.DayScheduleRepository;
+import com.lien.repository.TemplateRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * 템플릿과 체크리스트/일정/활동/장소 전체를 일정 길이와 관계없이 최대 4번의 쿼리로 읽는다.
+ * List 컬렉션 두 개는 한 쿼리에서 fetch join 할 수 없으므로(MultipleBagFetchException)
+ * 컬렉션 계층마다 한 번씩 나누어 읽고, 같은 영속성 컨텍스트 안에서 하나의 그래프로 합쳐진다.
+ */
+@Component
+@RequiredArgsConstructor
+public class TemplateAggregateLoader {
+
+    private final TemplateRepository templateRepository;
+    private final ChecklistSectionRepository checklistSectionRepository;
+    private final DayScheduleRepository dayScheduleRepository;
+
+    @Transactional(readOnly = true)
+    public Optional<Template> load(Long templateId) {
+        Optional<Template> found = templateRepository.findByIdWithChecklistSections(templateId);
+        if (found.isEmpty()) {
+            return found;
+        }
+        Template template = found.get();
+        if (!template.getChecklistSections().isEmpty()) {
+            checklistSectionRepository.findAllWithItemsByTemplateId(templateId);
+        }
+        templateRepository.findByIdWithDaySchedules(templateId);
+        if (!template.getDaySchedules().isEmpty()) {
+            dayScheduleRepository.findAllWithActivitiesByTemplateId(templateId);
+        }
+        return found;
+    }
+}
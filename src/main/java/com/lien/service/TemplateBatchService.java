@@ -0,0 +1,296 @@
+package com.lien.service;
+
+import com.lien.dto.request.ActivityRequest;
+import com.lien.dto.request.TemplateBatchRequest.Operation;
+import com.lien.dto.request.TemplateBatchRequest.OperationType;
+import com.lien.dto.response.TemplateBatchResponse;
+import com.lien.dto.response.TemplateBatchResponse.OperationResult;
+import com.lien.entity.Activity;
+import com.lien.entity.ChecklistSection;
+import com.lien.entity.DaySchedule;
+import com.lien.entity.Location;
+import com.lien.entity.Template;
+import com.lien.mapper.TemplateMapper;
+import com.lien.repository.ActivityRepository;
+import com.lien.repository.ChecklistSectionRepository;
+import com.lien.repository.DayScheduleRepository;
+import com.lien.repository.LocationRepository;
+import com.lien.repository.TemplateRepository;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 편집 화면의 저장 한 번을 한 트랜잭션으로 처리한다. 소유권은 한 번만 확인하고,
+ * 작업이 참조하는 섹션/일정/활동/위치는 종류별 IN 쿼리 한 번씩으로 미리 읽는다.
+ * 작업은 순서대로 적용하며 하나라도 실패하면 전체를 되돌린다.
+ */
+@Service
+@RequiredArgsConstructor
+public class TemplateBatchService
+{
+
+    private final TemplateRepository templateRepository;
+    private final ChecklistSectionRepository checklistSectionRepository;
+    private final DayScheduleRepository dayScheduleRepository;
+    private final ActivityRepository activityRepository;
+    private final LocationRepository locationRepository;
+    private final TemplateMapper templateMapper;
+    private final TemplateAccess templateAccess;
+
+    @Transactional
+    public TemplateBatchResponse apply(Long userId, Long templateId, List<Operation> operations)
+    {
+        templateAccess.checkOwner(templateId, userId);
+        templateAccess.touch(templateId);
+
+        Batch batch = load(userId, templateId, operations);
+        List<OperationResult> results = new ArrayList<>(operations.size());
+        for (int index = 0; index < operations.size(); index++) {
+            try {
+                results.add(apply(batch, index, operations.get(index)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("operations[" + index + "]: " + e.getMessage());
+            }
+        }
+        return new TemplateBatchResponse(results);
+    }
+
+    private Batch load(Long userId, Long templateId, List<Operation> operations)
+    {
+        Set<Long> sectionIds = new HashSet<>();
+        Set<Long> dayIds = new HashSet<>();
+        Set<Long> activityIds = new HashSet<>();
+        Set<Long> locationIds = new HashSet<>();
+        for (Operation operation : operations) {
+            switch (operation.getType()) {
+                case UPDATE_SECTION, DELETE_SECTION -> addIfPresent(sectionIds, operation.getId());
+                case UPDATE_DAY, DELETE_DAY -> addIfPresent(dayIds, operation.getId());
+                case ADD_ACTIVITY -> addIfPresent(dayIds, operation.getDayId());
+                case UPDATE_ACTIVITY, DELETE_ACTIVITY -> addIfPresent(activityIds, operation.getId());
+                default -> {
+                }
+            }
+            if (operation.getActivity() != null) {
+                addIfPresent(locationIds, operation.getActivity().getLocationId());
+                addIfPresent(locationIds, operation.getActivity().getPreviousLocationId());
+            }
+        }
+
+        verifyLocations(userId, locationIds);
+
+        return new Batch(
+                templateRepository.getReferenceById(templateId),
+                byId(sectionIds, ids -> checklistSectionRepository.findByIdInAndTemplateId(ids, templateId),
+                        ChecklistSection::getId),
+                byId(dayIds, ids -> dayScheduleRepository.findByIdInAndTemplateId(ids, templateId),
+                        DaySchedule::getId),
+                byId(activityIds, ids -> activityRepository.findByIdInAndDayScheduleTemplateId(ids, templateId),
+                        Activity::getId),
+                byId(locationIds, locationRepository::findAllById, Location::getId));
+    }
+
+    // 가져오기와 같은 규칙: 공개이거나 본인 위치만 연결할 수 있다
+    private void verifyLocations(Long userId, Set<Long> locationIds)
+    {
+        if (locationIds.isEmpty()) {
+            return;
+        }
+        Set<Long> accessible = new HashSet<>(locationRepository.findAccessibleIds(locationIds, userId));
+        for (Long locationId : locationIds) {
+            if (!accessible.contains(locationId)) {
+                throw new IllegalArgumentException("위치를 찾을 수 없습니다: " + locationId);
+            }
+        }
+    }
+
+    private OperationResult apply(Batch batch, int index, Operation operation)
+    {
+        OperationType type = operation.getType();
+        return switch (type) {
+            case ADD_SECTION -> {
+                ChecklistSection section = checklistSectionRepository.save(
+                        TemplateService.newChecklistSection(batch.template, require(operation.getSection(), "section")));
+                batch.sections.put(section.getId(), section);
+                yield new OperationResult(index, type, section.getId(), templateMapper.toChecklistSectionResponse(section));
+            }
+            case UPDATE_SECTION -> {
+                ChecklistSection section = section(batch, operation);
+                TemplateService.applyChecklistSection(section, require(operation.getSection(), "section"));
+                yield new OperationResult(index, type, section.getId(), templateMapper.toChecklistSectionResponse(section));
+            }
+            case DELETE_SECTION -> {
+                ChecklistSection section = section(batch, operation);
+                batch.sections.remove(section.getId());
+                checklistSectionRepository.delete(section);
+                yield new OperationResult(index, type, section.getId(), null);
+            }
+            case ADD_DAY -> {
+                DaySchedule daySchedule = dayScheduleRepository.save(
+                        TemplateService.newDaySchedule(batch.template, require(operation.getDay(), "day")));
+                batch.days.put(daySchedule.getId(), daySchedule);
+                batch.addedDays.put(index, daySchedule);
+                yield new OperationResult(index, type, daySchedule.getId(), templateMapper.toDayScheduleResponse(daySchedule));
+            }
+            case UPDATE_DAY -> {
+                DaySchedule daySchedule = day(batch, require(operation.getId(), "id"));
+                TemplateService.applyDaySchedule(daySchedule, require(operation.getDay(), "day"));
+                yield new OperationResult(index, type, daySchedule.getId(), templateMapper.toDayScheduleResponse(daySchedule));
+            }
+            case DELETE_DAY -> {
+                DaySchedule daySchedule = day(batch, require(operation.getId(), "id"));
+                batch.days.remove(daySchedule.getId());
+                batch.activities.values()
+                        .removeIf(activity -> activity.getDaySchedule().getId().equals(daySchedule.getId()));
+                dayScheduleRepository.delete(daySchedule);
+                yield new OperationResult(index, type, daySchedule.getId(), null);
+            }
+            case ADD_ACTIVITY -> {
+                DaySchedule daySchedule = targetDay(batch, operation);
+                ActivityRequest request = require(operation.getActivity(), "activity");
+                Activity activity = activityRepository.save(TemplateService.newActivity(
+                        daySchedule, request, location(batch, request), previousLocation(batch, request)));
+                // 같은 요청에서 이 일정을 지우면 활동도 함께 지워지도록 컬렉션에 연결한다
+                daySchedule.getActivities().add(activity);
+                batch.activities.put(activity.getId(), activity);
+                yield new OperationResult(index, type, activity.getId(), templateMapper.toActivityResponse(activity));
+            }
+            case UPDATE_ACTIVITY -> {
+                Activity activity = activity(batch, operation);
+                ActivityRequest request = require(operation.getActivity(), "activity");
+                TemplateService.applyActivity(activity, request, location(batch, request), previousLocation(batch, request));
+                yield new OperationResult(index, type, activity.getId(), templateMapper.toActivityResponse(activity));
+            }
+            case DELETE_ACTIVITY -> {
+                Activity activity = activity(batch, operation);
+                batch.activities.remove(activity.getId());
+                // 이미 읽힌 컬렉션에서만 떼어낸다. 읽히지 않은 컬렉션을 위해 쿼리를 더 내지 않는다
+                if (Hibernate.isInitialized(activity.getDaySchedule().getActivities())) {
+                    activity.getDaySchedule().getActivities().remove(activity);
+                }
+                activityRepository.delete(activity);
+                yield new OperationResult(index, type, activity.getId(), null);
+            }
+        };
+    }
+
+    private static ChecklistSection section(Batch batch, Operation operation)
+    {
+        ChecklistSection section = batch.sections.get(require(operation.getId(), "id"));
+        if (section == null) {
+            throw new IllegalArgumentException("섹션을 찾을 수 없습니다");
+        }
+        return section;
+    }
+
+    private static DaySchedule day(Batch batch, Long dayId)
+    {
+        DaySchedule daySchedule = batch.days.get(dayId);
+        if (daySchedule == null) {
+            throw new IllegalArgumentException("일정을 찾을 수 없습니다");
+        }
+        return daySchedule;
+    }
+
+    private static DaySchedule targetDay(Batch batch, Operation operation)
+    {
+        if (operation.getDayRef() != null) {
+            DaySchedule daySchedule = batch.addedDays.get(operation.getDayRef());
+            if (daySchedule == null || !batch.days.containsKey(daySchedule.getId())) {
+                throw new IllegalArgumentException("일정을 찾을 수 없습니다");
+            }
+            return daySchedule;
+        }
+        return day(batch, require(operation.getDayId(), "dayId"));
+    }
+
+    private static Activity activity(Batch batch, Operation operation)
+    {
+        Activity activity = batch.activities.get(require(operation.getId(), "id"));
+        if (activity == null) {
+            throw new IllegalArgumentException("활동을 찾을 수 없습니다");
+        }
+        if (operation.getDayId() != null && !activity.getDaySchedule().getId().equals(operation.getDayId())) {
+            throw new IllegalArgumentException("잘못된 요청입니다");
+        }
+        return activity;
+    }
+
+    private static Location location(Batch batch, ActivityRequest request)
+    {
+        Location location = batch.locations.get(request.getLocationId());
+        if (location == null) {
+            throw new IllegalArgumentException("위치를 찾을 수 없습니다");
+        }
+        return location;
+    }
+
+    private static Location previousLocation(Batch batch, ActivityRequest request)
+    {
+        if (request.getPreviousLocationId() == null) {
+            return null;
+        }
+        Location location = batch.locations.get(request.getPreviousLocationId());
+        if (location == null) {
+            throw new IllegalArgumentException("이전 위치를 찾을 수 없습니다");
+        }
+        return location;
+    }
+
+    private static <T> T require(T value, String field)
+    {
+        if (value == null) {
+            throw new IllegalArgumentException(field + " 이(가) 필요합니다");
+        }
+        return value;
+    }
+
+    private static void addIfPresent(Set<Long> ids, Long id)
+    {
+        if (id != null) {
+            ids.add(id);
+        }
+    }
+
+    private static <T> Map<Long, T> byId(
+        Set<Long> ids,
+        Function<Collection<Long>, List<T>> loader,
+        Function<T, Long> idOf
+    ) {
+        if (ids.isEmpty()) {
+            return new HashMap<>();
+        }
+        return loader.apply(ids).stream()
+                .collect(Collectors.toMap(idOf, Function.identity(), (a, b) -> a, HashMap::new));
+    }
+
+    private record Batch(
+        Template template,
+        Map<Long, ChecklistSection> sections,
+        Map<Long, DaySchedule> days,
+        Map<Long, Activity> activities,
+        Map<Long, Location> locations,
+        Map<Integer, DaySchedule> addedDays
+    ) {
+        Batch(
+            Template template,
+            Map<Long, ChecklistSection> sections,
+            Map<Long, DaySchedule> days,
+            Map<Long, Activity> activities,
+            Map<Long, Location> locations
+        ) {
+            this(template, sections, days, activities, locations, new HashMap<>());
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.lien.service;
+
+import com.lien.cache.TemplateCountCache;
+import com.lien.dto.request.TemplateCloneRequest;
+import com.lien.dto.response.TemplateResponse;
+import com.lien.entity.IdSequences;
+import com.lien.mapper.TemplateMapper;
+import com.lien.repository.TemplateRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 템플릿 복제. 엔티티를 읽지 않고 테이블마다 INSERT ... SELECT 한 문장으로 복사하므로
+ * 일정 길이와 상관없이 문장 수가 일정하다. 새 id 는 IdRangeAllocator 로 미리 예약한 연속 구간에서
+ * 원본 id 순서대로 매기고, 자식 테이블은 같은 규칙으로 부모의 원본 id -> 새 id 를 계산해 연결한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class TemplateCloneService
+{
+
+    private final JdbcClient jdbcClient;
+    private final IdRangeAllocator idRangeAllocator;
+    private final TemplateRepository templateRepository;
+    private final TemplateMapper templateMapper;
+    private final TemplateCountCache templateCountCache;
+
+    @Transactional
+    public TemplateResponse cloneTemplate(Long userId, Long templateId, TemplateCloneRequest request)
+    {
+        // 원본 행을 잠가 두면 편집(버전 갱신으로 같은 행을 잠근다)이 끝날 때까지 기다리므로
+        // 아래에서 센 행 수와 실제로 복사하는 행 수가 어긋나지 않는다
+        Source source = jdbcClient.sql("SELECT user_id, title, start_date FROM templates WHERE id = :id FOR UPDATE")
+                .param("id", templateId)
+                .query((rs, rowNum) -> new Source(
+                        rs.getLong("user_id"), rs.getString("title"), rs.getObject("start_date", LocalDate.class)))
+                .optional()
+                .orElseThrow(() -> new IllegalArgumentException("템플릿을 찾을 수 없습니다"));
+        if (source.ownerId() != userId) {
+            throw new IllegalArgumentException("권한이 없습니다");
+        }
+
+        Counts counts = jdbcClient.sql("""
+                        SELECT (SELECT COUNT(*) FROM checklist_sections WHERE template_id = :id) AS sections,
+                               (SELECT COUNT(*) FROM checklist_items i JOIN checklist_sections cs ON cs.id = i.section_id
+                                 WHERE cs.template_id = :id) AS items,
+                               (SELECT COUNT(*) FROM day_schedules WHERE template_id = :id) AS days,
+                               (SELECT COUNT(*) FROM activities a JOIN day_schedules ds ON ds.id = a.day_schedule_id
+                                 WHERE ds.template_id = :id) AS activities
+                        """)
+                .param("id", templateId)
+                .query((rs, rowNum) -> new Counts(
+                        rs.getLong("sections"), rs.getLong("items"), rs.getLong("days"), rs.getLong("activities")))
+                .single();
+
+        long dayShift = request != null && request.getStartDate() != null
+                ? ChronoUnit.DAYS.between(source.startDate(), request.getStartDate())
+                : 0;
+        String title = request != null && request.getTitle() != null ? request.getTitle() : source.title();
+        LocalDateTime now = LocalDateTime.now();
+
+        long newTemplateId = idRangeAllocator.allocate(IdSequences.TEMPLATES, 1);
+        jdbcClient.sql("INSERT INTO templates (id, user_id, title, destination, start_date, end_date, total_days,"
+                        + " accommodation, transportation, aggregate_version, created_at, updated_at)"
+                        + " SELECT :newId, user_id, :title, destination, " + shifted("start_date", dayShift) + ", "
+                        + shifted("end_date", dayShift) + ", total_days, accommodation, transportation, 0, :now, :now"
+                        + " FROM templates WHERE id = :id")
+                .param("newId", newTemplateId)
+                .param("title", title)
+                .param("now", now)
+                .param("id", templateId)
+                .update();
+
+        if (counts.sections() > 0) {
+            long sectionBase = idRangeAllocator.allocate(IdSequences.CHECKLIST_SECTIONS, counts.sections());
+            copy(counts.sections(), templateId, """
+                    INSERT INTO checklist_sections (id, template_id, title, icon, order_index, rank_key)
+                    SELECT %s, %d, title, icon, order_index, rank_key
+                      FROM checklist_sections WHERE template_id = :id
+                    """.formatted(newId("id", sectionBase), newTemplateId));
+
+            if (counts.items() > 0) {
+                long itemBase = idRangeAllocator.allocate(IdSequences.CHECKLIST_ITEMS, counts.items());
+                copy(counts.items(), templateId, """
+                        INSERT INTO checklist_items (id, section_id, label, order_index)
+                        SELECT %s, s.new_id, i.label, i.order_index
+                          FROM checklist_items i JOIN (%s) s ON s.old_id = i.section_id
+                        """.formatted(newId("i.id", itemBase), idMapping("checklist_sections", sectionBase)));
+            }
+        }
+
+        if (counts.days() > 0) {
+            long dayBase = idRangeAllocator.allocate(IdSequences.DAY_SCHEDULES, counts.days());
+            copy(counts.days(), templateId, """
+                    INSERT INTO day_schedules (id, template_id, day_number, date, title, color)
+                    SELECT %s, %d, day_number, %s, title, color
+                      FROM day_schedules WHERE template_id = :id
+                    """.formatted(newId("id", dayBase), newTemplateId, shifted("date", dayShift)));
+
+            if (counts.activities() > 0) {
+                long activityBase = idRangeAllocator.allocate(IdSequences.ACTIVITIES, counts.activities());
+                copy(counts.activities(), templateId, """
+                        INSERT INTO activities (id, day_schedule_id, time, description, location_id,
+                                                previous_location_id, order_index, rank_key)
+                        SELECT %s, d.new_id, a.time, a.description, a.location_id,
+                               a.previous_location_id, a.order_index, a.rank_key
+                          FROM activities a JOIN (%s) d ON d.old_id = a.day_schedule_id
+                        """.formatted(newId("a.id", activityBase), idMapping("day_schedules", dayBase)));
+            }
+        }
+
+        templateCountCache.invalidate(userId);
+        return templateMapper.toResponse(templateRepository.findById(newTemplateId)
+                .orElseThrow(() -> new IllegalStateException("복제한 템플릿을 찾을 수 없습니다: " + newTemplateId)));
+    }
+
+    // 예약한 구간을 넘겨 쓰면 다른 요청의 id 와 겹치므로 행 수가 다르면 롤백한다
+    private void copy(long expectedRows, Long templateId, String sql)
+    {
+        int inserted = jdbcClient.sql(sql)
+                .param("id", templateId)
+                .update();
+        if (inserted != expectedRows) {
+            throw new IllegalStateException("복제 중 행 수가 달라졌습니다: " + expectedRows + " -> " + inserted);
+        }
+    }
+
+    // 문장에는 계산한 정수만 직접 넣는다
+    private static String newId(String idColumn, long base)
+    {
+        return "ROW_NUMBER() OVER (ORDER BY " + idColumn + ") + " + (base - 1);
+    }
+
+    private static String idMapping(String table, long base)
+    {
+        return "SELECT id AS old_id, " + newId("id", base) + " AS new_id FROM " + table + " WHERE template_id = :id";
+    }
+
+    private static String shifted(String dateColumn, long days)
+    {
+        return days == 0 ? dateColumn : dateColumn + " + INTERVAL '" + days + "' DAY";
+    }
+
+    private record Source(long ownerId, String title, LocalDate startDate)
+    {
+    }
+
+    private record Counts(long sections, long items, long days, long activities)
+    {
+    }
+}
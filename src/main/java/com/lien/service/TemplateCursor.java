@@ -0,0 +1,62 @@
+package com.lien.service;
+
+import com.lien.dto.request.TemplateListSort;
+import com.lien.dto.response.TemplateSummaryResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 목록 커서. 마지막 행의 (정렬 값, id) 와 정렬 종류를 담아 URL 에 그대로 쓸 수 있게 인코딩한다.
+ */
+record TemplateCursor(TemplateListSort sort, String value, long id)
+{
+
+    static TemplateCursor after(TemplateListSort sort, TemplateSummaryResponse last)
+    {
+        String value = switch (sort) {
+            case UPDATED_AT -> last.updatedAt().toString();
+            case START_DATE -> last.startDate().toString();
+        };
+        return new TemplateCursor(sort, value, last.id());
+    }
+
+    static TemplateCursor decode(String cursor, TemplateListSort sort)
+    {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 3);
+            if (parts.length != 3 || !parts[0].equals(sort.name())) {
+                throw new IllegalArgumentException("잘못된 커서입니다");
+            }
+            TemplateCursor decoded = new TemplateCursor(sort, parts[1], Long.parseLong(parts[2]));
+            // 값 형식은 여기서 확인해 둔다
+            switch (sort) {
+                case UPDATED_AT -> decoded.updatedAt();
+                case START_DATE -> decoded.startDate();
+            }
+            return decoded;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // NumberFormatException 과 잘못된 Base64 도 IllegalArgumentException 이다
+            throw new IllegalArgumentException("잘못된 커서입니다");
+        }
+    }
+
+    String encode()
+    {
+        String raw = sort.name() + "|" + value + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    LocalDateTime updatedAt()
+    {
+        return LocalDateTime.parse(value);
+    }
+
+    LocalDate startDate()
+    {
+        return LocalDate.parse(value);
+    }
+}
@@ -0,0 +1,198 @@
+package com.lien.service;
+
+import com.lien.dto.response.ActivityResponse;
+import com.lien.dto.response.ChecklistItemResponse;
+import com.lien.dto.response.ChecklistSectionResponse;
+import com.lien.dto.response.DayScheduleResponse;
+import com.lien.dto.response.LocationResponse;
+import com.lien.dto.response.TemplateDetailResponse;
+import com.lien.dto.response.TemplateResponse;
+import com.lien.entity.LocationCategory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Hibernate 를 거치지 않는 템플릿 상세 조회 경로. 정렬된 조인 결과를 한 행씩 읽으면서
+ * 엔티티를 거치지 않고 응답 DTO 트리를 바로 조립한다. 행마다 만드는 객체는 응답에 들어가는 것뿐이다.
+ * 활동과 섹션의 orderIndex 는 TemplateMapper 와 같이 rank_key 순서의 자리로 채운다.
+ */
+@Component
+@RequiredArgsConstructor
+public class TemplateDetailJdbcReader {
+
+    private static final String ITINERARY_SQL = """
+            SELECT t.id AS t_id, t.user_id AS t_user_id, t.title AS t_title, t.destination AS t_destination,
+                   t.start_date AS t_start_date, t.end_date AS t_end_date, t.total_days AS t_total_days,
+                   t.accommodation AS t_accommodation, t.transportation AS t_transportation,
+                   t.created_at AS t_created_at, t.updated_at AS t_updated_at,
+                   ds.id AS ds_id, ds.day_number AS ds_day_number, ds.date AS ds_date,
+                   ds.title AS ds_title, ds.color AS ds_color,
+                   a.id AS a_id, a.time AS a_time, a.description AS a_description,
+                   l.id AS l_id, l.name AS l_name, l.category AS l_category, l.latitude AS l_latitude,
+                   l.longitude AS l_longitude, l.address AS l_address, l.description AS l_description,
+                   l.is_public AS l_is_public, l.created_at AS l_created_at,
+                   pl.id AS pl_id, pl.name AS pl_name, pl.category AS pl_category, pl.latitude AS pl_latitude,
+                   pl.longitude AS pl_longitude, pl.address AS pl_address
+            FROM templates t
+            LEFT JOIN day_schedules ds ON ds.template_id = t.id
+            LEFT JOIN activities a ON a.day_schedule_id = ds.id
+            LEFT JOIN locations l ON l.id = a.location_id
+            LEFT JOIN locations pl ON pl.id = a.previous_location_id
+            WHERE t.id = :templateId
+            ORDER BY ds.id, a.rank_key, a.order_index, a.id
+            """;
+
+    private static final String CHECKLIST_SQL = """
+            SELECT cs.id AS cs_id, cs.title AS cs_title, cs.icon AS cs_icon,
+                   i.id AS i_id, i.label AS i_label, i.order_index AS i_order_index
+            FROM checklist_sections cs
+            LEFT JOIN checklist_items i ON i.section_id = cs.id
+            WHERE cs.template_id = :templateId
+            ORDER BY cs.rank_key, cs.id, i.order_index, i.id
+            """;
+
+    private final JdbcClient jdbcClient;
+
+    /**
+     * 상세 응답과, 권한 확인에 쓰는 소유자 id.
+     */
+    public record OwnedDetail(Long ownerId, TemplateDetailResponse detail) {
+    }
+
+    public Optional<OwnedDetail> read(Long templateId) {
+        ItineraryAssembler itinerary = new ItineraryAssembler();
+        jdbcClient.sql(ITINERARY_SQL)
+                .param("templateId", templateId)
+                .query(itinerary);
+        if (itinerary.template == null) {
+            return Optional.empty();
+        }
+
+        ChecklistAssembler checklist = new ChecklistAssembler();
+        jdbcClient.sql(CHECKLIST_SQL)
+                .param("templateId", templateId)
+                .query(checklist);
+        return Optional.of(new OwnedDetail(itinerary.ownerId,
+                new TemplateDetailResponse(itinerary.template, checklist.sections, itinerary.days)));
+    }
+
+    // 행은 일정 id, 활동 순서로 정렬되어 오므로 직전 일정과 id 가 같은지만 보면 된다
+    private static final class ItineraryAssembler implements RowCallbackHandler {
+
+        private Long ownerId;
+        private TemplateResponse template;
+        private final List<DayScheduleResponse> days = new ArrayList<>();
+        private DayScheduleResponse currentDay;
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            if (template == null) {
+                ownerId = rs.getLong("t_user_id");
+                template = TemplateResponse.builder()
+                        .id(rs.getLong("t_id"))
+                        .title(rs.getString("t_title"))
+                        .destination(rs.getString("t_destination"))
+                        .startDate(rs.getObject("t_start_date", LocalDate.class))
+                        .endDate(rs.getObject("t_end_date", LocalDate.class))
+                        .totalDays(rs.getInt("t_total_days"))
+                        .accommodation(rs.getString("t_accommodation"))
+                        .transportation(rs.getString("t_transportation"))
+                        .createdAt(rs.getObject("t_created_at", LocalDateTime.class))
+                        .updatedAt(rs.getObject("t_updated_at", LocalDateTime.class))
+                        .build();
+            }
+
+            long dayId = rs.getLong("ds_id");
+            if (rs.wasNull()) {
+                return;
+            }
+            if (currentDay == null || currentDay.id() != dayId) {
+                currentDay = new DayScheduleResponse(
+                        dayId,
+                        rs.getInt("ds_day_number"),
+                        rs.getObject("ds_date", LocalDate.class),
+                        rs.getString("ds_title"),
+                        rs.getString("ds_color"),
+                        new ArrayList<>());
+                days.add(currentDay);
+            }
+
+            long activityId = rs.getLong("a_id");
+            if (rs.wasNull()) {
+                return;
+            }
+            currentDay.activities().add(new ActivityResponse(
+                    activityId,
+                    rs.getString("a_time"),
+                    rs.getString("a_description"),
+                    LocationResponse.builder()
+                            .id(rs.getLong("l_id"))
+                            .name(rs.getString("l_name"))
+                            .category(LocationCategory.valueOf(rs.getString("l_category")))
+                            .latitude(rs.getDouble("l_latitude"))
+                            .longitude(rs.getDouble("l_longitude"))
+                            .address(rs.getString("l_address"))
+                            .description(rs.getString("l_description"))
+                            .isPublic(rs.getBoolean("l_is_public"))
+                            .createdAt(rs.getObject("l_created_at", LocalDateTime.class))
+                            .build(),
+                    previousLocation(rs),
+                    currentDay.activities().size()));
+        }
+
+        // TemplateMapper#toPreviousLocationResponse 와 같이 요약 필드만 채운다
+        private static LocationResponse previousLocation(ResultSet rs) throws SQLException {
+            long id = rs.getLong("pl_id");
+            if (rs.wasNull()) {
+                return null;
+            }
+            return LocationResponse.builder()
+                    .id(id)
+                    .name(rs.getString("pl_name"))
+                    .category(LocationCategory.valueOf(rs.getString("pl_category")))
+                    .latitude(rs.getDouble("pl_latitude"))
+                    .longitude(rs.getDouble("pl_longitude"))
+                    .address(rs.getString("pl_address"))
+                    .build();
+        }
+    }
+
+    private static final class ChecklistAssembler implements RowCallbackHandler {
+
+        private final List<ChecklistSectionResponse> sections = new ArrayList<>();
+        private ChecklistSectionResponse currentSection;
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long sectionId = rs.getLong("cs_id");
+            if (currentSection == null || currentSection.id() != sectionId) {
+                currentSection = new ChecklistSectionResponse(
+                        sectionId,
+                        rs.getString("cs_title"),
+                        rs.getString("cs_icon"),
+                        sections.size(),
+                        new ArrayList<>());
+                sections.add(currentSection);
+            }
+
+            long itemId = rs.getLong("i_id");
+            if (rs.wasNull()) {
+                return;
+            }
+            currentSection.items().add(new ChecklistItemResponse(
+                    itemId,
+                    rs.getString("i_label"),
+                    rs.getInt("i_order_index")));
+        }
+    }
+}
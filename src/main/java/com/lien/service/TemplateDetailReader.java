@@ -0,0 +1,63 @@
+package com.lien.service;
+
+import com.lien.entity.Template;
+import com.lien.mapper.StreamingTemplateDetail;
+import com.lien.mapper.TemplateMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * 템플릿 상세 조회 경로 선택. jpa 는 {@link TemplateAggregateLoader}, jdbc 는
+ * {@link TemplateDetailJdbcReader} 를 사용한다 (lien.template.detail.read-strategy).
+ * jdbc 는 결과 행에서 응답 DTO 를 바로 만든다. jpa 는 읽은 엔티티 그래프를 변환하며,
+ * lien.template.detail.streaming-json 이 켜져 있으면 응답 DTO 를 만들지 않고 바로 JSON 으로 쓴다.
+ */
+@Component
+public class TemplateDetailReader {
+
+    public enum Strategy {
+        JPA, JDBC
+    }
+
+    /**
+     * 응답 본문(TemplateDetailResponse 또는 StreamingTemplateDetail)과 권한 확인에 쓰는 소유자 id.
+     */
+    public record Detail(Long ownerId, Object body) {
+    }
+
+    private final TemplateAggregateLoader aggregateLoader;
+    private final TemplateDetailJdbcReader jdbcReader;
+    private final TemplateMapper templateMapper;
+    private final Strategy strategy;
+    private final boolean streamingJson;
+
+    public TemplateDetailReader(
+            TemplateAggregateLoader aggregateLoader,
+            TemplateDetailJdbcReader jdbcReader,
+            TemplateMapper templateMapper,
+            @Value("${lien.template.detail.read-strategy:jpa}") Strategy strategy,
+            @Value("${lien.template.detail.streaming-json:false}") boolean streamingJson) {
+        this.aggregateLoader = aggregateLoader;
+        this.jdbcReader = jdbcReader;
+        this.templateMapper = templateMapper;
+        this.strategy = strategy;
+        this.streamingJson = streamingJson;
+    }
+
+    public Optional<Detail> read(Long templateId) {
+        if (strategy == Strategy.JDBC) {
+            return jdbcReader.read(templateId)
+                    .map(found -> new Detail(found.ownerId(), found.detail()));
+        }
+        return aggregateLoader.load(templateId)
+                .map(template -> new Detail(template.getUser().getId(), toBody(template)));
+    }
+
+    private Object toBody(Template template) {
+        return streamingJson
+                ? new StreamingTemplateDetail(template)
+                : templateMapper.toDetailResponse(template);
+    }
+}
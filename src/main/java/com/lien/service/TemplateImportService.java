@@ -0,0 +1,277 @@
+package com.lien.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lien.cache.TemplateCountCache;
+import com.lien.dto.request.ActivityRequest;
+import com.lien.dto.request.ChecklistSectionRequest;
+import com.lien.dto.request.DayScheduleImportRequest;
+import com.lien.dto.request.TemplateCreateRequest;
+import com.lien.dto.response.TemplateResponse;
+import com.lien.entity.ChecklistSection;
+import com.lien.entity.DaySchedule;
+import com.lien.entity.Location;
+import com.lien.entity.Template;
+import com.lien.mapper.TemplateMapper;
+import com.lien.repository.LocationRepository;
+import com.lien.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 일정 전체(템플릿, 체크리스트, 일자별 활동)를 한 트랜잭션에서 만든다.
+ * 본문은 스트리밍으로 읽어 요소 단위로 검증하고, 일정 행 수마다 flush/clear 하므로
+ * 큰 요청도 전체를 메모리에 올리지 않는다. template 필드가 가장 먼저 와야 한다.
+ * <pre>
+ * {"template": {...}, "checklistSections": [...], "daySchedules": [{..., "activities": [...]}]}
+ * </pre>
+ */
+@Service
+@RequiredArgsConstructor
+public class TemplateImportService
+{
+
+    // 이 행 수마다 flush/clear 한다. 활동의 위치 검증도 이 단위로 IN 쿼리 한 번
+    private static final int FLUSH_ROWS = 500;
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final UserRepository userRepository;
+    private final LocationRepository locationRepository;
+    private final TemplateMapper templateMapper;
+    private final TemplateCountCache templateCountCache;
+
+    @Transactional
+    public TemplateResponse importTemplate(Long userId, InputStream body)
+    {
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("잘못된 요청 형식입니다");
+            }
+
+            ImportContext context = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "template" -> {
+                        if (context != null) {
+                            throw new IllegalArgumentException("template 은 한 번만 올 수 있습니다");
+                        }
+                        context = new ImportContext(userId,
+                                createTemplate(userId, read(parser, TemplateCreateRequest.class, "template")));
+                    }
+                    case "checklistSections" -> importSections(requireTemplate(context), parser);
+                    case "daySchedules" -> importDays(requireTemplate(context), parser);
+                    default -> parser.skipChildren();
+                }
+            }
+
+            ImportContext imported = requireTemplate(context);
+            flushAndClear(imported);
+            templateCountCache.invalidate(userId);
+            return templateMapper.toResponse(imported.template);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("잘못된 요청 형식입니다: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Template createTemplate(Long userId, TemplateCreateRequest request)
+    {
+        Template template = Template.builder()
+                .user(userRepository.getReferenceById(userId))
+                .title(request.getTitle())
+                .destination(request.getDestination())
+                .startDate(request.getStartDate())
+                .endDate(request.getEndDate())
+                .totalDays(request.getTotalDays())
+                .accommodation(request.getAccommodation())
+                .transportation(request.getTransportation())
+                .build();
+
+        entityManager.persist(template);
+        return template;
+    }
+
+    private void importSections(ImportContext context, JsonParser parser) throws IOException
+    {
+        expectArray(parser, "checklistSections");
+        int index = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            ChecklistSectionRequest request =
+                    read(parser, ChecklistSectionRequest.class, "checklistSections[" + index++ + "]");
+
+            ChecklistSection section =
+                    TemplateService.newChecklistSection(context.templateReference(entityManager), request);
+            entityManager.persist(section);
+            context.unflushedRows += 1 + section.getItems().size();
+            if (context.unflushedRows >= FLUSH_ROWS) {
+                flushAndClear(context);
+            }
+        }
+    }
+
+    // 위치를 한꺼번에 검증해야 하므로 일자는 FLUSH_ROWS 만큼 모았다가 쓴다
+    private void importDays(ImportContext context, JsonParser parser) throws IOException
+    {
+        expectArray(parser, "daySchedules");
+        List<DayScheduleImportRequest> pending = new ArrayList<>();
+        int pendingRows = 0;
+        int index = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            DayScheduleImportRequest request =
+                    read(parser, DayScheduleImportRequest.class, "daySchedules[" + index++ + "]");
+            pending.add(request);
+            pendingRows += 1 + activitiesOf(request).size();
+            if (pendingRows >= FLUSH_ROWS) {
+                writeDays(context, pending);
+                pending.clear();
+                pendingRows = 0;
+            }
+        }
+        writeDays(context, pending);
+    }
+
+    private void writeDays(ImportContext context, List<DayScheduleImportRequest> requests)
+    {
+        if (requests.isEmpty()) {
+            return;
+        }
+        verifyLocations(context, requests);
+
+        for (DayScheduleImportRequest request : requests) {
+            DaySchedule daySchedule =
+                    TemplateService.newDaySchedule(context.templateReference(entityManager), request);
+
+            for (ActivityRequest activityRequest : activitiesOf(request)) {
+                daySchedule.getActivities().add(TemplateService.newActivity(
+                        daySchedule,
+                        activityRequest,
+                        entityManager.getReference(Location.class, activityRequest.getLocationId()),
+                        activityRequest.getPreviousLocationId() != null
+                                ? entityManager.getReference(Location.class, activityRequest.getPreviousLocationId())
+                                : null));
+            }
+
+            entityManager.persist(daySchedule);
+            context.unflushedRows += 1 + daySchedule.getActivities().size();
+        }
+        flushAndClear(context);
+    }
+
+    // 아직 확인하지 않은 위치 id 만 모아 IN 쿼리 한 번으로 존재 여부와 접근 권한을 확인한다
+    private void verifyLocations(ImportContext context, List<DayScheduleImportRequest> requests)
+    {
+        Set<Long> unverified = new LinkedHashSet<>();
+        for (DayScheduleImportRequest request : requests) {
+            for (ActivityRequest activity : activitiesOf(request)) {
+                unverified.add(activity.getLocationId());
+                if (activity.getPreviousLocationId() != null) {
+                    unverified.add(activity.getPreviousLocationId());
+                }
+            }
+        }
+        unverified.removeAll(context.verifiedLocationIds);
+        if (unverified.isEmpty()) {
+            return;
+        }
+
+        Set<Long> accessible = new HashSet<>(locationRepository.findAccessibleIds(unverified, context.userId));
+        for (Long locationId : unverified) {
+            if (!accessible.contains(locationId)) {
+                throw new IllegalArgumentException("위치를 찾을 수 없습니다: " + locationId);
+            }
+        }
+        context.verifiedLocationIds.addAll(accessible);
+    }
+
+    private <T> T read(JsonParser parser, Class<T> type, String path) throws IOException
+    {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException(path + " 는 객체여야 합니다");
+        }
+        T value = parser.readValueAs(type);
+
+        validator.validate(value).stream()
+                .min(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .ifPresent(violation -> {
+                    throw new IllegalArgumentException(describe(path, violation));
+                });
+        return value;
+    }
+
+    private static String describe(String path, ConstraintViolation<?> violation)
+    {
+        return path + "." + violation.getPropertyPath() + ": " + violation.getMessage();
+    }
+
+    private static void expectArray(JsonParser parser, String field)
+    {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException(field + " 는 배열이어야 합니다");
+        }
+    }
+
+    private static ImportContext requireTemplate(ImportContext context)
+    {
+        if (context == null) {
+            throw new IllegalArgumentException("template 이 가장 먼저 와야 합니다");
+        }
+        return context;
+    }
+
+    private static List<ActivityRequest> activitiesOf(DayScheduleImportRequest request)
+    {
+        return request.getActivities() != null ? request.getActivities() : List.of();
+    }
+
+    private void flushAndClear(ImportContext context)
+    {
+        if (context.unflushedRows == 0) {
+            return;
+        }
+        entityManager.flush();
+        entityManager.clear();
+        context.unflushedRows = 0;
+    }
+
+    private static final class ImportContext
+    {
+        private final Long userId;
+        private final Template template;
+        private final Set<Long> verifiedLocationIds = new HashSet<>();
+        private int unflushedRows;
+
+        private ImportContext(Long userId, Template template)
+        {
+            this.userId = userId;
+            this.template = template;
+            this.unflushedRows = 1;
+        }
+
+        // clear 이후에는 처음 저장한 인스턴스가 분리되므로 자식은 참조 프록시에 연결한다
+        private Template templateReference(EntityManager entityManager)
+        {
+            return entityManager.getReference(Template.class, template.getId());
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.lien.service;
+
+import com.lien.dto.request.MoveRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 드래그 앤 드롭 이동. 옮기는 행의 rank_key(와 활동이면 일정)만 UPDATE 한 문장으로 바꾸고
+ * 나머지 형제는 건드리지 않는다. 키 계산과 쓰기는 부모 행 잠금 아래에서 한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class TemplateOrderService
+{
+
+    private final JdbcClient jdbcClient;
+    private final TemplateAccess templateAccess;
+    private final RankRebalancer rankRebalancer;
+
+    @Transactional
+    public void moveActivities(Long userId, Long templateId, MoveRequest request)
+    {
+        templateAccess.checkOwner(templateId, userId);
+        if (request.getDayId() == null) {
+            throw new IllegalArgumentException("dayId 가 필요합니다");
+        }
+
+        boolean dayInTemplate = jdbcClient.sql("SELECT id FROM day_schedules WHERE id = :dayId AND template_id = :templateId")
+                .param("dayId", request.getDayId())
+                .param("templateId", templateId)
+                .query(Long.class)
+                .optional()
+                .isPresent();
+        if (!dayInTemplate) {
+            throw new IllegalArgumentException("일정을 찾을 수 없습니다");
+        }
+
+        move(RankedSiblings.ACTIVITIES, templateId, request.getDayId(), request,
+                "day_schedule_id IN (SELECT id FROM day_schedules WHERE template_id = :templateId)");
+    }
+
+    @Transactional
+    public void moveChecklistSections(Long userId, Long templateId, MoveRequest request)
+    {
+        templateAccess.checkOwner(templateId, userId);
+        move(RankedSiblings.CHECKLIST_SECTIONS, templateId, templateId, request, "template_id = :templateId");
+    }
+
+    private void move(RankedSiblings siblings, Long templateId, Long parentId, MoveRequest request, String memberClause)
+    {
+        List<Long> ids = request.getIds();
+        if (new HashSet<>(ids).size() != ids.size()) {
+            throw new IllegalArgumentException("중복된 id 가 있습니다");
+        }
+        if ((request.getAfterId() != null && ids.contains(request.getAfterId()))
+                || (request.getBeforeId() != null && ids.contains(request.getBeforeId()))) {
+            throw new IllegalArgumentException("옮기는 항목을 기준으로 삼을 수 없습니다");
+        }
+
+        rankRebalancer.lockParent(siblings, parentId);
+        // 도입 이전 행(키 없음)이 남아 있으면 먼저 다시 매긴다
+        long unranked = jdbcClient.sql("SELECT COUNT(*) FROM " + siblings.table
+                        + " WHERE " + siblings.parentColumn + " = :parentId AND rank_key IS NULL")
+                .param("parentId", parentId)
+                .query(Long.class)
+                .single();
+        if (unranked > 0) {
+            rankRebalancer.rebalance(siblings, parentId);
+        }
+
+        String[] bounds = bounds(siblings, parentId, request);
+        if (bounds[0] != null && bounds[1] != null && bounds[0].compareTo(bounds[1]) >= 0) {
+            // 같은 키를 가진 형제가 기준이면 한 번 다시 매긴 뒤 계산한다
+            rankRebalancer.rebalance(siblings, parentId);
+            bounds = bounds(siblings, parentId, request);
+        }
+        if (bounds[0] != null && bounds[1] != null && bounds[0].compareTo(bounds[1]) >= 0) {
+            throw new IllegalArgumentException("기준 항목의 순서가 잘못되었습니다");
+        }
+
+        List<String> keys = RankKeys.between(bounds[0], bounds[1], ids.size());
+        Map<Long, String> keyById = new LinkedHashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            keyById.put(ids.get(i), keys.get(i));
+        }
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("ids", ids);
+        params.put("parentId", parentId);
+        params.put("templateId", templateId);
+        int updated = jdbcClient.sql("UPDATE " + siblings.table
+                        + " SET " + siblings.parentColumn + " = :parentId, rank_key = " + RankRebalancer.keyCase(keyById, params)
+                        + " WHERE id IN (:ids) AND " + memberClause)
+                .params(params)
+                .update();
+        if (updated != ids.size()) {
+            throw new IllegalArgumentException("항목을 찾을 수 없습니다");
+        }
+
+        templateAccess.touch(templateId);
+    }
+
+    // 새 키가 들어갈 [아래, 위] 경계. 옮기는 행은 이웃 계산에서 뺀다
+    private String[] bounds(RankedSiblings siblings, Long parentId, MoveRequest request)
+    {
+        String lower;
+        String upper;
+        if (request.getAfterId() != null) {
+            lower = anchorKey(siblings, parentId, request.getAfterId());
+            upper = request.getBeforeId() != null
+                    ? anchorKey(siblings, parentId, request.getBeforeId())
+                    : neighbourKey(siblings, parentId, request.getIds(), "MIN", "rank_key > :key", lower);
+        } else if (request.getBeforeId() != null) {
+            upper = anchorKey(siblings, parentId, request.getBeforeId());
+            lower = neighbourKey(siblings, parentId, request.getIds(), "MAX", "rank_key < :key", upper);
+        } else {
+            lower = neighbourKey(siblings, parentId, request.getIds(), "MAX", "1 = 1", null);
+            upper = null;
+        }
+        return new String[] {lower, upper};
+    }
+
+    private String anchorKey(RankedSiblings siblings, Long parentId, Long anchorId)
+    {
+        return jdbcClient.sql("SELECT rank_key FROM " + siblings.table
+                        + " WHERE id = :id AND " + siblings.parentColumn + " = :parentId")
+                .param("id", anchorId)
+                .param("parentId", parentId)
+                .query(String.class)
+                .optional()
+                .orElseThrow(() -> new IllegalArgumentException("기준 항목을 찾을 수 없습니다"));
+    }
+
+    private String neighbourKey(
+        RankedSiblings siblings,
+        Long parentId,
+        List<Long> movingIds,
+        String aggregate,
+        String condition,
+        String key
+    ) {
+        JdbcClient.StatementSpec statement = jdbcClient.sql("SELECT " + aggregate + "(rank_key) FROM " + siblings.table
+                        + " WHERE " + siblings.parentColumn + " = :parentId AND id NOT IN (:ids) AND " + condition)
+                .param("parentId", parentId)
+                .param("ids", movingIds);
+        if (key != null) {
+            statement = statement.param("key", key);
+        }
+        return statement.query(String.class).optional().orElse(null);
+    }
+}
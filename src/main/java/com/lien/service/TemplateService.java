@@ -1,47 +1,77 @@
 package com.lien.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.lien.cache.TemplateCountCache;
+import com.lien.cache.TemplateDetailCache;
+import com.lien.cache.TemplateOwnerCache;
 import com.lien.dto.request.ActivityRequest;
 import com.lien.dto.request.ChecklistSectionRequest;
 import com.lien.dto.request.DayScheduleRequest;
 import com.lien.dto.request.TemplateCreateRequest;
-import com.lien.dto.response.LocationResponse;
+import com.lien.dto.request.TemplateListSort;
+import com.lien.dto.response.ActivityResponse;
+import com.lien.dto.response.ChecklistSectionResponse;
+import com.lien.dto.response.DayScheduleResponse;
+import com.lien.dto.response.TemplateCursorResponse;
 import com.lien.dto.response.TemplateResponse;
+import com.lien.dto.response.TemplateSummaryResponse;
 import com.lien.entity.Activity;
 import com.lien.entity.ChecklistItem;
 import com.lien.entity.ChecklistSection;
 import com.lien.entity.DaySchedule;
 import com.lien.entity.Location;
 import com.lien.entity.Template;
-import com.lien.entity.User;
+import com.lien.mapper.TemplateMapper;
 import com.lien.repository.ActivityRepository;
 import com.lien.repository.ChecklistSectionRepository;
 import com.lien.repository.DayScheduleRepository;
 import com.lien.repository.LocationRepository;
 import com.lien.repository.TemplateRepository;
+import com.lien.repository.TemplateListVersion;
+import com.lien.repository.TemplateVersion;
+import com.lien.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.stream.Collectors;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class TemplateService
 {
 
+    static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final TemplateRepository templateRepository;
     private final LocationRepository locationRepository;
     private final ChecklistSectionRepository checklistSectionRepository;
     private final DayScheduleRepository dayScheduleRepository;
     private final ActivityRepository activityRepository;
+    private final UserRepository userRepository;
+    private final TemplateDetailReader templateDetailReader;
+    private final TemplateMapper templateMapper;
+    private final TemplateDetailCache templateDetailCache;
+    private final TemplateCountCache templateCountCache;
+    private final TemplateOwnerCache templateOwnerCache;
+    private final MergePatch mergePatch;
+    private final TemplateAccess templateAccess;
 
     @Transactional
-    public TemplateResponse createTemplate(User user, TemplateCreateRequest request)
+    public TemplateResponse createTemplate(Long userId, TemplateCreateRequest request)
     {
         Template template = Template.builder()
-                .user(user)
+                .user(userRepository.getReferenceById(userId))
                 .title(request.getTitle())
                 .destination(request.getDestination())
                 .startDate(request.getStartDate())
@@ -52,376 +82,500 @@ public class TemplateService
                 .build();
 
         template = templateRepository.save(template);
-        return toResponse(template);
+        templateCountCache.invalidate(userId);
+        return templateMapper.toResponse(template);
     }
 
     @Transactional(readOnly = true)
-    public Page<TemplateResponse> getTemplates(User user, Pageable pageable)
+    public Page<TemplateSummaryResponse> getTemplates(Long userId, Pageable pageable)
     {
-        return templateRepository.findByUser(user, pageable)
-                .map(this::toResponse);
+        return templateRepository.findSummariesByUserId(userId, pageable);
     }
 
+    // OFFSET/COUNT 없이 마지막으로 받은 행 다음부터 읽는다. 전체 개수는 요청할 때만 캐시에서 준다
     @Transactional(readOnly = true)
-    public Object getTemplateDetail(User user, Long templateId)
+    public TemplateCursorResponse getTemplatesByCursor(
+        Long userId,
+        TemplateListSort sort,
+        String cursor,
+        int size,
+        boolean includeTotal
+    ) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("size 는 1 이상 " + MAX_CURSOR_PAGE_SIZE + " 이하여야 합니다");
+        }
+
+        // 한 행 더 읽어 다음 페이지가 있는지 판단한다
+        Limit limit = Limit.of(size + 1);
+        TemplateCursor after = cursor != null ? TemplateCursor.decode(cursor, sort) : null;
+        List<TemplateSummaryResponse> rows = switch (sort) {
+            case UPDATED_AT -> after == null
+                    ? templateRepository.findRecentlyUpdated(userId, limit)
+                    : templateRepository.findRecentlyUpdatedAfter(userId, after.updatedAt(), after.id(), limit);
+            case START_DATE -> after == null
+                    ? templateRepository.findByStartDate(userId, limit)
+                    : templateRepository.findByStartDateAfter(userId, after.startDate(), after.id(), limit);
+        };
+
+        boolean hasNext = rows.size() > size;
+        List<TemplateSummaryResponse> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? TemplateCursor.after(sort, page.get(page.size() - 1)).encode() : null;
+        Long total = includeTotal
+                ? templateCountCache.get(userId, () -> templateRepository.countByUserId(userId))
+                : null;
+
+        return new TemplateCursorResponse(List.copyOf(page), nextCursor, total);
+    }
+
+    // 조건부 GET 용. 페이지 조건과 사용자 템플릿 전체의 집계 한 행으로 만든 ETag.
+    // 다른 페이지의 변경에도 바뀌지만 목록 쿼리와 COUNT 를 한 번 더 실행하지 않는다
+    @Transactional(readOnly = true)
+    public String getTemplatesETag(Long userId, Pageable pageable)
+    {
+        TemplateListVersion version = templateRepository.findListVersionByUserId(userId);
+        String source = pageable + "|" + version.count() + "|" + version.versionSum() + "|" + version.maxId();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(source.getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 조건부 GET 용. 템플릿 한 행의 버전만 읽으므로 304 응답에는 그래프를 읽지 않는다
+    @Transactional(readOnly = true)
+    public String getTemplateDetailETag(Long userId, Long templateId)
+    {
+        TemplateVersion version = templateRepository.findVersionById(templateId)
+                .orElseThrow(() -> new IllegalArgumentException("템플릿을 찾을 수 없습니다"));
+
+        if (!version.ownerId().equals(userId)) {
+            throw new IllegalArgumentException("권한이 없습니다");
+        }
+
+        return "\"" + templateId + "-" + version.version() + "\"";
+    }
+
+    // 응답은 TemplateDetailResponse, 또는 설정에 따라 같은 형태를 바로 쓰는 StreamingTemplateDetail.
+    // 캐시에 적중하면 DB 커넥션을 잡지 않도록 트랜잭션은 조회 경로 안에서만 연다.
+    public Object getTemplateDetail(Long userId, Long templateId)
     {
-        Template template = templateRepository.findById(templateId)
+        TemplateDetailCache.Lookup cached = templateDetailCache.lookup(templateId);
+        if (cached.hit()) {
+            if (!cached.ownerId().equals(userId)) {
+                throw new IllegalArgumentException("권한이 없습니다");
+            }
+            return cached.body();
+        }
+
+        TemplateDetailReader.Detail detail = templateDetailReader.read(templateId)
                 .orElseThrow(() -> new IllegalArgumentException("템플릿을 찾을 수 없습니다"));
 
-        if (!template.getUser().getId().equals(user.getId())) {
+        if (!detail.ownerId().equals(userId)) {
             throw new IllegalArgumentException("권한이 없습니다");
         }
 
-        return toDetailResponse(template);
+        return templateDetailCache.store(cached, userId, detail.body());
     }
 
     @Transactional
     public TemplateResponse updateTemplate(
-        User user,
+        Long userId,
         Long templateId,
         TemplateCreateRequest request
     ) {
-        Template template = findTemplateByIdAndUser(templateId, user);
+        checkOwner(templateId, userId);
+        touch(templateId);
+        Template template = templateRepository.findByIdAndUserId(templateId, userId)
+                .orElseThrow(() -> new IllegalArgumentException("템플릿을 찾을 수 없습니다"));
 
-        template.setTitle(request.getTitle());
-        template.setDestination(request.getDestination());
-        template.setStartDate(request.getStartDate());
-        template.setEndDate(request.getEndDate());
-        template.setTotalDays(request.getTotalDays());
-        template.setAccommodation(request.getAccommodation());
-        template.setTransportation(request.getTransportation());
+        applyTemplate(template, request);
+
+        return templateMapper.toResponse(templateRepository.saveAndFlush(template));
+    }
 
-        return toResponse(templateRepository.save(template));
+    // 부분 수정(RFC 7396). 합친 결과가 현재 값과 같으면 버전도 캐시도 건드리지 않는다
+    @Transactional
+    public TemplateResponse patchTemplate(Long userId, Long templateId, JsonNode patch)
+    {
+        checkOwner(templateId, userId);
+        Template template = templateRepository.findByIdAndUserId(templateId, userId)
+                .orElseThrow(() -> new IllegalArgumentException("템플릿을 찾을 수 없습니다"));
+        TemplateCreateRequest current = toRequest(template);
+        TemplateCreateRequest patched = mergePatch.apply(current, patch, TemplateCreateRequest.class);
+
+        if (!patched.equals(current)) {
+            touch(templateId);
+            applyTemplate(template, patched);
+            // updatedAt 은 flush 때 채워지므로 응답을 만들기 전에 내보낸다
+            templateRepository.saveAndFlush(template);
+        }
+        return templateMapper.toResponse(template);
     }
 
     @Transactional
-    public void deleteTemplate(User user, Long templateId)
+    public void deleteTemplate(Long userId, Long templateId)
     {
-        Template template = findTemplateByIdAndUser(templateId, user);
-        templateRepository.delete(template);
+        checkOwner(templateId, userId);
+
+        // 버전을 먼저 올려 템플릿 행을 잠근다. 같은 템플릿의 편집은 삭제가 끝날 때까지 기다린다
+        touch(templateId);
+        templateRepository.deleteChecklistItemsByTemplateId(templateId);
+        templateRepository.deleteChecklistSectionsByTemplateId(templateId);
+        templateRepository.deleteActivitiesByTemplateId(templateId);
+        templateRepository.deleteDaySchedulesByTemplateId(templateId);
+        templateRepository.deleteRowById(templateId);
+        templateOwnerCache.evict(templateId);
+        templateCountCache.invalidate(userId);
     }
 
     // Checklist Section Methods
     @Transactional
-    public Object addChecklistSection(
-        User user,
+    public ChecklistSectionResponse addChecklistSection(
+        Long userId,
         Long templateId,
         ChecklistSectionRequest request
     ) {
-        Template template = findTemplateByIdAndUser(templateId, user);
-
-        ChecklistSection section = ChecklistSection.builder()
-                .template(template)
-                .title(request.getTitle())
-                .icon(request.getIcon())
-                .orderIndex(request.getOrderIndex())
-                .build();
-
-        for (ChecklistSectionRequest.ChecklistItemDto itemDto : request.getItems()) {
-            ChecklistItem item = ChecklistItem.builder()
-                    .section(section)
-                    .label(itemDto.getLabel())
-                    .orderIndex(itemDto.getOrderIndex())
-                    .build();
-            section.getItems().add(item);
-        }
+        checkOwner(templateId, userId);
+        touch(templateId);
 
-        section = checklistSectionRepository.save(section);
-        return toChecklistSectionResponse(section);
+        ChecklistSection section = checklistSectionRepository.save(
+                newChecklistSection(templateRepository.getReferenceById(templateId), request));
+        return templateMapper.toChecklistSectionResponse(section);
     }
 
     @Transactional
-    public Object updateChecklistSection(
-        User user,
+    public ChecklistSectionResponse updateChecklistSection(
+        Long userId,
         Long templateId,
         Long sectionId,
         ChecklistSectionRequest request
     ) {
-        Template template = findTemplateByIdAndUser(templateId, user);
-
-        ChecklistSection section = checklistSectionRepository.findById(sectionId)
+        ChecklistSection section = checklistSectionRepository.findOwned(sectionId, templateId, userId)
                 .orElseThrow(() -> new IllegalArgumentException("섹션을 찾을 수 없습니다"));
+        touch(templateId);
 
-        if (!section.getTemplate().getId().equals(templateId)) {
-            throw new IllegalArgumentException("잘못된 요청입니다");
-        }
-
-        section.setTitle(request.getTitle());
-        section.setIcon(request.getIcon());
-        section.setOrderIndex(request.getOrderIndex());
+        applyChecklistSection(section, request);
 
-        // 기존 아이템 삭제 후 새로 추가
-        section.getItems().clear();
-        for (ChecklistSectionRequest.ChecklistItemDto itemDto : request.getItems()) {
-            ChecklistItem item = ChecklistItem.builder()
-                    .section(section)
-                    .label(itemDto.getLabel())
-                    .orderIndex(itemDto.getOrderIndex())
-                    .build();
-            section.getItems().add(item);
-        }
-
-        return toChecklistSectionResponse(checklistSectionRepository.save(section));
+        return templateMapper.toChecklistSectionResponse(checklistSectionRepository.save(section));
     }
 
     @Transactional
-    public void deleteChecklistSection(User user, Long templateId, Long sectionId)
+    public void deleteChecklistSection(Long userId, Long templateId, Long sectionId)
     {
-        Template template = findTemplateByIdAndUser(templateId, user);
-
-        ChecklistSection section = checklistSectionRepository.findById(sectionId)
+        ChecklistSection section = checklistSectionRepository.findOwned(sectionId, templateId, userId)
                 .orElseThrow(() -> new IllegalArgumentException("섹션을 찾을 수 없습니다"));
-
-        if (!section.getTemplate().getId().equals(templateId)) {
-            throw new IllegalArgumentException("잘못된 요청입니다");
-        }
+        touch(templateId);
 
         checklistSectionRepository.delete(section);
     }
 
     // Day Schedule Methods
     @Transactional
-    public Object addDaySchedule(User user, Long templateId, DayScheduleRequest request)
+    public DayScheduleResponse addDaySchedule(Long userId, Long templateId, DayScheduleRequest request)
     {
-        Template template = findTemplateByIdAndUser(templateId, user);
-
-        DaySchedule daySchedule = DaySchedule.builder()
-                .template(template)
-                .dayNumber(request.getDayNumber())
-                .date(request.getDate())
-                .title(request.getTitle())
-                .color(request.getColor())
-                .build();
+        checkOwner(templateId, userId);
+        touch(templateId);
 
-        daySchedule = dayScheduleRepository.save(daySchedule);
-        return toDayScheduleResponse(daySchedule);
+        DaySchedule daySchedule = dayScheduleRepository.save(
+                newDaySchedule(templateRepository.getReferenceById(templateId), request));
+        return templateMapper.toDayScheduleResponse(daySchedule);
     }
 
     @Transactional
-    public Object updateDaySchedule(
-        User user,
+    public DayScheduleResponse updateDaySchedule(
+        Long userId,
         Long templateId,
         Long dayId,
         DayScheduleRequest request
     ) {
-        findTemplateByIdAndUser(templateId, user);
-
-        DaySchedule daySchedule = dayScheduleRepository.findById(dayId)
+        DaySchedule daySchedule = dayScheduleRepository.findOwned(dayId, templateId, userId)
                 .orElseThrow(() -> new IllegalArgumentException("일정을 찾을 수 없습니다"));
+        touch(templateId);
 
-        if (!daySchedule.getTemplate().getId().equals(templateId)) {
-            throw new IllegalArgumentException("잘못된 요청입니다");
-        }
+        applyDaySchedule(daySchedule, request);
 
-        daySchedule.setDayNumber(request.getDayNumber());
-        daySchedule.setDate(request.getDate());
-        daySchedule.setTitle(request.getTitle());
-        daySchedule.setColor(request.getColor());
-
-        return toDayScheduleResponse(dayScheduleRepository.save(daySchedule));
+        return templateMapper.toDayScheduleResponse(dayScheduleRepository.save(daySchedule));
     }
 
     @Transactional
-    public void deleteDaySchedule(User user, Long templateId, Long dayId)
+    public DayScheduleResponse patchDaySchedule(Long userId, Long templateId, Long dayId, JsonNode patch)
     {
-        findTemplateByIdAndUser(templateId, user);
-
-        DaySchedule daySchedule = dayScheduleRepository.findById(dayId)
+        DaySchedule daySchedule = dayScheduleRepository.findOwned(dayId, templateId, userId)
                 .orElseThrow(() -> new IllegalArgumentException("일정을 찾을 수 없습니다"));
+        DayScheduleRequest current = toRequest(daySchedule);
+        DayScheduleRequest patched = mergePatch.apply(current, patch, DayScheduleRequest.class);
 
-        if (!daySchedule.getTemplate().getId().equals(templateId)) {
-            throw new IllegalArgumentException("잘못된 요청입니다");
+        if (!patched.equals(current)) {
+            touch(templateId);
+            applyDaySchedule(daySchedule, patched);
         }
+        return templateMapper.toDayScheduleResponse(daySchedule);
+    }
+
+    @Transactional
+    public void deleteDaySchedule(Long userId, Long templateId, Long dayId)
+    {
+        DaySchedule daySchedule = dayScheduleRepository.findOwned(dayId, templateId, userId)
+                .orElseThrow(() -> new IllegalArgumentException("일정을 찾을 수 없습니다"));
+        touch(templateId);
 
         dayScheduleRepository.delete(daySchedule);
     }
 
     // Activity Methods
+    // 연결하는 위치는 일괄 편집, 가져오기와 같이 공개이거나 본인 위치여야 한다
     @Transactional
-    public Object addActivity(
-        User user,
+    public ActivityResponse addActivity(
+        Long userId,
         Long templateId,
         Long dayId,
         ActivityRequest request
     ) {
-        findTemplateByIdAndUser(templateId, user);
-
-        DaySchedule daySchedule = dayScheduleRepository.findById(dayId)
+        DaySchedule daySchedule = dayScheduleRepository.findOwned(dayId, templateId, userId)
                 .orElseThrow(() -> new IllegalArgumentException("일정을 찾을 수 없습니다"));
+        touch(templateId);
 
-        Location location = locationRepository.findById(request.getLocationId())
+        Location location = locationRepository.findAccessibleById(request.getLocationId(), userId)
                 .orElseThrow(() -> new IllegalArgumentException("위치를 찾을 수 없습니다"));
 
         Location previousLocation = null;
         if (request.getPreviousLocationId() != null) {
-            previousLocation = locationRepository.findById(request.getPreviousLocationId())
+            previousLocation = locationRepository.findAccessibleById(request.getPreviousLocationId(), userId)
                     .orElseThrow(() -> new IllegalArgumentException("이전 위치를 찾을 수 없습니다"));
         }
 
-        Activity activity = Activity.builder()
-                .daySchedule(daySchedule)
-                .time(request.getTime())
-                .description(request.getDescription())
-                .location(location)
-                .previousLocation(previousLocation)
-                .orderIndex(request.getOrderIndex())
-                .build();
-
-        activity = activityRepository.save(activity);
-        return toActivityResponse(activity);
+        Activity activity = activityRepository.save(newActivity(daySchedule, request, location, previousLocation));
+        return templateMapper.toActivityResponse(activity);
     }
 
     @Transactional
-    public Object updateActivity(
-        User user,
+    public ActivityResponse updateActivity(
+        Long userId,
         Long templateId,
         Long dayId,
         Long activityId,
         ActivityRequest request
     ) {
-        findTemplateByIdAndUser(templateId, user);
-
-        Activity activity = activityRepository.findById(activityId)
+        Activity activity = activityRepository.findOwned(activityId, dayId, templateId, userId)
                 .orElseThrow(() -> new IllegalArgumentException("활동을 찾을 수 없습니다"));
+        touch(templateId);
 
-        if (!activity.getDaySchedule().getId().equals(dayId)) {
-            throw new IllegalArgumentException("잘못된 요청입니다");
-        }
-
-        Location location = locationRepository.findById(request.getLocationId())
+        Location location = locationRepository.findAccessibleById(request.getLocationId(), userId)
                 .orElseThrow(() -> new IllegalArgumentException("위치를 찾을 수 없습니다"));
 
-        activity.setTime(request.getTime());
-        activity.setDescription(request.getDescription());
-        activity.setLocation(location);
-        activity.setOrderIndex(request.getOrderIndex());
-
+        Location previousLocation = null;
         if (request.getPreviousLocationId() != null) {
-            Location previousLocation = locationRepository.findById(request.getPreviousLocationId())
+            previousLocation = locationRepository.findAccessibleById(request.getPreviousLocationId(), userId)
                     .orElseThrow(() -> new IllegalArgumentException("이전 위치를 찾을 수 없습니다"));
-            activity.setPreviousLocation(previousLocation);
         }
 
-        return toActivityResponse(activityRepository.save(activity));
+        applyActivity(activity, request, location, previousLocation);
+
+        return templateMapper.toActivityResponse(activityRepository.save(activity));
     }
 
+    // 위치 id 가 바뀐 경우에만 위치를 읽는다. previousLocationId 를 null 로 보내면 이전 위치를 지운다
     @Transactional
-    public void deleteActivity(User user, Long templateId, Long dayId, Long activityId)
-    {
-        findTemplateByIdAndUser(templateId, user);
-
-        Activity activity = activityRepository.findById(activityId)
+    public ActivityResponse patchActivity(
+        Long userId,
+        Long templateId,
+        Long dayId,
+        Long activityId,
+        JsonNode patch
+    ) {
+        Activity activity = activityRepository.findOwned(activityId, dayId, templateId, userId)
                 .orElseThrow(() -> new IllegalArgumentException("활동을 찾을 수 없습니다"));
-
-        if (!activity.getDaySchedule().getId().equals(dayId)) {
-            throw new IllegalArgumentException("잘못된 요청입니다");
+        ActivityRequest current = toRequest(activity);
+        ActivityRequest patched = mergePatch.apply(current, patch, ActivityRequest.class);
+
+        if (!patched.equals(current)) {
+            touch(templateId);
+
+            Location location = patched.getLocationId().equals(current.getLocationId())
+                    ? activity.getLocation()
+                    : locationRepository.findAccessibleById(patched.getLocationId(), userId)
+                            .orElseThrow(() -> new IllegalArgumentException("위치를 찾을 수 없습니다"));
+            Location previousLocation = null;
+            if (patched.getPreviousLocationId() != null) {
+                previousLocation = patched.getPreviousLocationId().equals(current.getPreviousLocationId())
+                        ? activity.getPreviousLocation()
+                        : locationRepository.findAccessibleById(patched.getPreviousLocationId(), userId)
+                                .orElseThrow(() -> new IllegalArgumentException("이전 위치를 찾을 수 없습니다"));
+            }
+
+            applyActivity(activity, patched, location, previousLocation);
+            if (previousLocation == null) {
+                activity.setPreviousLocation(null);
+            }
         }
+        return templateMapper.toActivityResponse(activity);
+    }
+
+    @Transactional
+    public void deleteActivity(Long userId, Long templateId, Long dayId, Long activityId)
+    {
+        Activity activity = activityRepository.findOwned(activityId, dayId, templateId, userId)
+                .orElseThrow(() -> new IllegalArgumentException("활동을 찾을 수 없습니다"));
+        touch(templateId);
 
         activityRepository.delete(activity);
     }
 
     // Helper Methods
-    private Template findTemplateByIdAndUser(Long templateId, User user)
+    // 자식을 새로 만드는 변경용. 하위 항목을 고치는 변경은 findOwned 한 번으로 소유권과 소속을 함께 확인한다
+    private void checkOwner(Long templateId, Long userId)
     {
-        Template template = templateRepository.findById(templateId)
-                .orElseThrow(() -> new IllegalArgumentException("템플릿을 찾을 수 없습니다"));
+        templateAccess.checkOwner(templateId, userId);
+    }
 
-        if (!template.getUser().getId().equals(user.getId())) {
-            throw new IllegalArgumentException("권한이 없습니다");
-        }
+    private void touch(Long templateId)
+    {
+        templateAccess.touch(templateId);
+    }
 
-        return template;
+    static void applyTemplate(Template template, TemplateCreateRequest request)
+    {
+        template.setTitle(request.getTitle());
+        template.setDestination(request.getDestination());
+        template.setStartDate(request.getStartDate());
+        template.setEndDate(request.getEndDate());
+        template.setTotalDays(request.getTotalDays());
+        template.setAccommodation(request.getAccommodation());
+        template.setTransportation(request.getTransportation());
+    }
+
+    // 부분 수정의 기준값. 패치를 합친 뒤 같은 apply 메서드로 반영한다
+    private static TemplateCreateRequest toRequest(Template template)
+    {
+        TemplateCreateRequest request = new TemplateCreateRequest();
+        request.setTitle(template.getTitle());
+        request.setDestination(template.getDestination());
+        request.setStartDate(template.getStartDate());
+        request.setEndDate(template.getEndDate());
+        request.setTotalDays(template.getTotalDays());
+        request.setAccommodation(template.getAccommodation());
+        request.setTransportation(template.getTransportation());
+        return request;
+    }
+
+    private static DayScheduleRequest toRequest(DaySchedule daySchedule)
+    {
+        DayScheduleRequest request = new DayScheduleRequest();
+        request.setDayNumber(daySchedule.getDayNumber());
+        request.setDate(daySchedule.getDate());
+        request.setTitle(daySchedule.getTitle());
+        request.setColor(daySchedule.getColor());
+        return request;
     }
 
-    private TemplateResponse toResponse(Template template)
+    private static ActivityRequest toRequest(Activity activity)
     {
-        return TemplateResponse.builder()
-                .id(template.getId())
-                .title(template.getTitle())
-                .destination(template.getDestination())
-                .startDate(template.getStartDate())
-                .endDate(template.getEndDate())
-                .totalDays(template.getTotalDays())
-                .accommodation(template.getAccommodation())
-                .transportation(template.getTransportation())
-                .createdAt(template.getCreatedAt())
-                .updatedAt(template.getUpdatedAt())
+        ActivityRequest request = new ActivityRequest();
+        request.setTime(activity.getTime());
+        request.setDescription(activity.getDescription());
+        request.setLocationId(activity.getLocation().getId());
+        request.setPreviousLocationId(
+                activity.getPreviousLocation() != null ? activity.getPreviousLocation().getId() : null);
+        request.setOrderIndex(activity.getOrderIndex());
+        return request;
+    }
+
+    // 단건 API 와 일괄 편집(TemplateBatchService)이 같은 규칙으로 엔티티를 만들고 고친다
+    static ChecklistSection newChecklistSection(Template template, ChecklistSectionRequest request)
+    {
+        ChecklistSection section = ChecklistSection.builder()
+                .template(template)
                 .build();
+        applyChecklistSection(section, request);
+        return section;
     }
 
-    private Object toDetailResponse(Template templateEntity)
+    static void applyChecklistSection(ChecklistSection section, ChecklistSectionRequest request)
     {
-        final TemplateResponse templateResponse = toResponse(templateEntity);
-        return new Object() {
-            public final TemplateResponse template = templateResponse;
-            public final java.util.List<?> checklistSections = templateEntity.getChecklistSections()
-                    .stream().map(TemplateService.this::toChecklistSectionResponse)
-                    .collect(Collectors.toList());
-            public final java.util.List<?> daySchedules = templateEntity.getDaySchedules()
-                    .stream().map(TemplateService.this::toDayScheduleResponse)
-                    .collect(Collectors.toList());
-        };
+        // orderIndex 는 키가 없을 때(새 섹션) 처음 자리만 정한다. 이후 순서는 이동 API 로만 바꾸므로
+        // 응답에서 받은 orderIndex 를 그대로 돌려보내도 옮긴 자리가 되돌아가지 않는다
+        if (section.getRankKey() == null) {
+            section.setRankKey(RankKeys.forIndex(request.getOrderIndex()));
+        }
+        section.setTitle(request.getTitle());
+        section.setIcon(request.getIcon());
+        section.setOrderIndex(request.getOrderIndex());
+
+        // 항목 id 로 기존 항목과 비교한다. 바뀐 항목만 UPDATE, 빠진 항목만 DELETE(orphanRemoval),
+        // id 없는 항목만 INSERT 되고 남은 항목은 id 를 유지한다
+        Map<Long, ChecklistItem> existing = new HashMap<>();
+        for (ChecklistItem item : section.getItems()) {
+            existing.put(item.getId(), item);
+        }
+
+        List<ChecklistItem> items = new ArrayList<>(request.getItems().size());
+        for (ChecklistSectionRequest.ChecklistItemDto itemDto : request.getItems()) {
+            if (itemDto.getId() == null) {
+                items.add(ChecklistItem.builder()
+                        .section(section)
+                        .label(itemDto.getLabel())
+                        .orderIndex(itemDto.getOrderIndex())
+                        .build());
+                continue;
+            }
+
+            ChecklistItem item = existing.remove(itemDto.getId());
+            if (item == null) {
+                throw new IllegalArgumentException("항목을 찾을 수 없습니다");
+            }
+            item.setLabel(itemDto.getLabel());
+            item.setOrderIndex(itemDto.getOrderIndex());
+            items.add(item);
+        }
+
+        section.getItems().clear();
+        section.getItems().addAll(items);
     }
 
-    private Object toChecklistSectionResponse(ChecklistSection section)
+    static DaySchedule newDaySchedule(Template template, DayScheduleRequest request)
     {
-        return new Object() {
-            public final Long id = section.getId();
-            public final String title = section.getTitle();
-            public final String icon = section.getIcon();
-            public final Integer orderIndex = section.getOrderIndex();
-            public final java.util.List<?> items = section.getItems().stream()
-                    .map(item -> new Object() {
-                        public final Long id = item.getId();
-                        public final String label = item.getLabel();
-                        public final Integer orderIndex = item.getOrderIndex();
-                    }).collect(Collectors.toList());
-        };
+        DaySchedule daySchedule = DaySchedule.builder()
+                .template(template)
+                .build();
+        applyDaySchedule(daySchedule, request);
+        return daySchedule;
     }
 
-    private Object toDayScheduleResponse(DaySchedule daySchedule)
+    static void applyDaySchedule(DaySchedule daySchedule, DayScheduleRequest request)
     {
-        return new Object() {
-            public final Long id = daySchedule.getId();
-            public final Integer dayNumber = daySchedule.getDayNumber();
-            public final java.time.LocalDate date = daySchedule.getDate();
-            public final String title = daySchedule.getTitle();
-            public final String color = daySchedule.getColor();
-            public final java.util.List<?> activities = daySchedule.getActivities()
-                    .stream().map(TemplateService.this::toActivityResponse)
-                    .collect(Collectors.toList());
-        };
+        daySchedule.setDayNumber(request.getDayNumber());
+        daySchedule.setDate(request.getDate());
+        daySchedule.setTitle(request.getTitle());
+        daySchedule.setColor(request.getColor());
+    }
+
+    static Activity newActivity(
+        DaySchedule daySchedule,
+        ActivityRequest request,
+        Location location,
+        Location previousLocation
+    ) {
+        Activity activity = Activity.builder()
+                .daySchedule(daySchedule)
+                .build();
+        applyActivity(activity, request, location, previousLocation);
+        return activity;
     }
 
-    private Object toActivityResponse(Activity activity)
+    // previousLocationId 가 없으면 기존 이전 위치를 유지한다. orderIndex 는 섹션과 같이 키가 없을 때만 쓴다
+    static void applyActivity(Activity activity, ActivityRequest request, Location location, Location previousLocation)
     {
-        return new Object() {
-            public final Long id = activity.getId();
-            public final String time = activity.getTime();
-            public final String description = activity.getDescription();
-            public final LocationResponse location = LocationResponse.builder()
-                    .id(activity.getLocation().getId())
-                    .name(activity.getLocation().getName())
-                    .category(activity.getLocation().getCategory())
-                    .latitude(activity.getLocation().getLatitude())
-                    .longitude(activity.getLocation().getLongitude())
-                    .address(activity.getLocation().getAddress())
-                    .description(activity.getLocation().getDescription())
-                    .isPublic(activity.getLocation().getIsPublic())
-                    .createdAt(activity.getLocation().getCreatedAt())
-                    .build();
-            public final LocationResponse previousLocation = activity.getPreviousLocation() != null
-                    ? LocationResponse.builder()
-                            .id(activity.getPreviousLocation().getId())
-                            .name(activity.getPreviousLocation().getName())
-                            .category(activity.getPreviousLocation().getCategory())
-                            .latitude(activity.getPreviousLocation().getLatitude())
-                            .longitude(activity.getPreviousLocation().getLongitude())
-                            .address(activity.getPreviousLocation().getAddress())
-                            .build()
-                    : null;
-            public final Integer orderIndex = activity.getOrderIndex();
-        };
+        if (activity.getRankKey() == null) {
+            activity.setRankKey(RankKeys.forIndex(request.getOrderIndex()));
+        }
+        activity.setTime(request.getTime());
+        activity.setDescription(request.getDescription());
+        activity.setLocation(location);
+        activity.setOrderIndex(request.getOrderIndex());
+        if (previousLocation != null) {
+            activity.setPreviousLocation(previousLocation);
+        }
     }
 }
-
@@ -2,37 +2,57 @@ package com.lien.service;
 
 import com.lien.entity.User;
 import com.lien.repository.UserRepository;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import com.lien.security.PasswordHasher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Service
 public class UserService {
     private final UserRepository userRepository;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final RegisteredEmailFilter registeredEmails;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, PasswordHasher passwordHasher,
+                       RegisteredEmailFilter registeredEmails) {
         this.userRepository = userRepository;
-        this.passwordEncoder = new BCryptPasswordEncoder();
+        this.passwordHasher = passwordHasher;
+        this.registeredEmails = registeredEmails;
     }
 
-    @Transactional
+    // 중복 여부는 users.email 유니크 제약이 판정한다. Bloom filter 가 "있을 수 있음" 이라고 할 때만
+    // 해시 연산 전에 미리 조회해 빠르게 실패시키고, 새 이메일은 조회 없이 바로 저장한다.
+    // 해시 연산 동안 DB 커넥션을 잡지 않도록 트랜잭션으로 묶지 않는다.
     public User register(String email, String password, String name) {
-        if (userRepository.findByEmail(email).isPresent()) {
+        if (registeredEmails.mightContain(email) && userRepository.findByEmail(email).isPresent()) {
+            throw new IllegalArgumentException("이미 가입된 이메일입니다.");
+        }
+        String encodedPw = passwordHasher.encode(password);
+        try {
+            User user = userRepository.saveAndFlush(new User(email, encodedPw, name));
+            registeredEmails.add(email);
+            return user;
+        } catch (DataIntegrityViolationException e) {
+            if (userRepository.findByEmail(email).isEmpty()) {
+                throw e;
+            }
+            registeredEmails.add(email);
             throw new IllegalArgumentException("이미 가입된 이메일입니다.");
         }
-        String encodedPw = passwordEncoder.encode(password);
-        User user = new User(email, encodedPw, name);
-        return userRepository.save(user);
     }
 
     public User authenticate(String email, String password) {
         Optional<User> userOpt = userRepository.findByEmail(email);
-        if (userOpt.isEmpty() || !passwordEncoder.matches(password, userOpt.get().getPassword())) {
+        if (userOpt.isEmpty() || !passwordHasher.matches(password, userOpt.get().getPassword())) {
             throw new IllegalArgumentException("이메일 또는 비밀번호가 올바르지 않습니다.");
         }
-        return userOpt.get();
+        User user = userOpt.get();
+        // 설정된 cost 보다 낮은 해시는 로그인 성공 시 다시 해시해 둔다
+        if (passwordHasher.needsUpgrade(user.getPassword())) {
+            user.setPassword(passwordHasher.encode(password));
+            userRepository.save(user);
+        }
+        return user;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,47 @@
+package com.lien.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void 추가한_값은_항상_포함() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.add("user" + i + "@test.com");
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(filter.mightContain("user" + i + "@test.com")).isTrue();
+        }
+    }
+
+    @Test
+    void 오탐률이_설정값_근처() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.add("user" + i + "@test.com");
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (filter.mightContain("other" + i + "@test.com")) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test
+    void 레디스_비트맵_형식으로_복원() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        filter.add("test@test.com");
+
+        BloomFilter restored = new BloomFilter(1000, 0.01);
+        restored.loadRedisBytes(filter.toRedisBytes());
+
+        assertThat(restored.mightContain("test@test.com")).isTrue();
+    }
+}
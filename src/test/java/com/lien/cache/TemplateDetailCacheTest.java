@@ -0,0 +1,94 @@
+package com.lien.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TemplateDetailCacheTest {
+
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> valueOperations;
+    private HashOperations<String, Object, Object> hashOperations;
+    private SimpleMeterRegistry meterRegistry;
+    private TemplateDetailCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = Mockito.mock(StringRedisTemplate.class);
+        valueOperations = Mockito.mock(ValueOperations.class);
+        hashOperations = Mockito.mock(HashOperations.class);
+        Mockito.when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        Mockito.when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new TemplateDetailCache(redisTemplate, new ObjectMapper(), meterRegistry,
+                true, true, 60_000, 120_000);
+    }
+
+    @Test
+    void 미스_후_조회_시작_버전으로_저장() {
+        // given
+        Mockito.when(valueOperations.get("template:detail:version:1")).thenReturn("3");
+        Mockito.when(hashOperations.multiGet(ArgumentMatchers.eq("template:detail:1:v3"), ArgumentMatchers.anyCollection()))
+                .thenReturn(Arrays.asList(null, null, null));
+
+        // when
+        TemplateDetailCache.Lookup lookup = cache.lookup(1L);
+        Object stored = cache.store(lookup, 7L, Map.of("title", "방콕 여행"));
+
+        // then
+        assertThat(lookup.hit()).isFalse();
+        assertThat(stored).isEqualTo(new RawJson("{\"title\":\"방콕 여행\"}"));
+        Mockito.verify(hashOperations).putAll(ArgumentMatchers.eq("template:detail:1:v3"), ArgumentMatchers.anyMap());
+        assertThat(meterRegistry.get("lien.template.detail.cache.requests").tag("result", "miss").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void 적중시_소유자와_JSON_반환() {
+        // given
+        Mockito.when(hashOperations.multiGet(ArgumentMatchers.eq("template:detail:1:v0"), ArgumentMatchers.anyCollection()))
+                .thenReturn(List.of("7", "{\"template\":{}}", String.valueOf(System.currentTimeMillis())));
+
+        // when
+        TemplateDetailCache.Lookup lookup = cache.lookup(1L);
+
+        // then
+        assertThat(lookup.hit()).isTrue();
+        assertThat(lookup.ownerId()).isEqualTo(7L);
+        assertThat(lookup.body().json()).isEqualTo("{\"template\":{}}");
+        assertThat(meterRegistry.get("lien.template.detail.cache.entry.age").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void 무효화시_버전_증가() {
+        cache.invalidateAll(List.of(1L, 2L));
+
+        Mockito.verify(valueOperations).increment("template:detail:version:1");
+        Mockito.verify(valueOperations).increment("template:detail:version:2");
+    }
+
+    @Test
+    void 꺼져_있으면_레디스를_사용하지_않음() {
+        TemplateDetailCache disabled = new TemplateDetailCache(redisTemplate, new ObjectMapper(), meterRegistry,
+                false, true, 60_000, 120_000);
+        Map<String, String> detail = Map.of("title", "방콕 여행");
+
+        Object result = disabled.store(disabled.lookup(1L), 7L, detail);
+
+        assertThat(result).isSameAs(detail);
+        Mockito.verifyNoInteractions(redisTemplate);
+    }
+}
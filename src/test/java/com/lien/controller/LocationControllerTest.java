@@ -18,6 +18,10 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -50,13 +54,15 @@ class LocationControllerTest
     @BeforeEach
     void setUp()
     {
-        this.mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        this.mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .apply(springSecurity())
+                .build();
 
         locationRepository.deleteAll();
         userRepository.deleteAll();
 
         testUser = userRepository.save(new User("test@test.com", "password", "테스트유저"));
-        token = JwtUtil.generateToken(testUser.getEmail());
+        token = jwtUtil.generateToken(testUser);
     }
 
     @Test
@@ -157,6 +163,62 @@ class LocationControllerTest
                 .andDo(print());
     }
 
+    @Test
+    void 위치_목록_커서_페이지() throws Exception
+    {
+        // given
+        createTestLocation("장소1", LocationCategory.ATTRACTION);
+        createTestLocation("장소2", LocationCategory.ATTRACTION);
+        createTestLocation("장소3", LocationCategory.ATTRACTION);
+
+        // when
+        String first = mockMvc.perform(get("/api/locations")
+                        .header("Authorization", "Bearer " + token)
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].name").value("장소1"))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(first).get("nextCursor").asText();
+
+        // then
+        mockMvc.perform(get("/api/locations")
+                        .header("Authorization", "Bearer " + token)
+                        .param("size", "2")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].name").value("장소3"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist())
+                .andDo(print());
+    }
+
+    @Test
+    void 위치_목록_NDJSON_응답() throws Exception
+    {
+        // given
+        createTestLocation("왓포 사원", LocationCategory.ATTRACTION);
+        createTestLocation("왓아룬 사원", LocationCategory.ATTRACTION);
+        createTestLocation("그랜드 팰리스", LocationCategory.ATTRACTION);
+        locationRepository.flush();
+
+        // when
+        String body = mockMvc.perform(get("/api/locations")
+                        .header("Authorization", "Bearer " + token)
+                        .accept("application/x-ndjson")
+                        .param("keyword", "왓"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        // then
+        String[] lines = body.strip().split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("name").asText()).isEqualTo("왓포 사원");
+        assertThat(objectMapper.readTree(lines[1]).get("name").asText()).isEqualTo("왓아룬 사원");
+    }
+
     @Test
     void 위치_단건_조회() throws Exception
     {
@@ -222,10 +284,10 @@ class LocationControllerTest
         request.setAddress("Bangkok");
 
         // when & then
-        // 현재 SecurityConfig가 모든 요청 허용하므로 스킵
         mockMvc.perform(post("/api/locations")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isUnauthorized())
                 .andDo(print());
     }
 
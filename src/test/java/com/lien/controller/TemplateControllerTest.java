@@ -1,6 +1,7 @@
 package com.lien.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lien.dto.request.DayScheduleRequest;
 import com.lien.dto.request.TemplateCreateRequest;
 import com.lien.entity.Template;
 import com.lien.entity.User;
@@ -19,6 +20,8 @@ import org.springframework.web.context.WebApplicationContext;
 
 import java.time.LocalDate;
 
+import static org.hamcrest.Matchers.not;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -51,13 +54,15 @@ class TemplateControllerTest
     @BeforeEach
     void setUp()
     {
-        this.mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        this.mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .apply(springSecurity())
+                .build();
 
         templateRepository.deleteAll();
         userRepository.deleteAll();
 
         testUser = userRepository.save(new User("test@test.com", "password", "테스트유저"));
-        token = JwtUtil.generateToken(testUser.getEmail());
+        token = jwtUtil.generateToken(testUser);
     }
 
     @Test
@@ -138,6 +143,76 @@ class TemplateControllerTest
                 .andDo(print());
     }
 
+    @Test
+    void 템플릿_상세_ETag_일치시_304() throws Exception
+    {
+        // given
+        Template template = createTestTemplate("ETag 테스트");
+        String eTag = mockMvc.perform(get("/api/templates/" + template.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // when & then
+        mockMvc.perform(get("/api/templates/" + template.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void 하위_일정_변경시_템플릿_상세_ETag_변경() throws Exception
+    {
+        // given
+        Template template = createTestTemplate("ETag 변경 테스트");
+        String eTag = mockMvc.perform(get("/api/templates/" + template.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andReturn().getResponse().getHeader("ETag");
+
+        DayScheduleRequest dayRequest = new DayScheduleRequest();
+        dayRequest.setDayNumber(1);
+        dayRequest.setDate(LocalDate.of(2024, 1, 1));
+        dayRequest.setTitle("첫째 날");
+        mockMvc.perform(post("/api/templates/" + template.getId() + "/days")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dayRequest)))
+                .andExpect(status().isCreated());
+
+        // when & then
+        mockMvc.perform(get("/api/templates/" + template.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(eTag)));
+    }
+
+    @Test
+    void 템플릿_목록_ETag_일치시_304() throws Exception
+    {
+        // given
+        createTestTemplate("여행1");
+        String eTag = mockMvc.perform(get("/api/templates")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // when & then
+        mockMvc.perform(get("/api/templates")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        createTestTemplate("여행2");
+        mockMvc.perform(get("/api/templates")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2));
+    }
+
     @Test
     void 템플릿_수정_성공() throws Exception
     {
@@ -186,14 +261,23 @@ class TemplateControllerTest
         request.setTotalDays(5);
 
         // when & then
-        // 현재 SecurityConfig가 모든 요청 허용하므로 스킵
-        // 실제 프로덕션에서는 인증 필터 적용 필요
         mockMvc.perform(post("/api/templates")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isUnauthorized())
                 .andDo(print());
     }
 
+    @Test
+    void 잘못된_토큰으로_템플릿_조회_실패() throws Exception
+    {
+        // when & then
+        mockMvc.perform(get("/api/templates")
+                        .header("Authorization", "Bearer invalid.token.value"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.error").value("UNAUTHORIZED"));
+    }
+
     @Test
     void 존재하지않는_템플릿_조회_실패() throws Exception
     {
@@ -203,6 +287,59 @@ class TemplateControllerTest
                 .andExpect(status().is4xxClientError());
     }
 
+    @Test
+    void 템플릿_부분_수정은_보낸_필드만_바꾼다() throws Exception
+    {
+        // given
+        Template template = createTestTemplate("부분 수정 테스트");
+
+        // when & then
+        mockMvc.perform(patch("/api/templates/" + template.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"title\": \"새 제목\", \"accommodation\": null}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("새 제목"))
+                .andExpect(jsonPath("$.destination").value("Test Destination"))
+                .andExpect(jsonPath("$.accommodation").doesNotExist());
+    }
+
+    @Test
+    void 값이_같은_부분_수정은_ETag_를_바꾸지_않는다() throws Exception
+    {
+        // given
+        Template template = createTestTemplate("ETag 유지 테스트");
+        String eTag = mockMvc.perform(get("/api/templates/" + template.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(patch("/api/templates/" + template.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"title\": \"ETag 유지 테스트\"}"))
+                .andExpect(status().isOk());
+
+        // when & then
+        mockMvc.perform(get("/api/templates/" + template.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void 부분_수정의_검증_실패는_400() throws Exception
+    {
+        // given
+        Template template = createTestTemplate("검증 테스트");
+
+        // when & then
+        mockMvc.perform(patch("/api/templates/" + template.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"title\": null}"))
+                .andExpect(status().isBadRequest());
+    }
+
     private Template createTestTemplate(String title)
     {
         Template template = Template.builder()
@@ -0,0 +1,81 @@
+package com.lien.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeoGridTest {
+
+    @Test
+    void 반경_안의_점은_항상_구간_안의_칸에_있다() {
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            double latitude = random.nextDouble() * 178 - 89;
+            double longitude = random.nextDouble() * 360 - 180;
+            double radius = 50 + random.nextDouble() * 20_000;
+            List<long[]> ranges = GeoGrid.ranges(latitude, longitude, radius);
+
+            // 원 둘레 위의 점(반경의 99.9%)을 여러 방향으로 찍어 본다
+            for (int bearing = 0; bearing < 360; bearing += 15) {
+                double[] point = destination(latitude, longitude, radius * 0.999, bearing);
+                long cell = GeoGrid.cellOf(point[0], point[1]);
+                assertThat(ranges).anySatisfy(range -> assertThat(cell).isBetween(range[0], range[1]));
+            }
+        }
+    }
+
+    @Test
+    void 반경_안의_점은_항상_경계_상자_안에_있다() {
+        Random random = new Random(11);
+        for (int i = 0; i < 2000; i++) {
+            double latitude = random.nextDouble() * 178 - 89;
+            double longitude = random.nextDouble() * 360 - 180;
+            double radius = 50 + random.nextDouble() * 20_000;
+            GeoGrid.Box box = GeoGrid.boundingBox(latitude, longitude, radius);
+
+            for (int bearing = 0; bearing < 360; bearing += 15) {
+                double[] point = destination(latitude, longitude, radius * 0.999, bearing);
+                assertThat(point[0]).isBetween(box.south(), box.north());
+                if (box.crossesAntimeridian()) {
+                    assertThat(point[1] >= box.west() || point[1] <= box.east()).isTrue();
+                } else {
+                    assertThat(point[1]).isBetween(box.west(), box.east());
+                }
+            }
+        }
+    }
+
+    @Test
+    void 날짜변경선을_넘는_반경은_양쪽_칸을_포함한다() {
+        List<long[]> ranges = GeoGrid.ranges(0, 179.999, 5000);
+
+        long west = GeoGrid.cellOf(0, -179.99);
+        long east = GeoGrid.cellOf(0, 179.99);
+        assertThat(ranges).anySatisfy(range -> assertThat(west).isBetween(range[0], range[1]));
+        assertThat(ranges).anySatisfy(range -> assertThat(east).isBetween(range[0], range[1]));
+    }
+
+    @Test
+    void 거리_계산() {
+        // 서울시청 - 부산시청 약 325km
+        double distance = GeoGrid.distanceMeters(37.5663, 126.9779, 35.1798, 129.0750);
+        assertThat(distance).isBetween(320_000.0, 330_000.0);
+        assertThat(GeoGrid.distanceMeters(13.7, 100.5, 13.7, 100.5)).isZero();
+    }
+
+    // 구면 위에서 (latitude, longitude) 로부터 bearing 방향으로 meters 만큼 간 점
+    private static double[] destination(double latitude, double longitude, double meters, double bearing) {
+        double angular = meters / 6_371_008.8;
+        double lat1 = Math.toRadians(latitude);
+        double theta = Math.toRadians(bearing);
+        double lat2 = Math.asin(Math.sin(lat1) * Math.cos(angular)
+                + Math.cos(lat1) * Math.sin(angular) * Math.cos(theta));
+        double lng2 = Math.toRadians(longitude) + Math.atan2(Math.sin(theta) * Math.sin(angular) * Math.cos(lat1),
+                Math.cos(angular) - Math.sin(lat1) * Math.sin(lat2));
+        double normalized = (Math.toDegrees(lng2) + 540) % 360 - 180;
+        return new double[] {Math.toDegrees(lat2), normalized};
+    }
+}
@@ -0,0 +1,117 @@
+package com.lien.mapper;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lien.entity.Activity;
+import com.lien.entity.ChecklistItem;
+import com.lien.entity.ChecklistSection;
+import com.lien.entity.DaySchedule;
+import com.lien.entity.Location;
+import com.lien.entity.LocationCategory;
+import com.lien.entity.Template;
+import com.lien.entity.User;
+import com.lien.service.TemplateAggregateLoader;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class StreamingTemplateDetailTest
+{
+
+    @Autowired
+    private TemplateMapper templateMapper;
+
+    @Autowired
+    private TemplateAggregateLoader aggregateLoader;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void 매퍼_DTO와_같은_JSON_출력() throws Exception
+    {
+        // given
+        Long templateId = createTemplate();
+        entityManager.flush();
+        entityManager.clear();
+        Template template = aggregateLoader.load(templateId).orElseThrow();
+
+        // when
+        JsonNode expected = objectMapper.readTree(objectMapper.writeValueAsString(templateMapper.toDetailResponse(template)));
+        JsonNode streamed = objectMapper.readTree(objectMapper.writeValueAsString(new StreamingTemplateDetail(template)));
+
+        // then
+        assertThat(streamed).isEqualTo(expected);
+        assertThat(streamed.at("/daySchedules/0/activities/0/location/name").asText()).isEqualTo("왓포");
+        assertThat(streamed.at("/daySchedules/0/activities/1/previousLocation/description").isNull()).isTrue();
+    }
+
+    private Long createTemplate()
+    {
+        User user = new User("streaming@test.com", "password", "테스트유저");
+        entityManager.persist(user);
+        Template template = Template.builder()
+                .user(user)
+                .title("방콕 여행")
+                .destination("Bangkok, Thailand")
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 1, 2))
+                .totalDays(2)
+                .transportation("비행기")
+                .build();
+        entityManager.persist(template);
+
+        ChecklistSection section = ChecklistSection.builder()
+                .template(template)
+                .title("준비물")
+                .icon("📦")
+                .orderIndex(0)
+                .build();
+        section.getItems().add(ChecklistItem.builder().section(section).label("여권").orderIndex(0).build());
+        entityManager.persist(section);
+
+        Location temple = createLocation(user, "왓포", "사원");
+        Location hotel = createLocation(user, "호텔", null);
+        DaySchedule day = DaySchedule.builder()
+                .template(template)
+                .dayNumber(1)
+                .date(LocalDate.of(2024, 1, 1))
+                .title("첫째 날")
+                .color("#4f46e5")
+                .build();
+        entityManager.persist(day);
+        entityManager.persist(Activity.builder()
+                .daySchedule(day).time("09:00").description("사원 방문").location(temple).orderIndex(0).build());
+        entityManager.persist(Activity.builder()
+                .daySchedule(day).time("18:00").description("체크인").location(hotel).previousLocation(temple)
+                .orderIndex(1).build());
+        return template.getId();
+    }
+
+    private Location createLocation(User user, String name, String description)
+    {
+        Location location = Location.builder()
+                .user(user)
+                .name(name)
+                .category(LocationCategory.ATTRACTION)
+                .latitude(13.7563)
+                .longitude(100.5018)
+                .address("Bangkok, Thailand")
+                .description(description)
+                .isPublic(true)
+                .build();
+        entityManager.persist(location);
+        return location;
+    }
+}
@@ -0,0 +1,66 @@
+package com.lien.security;
+
+import com.lien.entity.User;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtUtilTest {
+
+    private static final String OLD_SECRET = "old-secret-key-for-testing-purposes-minimum-256-bits";
+    private static final String NEW_SECRET = "new-secret-key-for-testing-purposes-minimum-256-bits";
+    private static final User USER = new User(1L, "test@test.com", "테스트유저");
+
+    @Test
+    void 토큰_검증_성공() {
+        JwtUtil jwtUtil = new JwtUtil(NEW_SECRET, "k1", "", 3600000, 100);
+
+        String token = jwtUtil.generateToken(USER);
+
+        AuthenticatedUser principal = AuthenticatedUser.from(jwtUtil.verify(token));
+        assertThat(principal.id()).isEqualTo(1L);
+        assertThat(principal.email()).isEqualTo("test@test.com");
+        assertThat(principal.name()).isEqualTo("테스트유저");
+        // 두 번째 검증은 캐시에서 같은 클레임을 돌려준다
+        assertThat(jwtUtil.verify(token)).isSameAs(jwtUtil.verify(token));
+    }
+
+    @Test
+    void 키_교체후_이전_키_토큰_검증_성공() {
+        JwtUtil before = new JwtUtil(OLD_SECRET, "k1", "", 3600000, 100);
+        String token = before.generateToken(USER);
+
+        JwtUtil after = new JwtUtil(NEW_SECRET, "k2", "k1=" + OLD_SECRET, 3600000, 100);
+
+        assertThat(after.verify(token).getSubject()).isEqualTo("test@test.com");
+    }
+
+    @Test
+    void 폐기된_키_토큰_검증_실패() {
+        JwtUtil before = new JwtUtil(OLD_SECRET, "k1", "", 3600000, 100);
+        String token = before.generateToken(USER);
+
+        JwtUtil after = new JwtUtil(NEW_SECRET, "k2", "", 3600000, 100);
+
+        assertThrows(JwtException.class, () -> after.verify(token));
+    }
+
+    @Test
+    void 만료된_토큰_검증_실패() {
+        JwtUtil jwtUtil = new JwtUtil(NEW_SECRET, "k1", "", -1000, 100);
+
+        String token = jwtUtil.generateToken(USER);
+
+        assertThrows(JwtException.class, () -> jwtUtil.verify(token));
+    }
+
+    @Test
+    void 짧은_서명_키는_기동시_설정_오류() {
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> new JwtUtil("default-secret-key", "k1", "", 3600000, 100));
+
+        assertThat(e.getMessage()).contains("jwt.secret");
+    }
+}
@@ -0,0 +1,66 @@
+package com.lien.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lien.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrincipalCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PrincipalCache principalCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        principalCache = new PrincipalCache(
+                Mockito.mock(StringRedisTemplate.class),
+                new ObjectMapper(),
+                meterRegistry,
+                true, false, 100, 60_000, 60_000);
+    }
+
+    @Test
+    void 캐시_미스_후_적중() {
+        assertThat(principalCache.get("test@test.com")).isEmpty();
+
+        principalCache.put(new User(1L, "test@test.com", "테스트유저"));
+
+        User cached = principalCache.get("test@test.com").orElseThrow().toUser();
+        assertThat(cached.getId()).isEqualTo(1L);
+        assertThat(cached.getName()).isEqualTo("테스트유저");
+        assertThat(cached.getPassword()).isNull();
+        assertThat(meterRegistry.get("lien.principal.cache.requests").tag("result", "miss").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("lien.principal.cache.requests").tag("result", "near_hit").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void 사용자_변경시_캐시_제거() {
+        principalCache.put(new User(1L, "test@test.com", "테스트유저"));
+
+        principalCache.evict("test@test.com");
+
+        assertThat(principalCache.get("test@test.com")).isEmpty();
+    }
+
+    @Test
+    void 이메일을_바꾸면_이전_이메일의_캐시도_제거() {
+        PrincipalCacheEvictionListener listener = new PrincipalCacheEvictionListener(principalCache);
+        User user = new User(1L, "old@test.com", "테스트유저");
+        listener.remember(user);
+        principalCache.put(user);
+
+        user.setEmail("new@test.com");
+        listener.evict(user);
+
+        assertThat(principalCache.get("old@test.com")).isEmpty();
+        assertThat(principalCache.get("new@test.com")).isEmpty();
+    }
+}
@@ -0,0 +1,56 @@
+package com.lien.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    @Test
+    void 용량_초과시_거부하고_재시도_시간_반환() {
+        // given
+        RateLimiter rateLimiter = new RateLimiter(
+                Mockito.mock(StringRedisTemplate.class), new SimpleMeterRegistry(),
+                true, false, 2, 60, 10, 60, 100);
+
+        // when
+        RateLimiter.Decision first = rateLimiter.tryConsume(RateLimiter.RouteGroup.AUTH, "ip:127.0.0.1");
+        RateLimiter.Decision second = rateLimiter.tryConsume(RateLimiter.RouteGroup.AUTH, "ip:127.0.0.1");
+        RateLimiter.Decision third = rateLimiter.tryConsume(RateLimiter.RouteGroup.AUTH, "ip:127.0.0.1");
+
+        // then
+        assertThat(first.allowed()).isTrue();
+        assertThat(second.allowed()).isTrue();
+        assertThat(third.allowed()).isFalse();
+        assertThat(third.retryAfterSeconds()).isEqualTo(1);
+        assertThat(rateLimiter.tryConsume(RateLimiter.RouteGroup.AUTH, "ip:10.0.0.1").allowed()).isTrue();
+    }
+
+    @Test
+    void 레디스_장애시_로컬_버킷으로_대체() {
+        // given
+        StringRedisTemplate redisTemplate = Mockito.mock(StringRedisTemplate.class);
+        Mockito.when(redisTemplate.execute(
+                        ArgumentMatchers.<RedisScript<Object>>any(), ArgumentMatchers.anyList(),
+                        ArgumentMatchers.any(Object[].class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RateLimiter rateLimiter = new RateLimiter(
+                redisTemplate, meterRegistry, true, true, 2, 60, 1, 60, 100);
+
+        // when
+        RateLimiter.Decision first = rateLimiter.tryConsume(RateLimiter.RouteGroup.WRITE, "user:1");
+        RateLimiter.Decision second = rateLimiter.tryConsume(RateLimiter.RouteGroup.WRITE, "user:1");
+
+        // then
+        assertThat(first.allowed()).isTrue();
+        assertThat(second.allowed()).isFalse();
+        assertThat(meterRegistry.get("lien.ratelimit.decisions").tag("backend", "local").counters()).hasSize(2);
+    }
+}
@@ -0,0 +1,63 @@
+package com.lien.service;
+
+import com.lien.entity.ChecklistItem;
+import com.lien.entity.ChecklistSection;
+import com.lien.entity.Template;
+import com.lien.entity.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class BatchInsertTest
+{
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void 섹션과_항목_30개를_배치로_저장()
+    {
+        // given
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        User user = new User("batch@test.com", "password", "테스트유저");
+        entityManager.persist(user);
+        Template template = Template.builder()
+                .user(user)
+                .title("배치 테스트")
+                .destination("Bangkok, Thailand")
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 1, 5))
+                .totalDays(5)
+                .build();
+        entityManager.persist(template);
+        entityManager.flush();
+
+        ChecklistSection section = ChecklistSection.builder()
+                .template(template)
+                .title("준비물")
+                .orderIndex(0)
+                .build();
+        for (int i = 0; i < 30; i++) {
+            section.getItems().add(ChecklistItem.builder().section(section).label("항목" + i).orderIndex(i).build());
+        }
+
+        // when
+        statistics.clear();
+        entityManager.persist(section);
+        entityManager.flush();
+
+        // then: IDENTITY 였다면 INSERT 31번
+        assertThat(section.getItems()).allSatisfy(item -> assertThat(item.getId()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(6);
+    }
+}
@@ -0,0 +1,117 @@
+package com.lien.service;
+
+import com.lien.entity.Activity;
+import com.lien.entity.DaySchedule;
+import com.lien.entity.Location;
+import com.lien.entity.LocationCategory;
+import com.lien.entity.Template;
+import com.lien.entity.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+/**
+ * 대량 저장 시 DB 왕복 횟수 비교. 한 번에 flush 해서 JDBC 배치로 묶이는 경우와
+ * 엔티티마다 flush 해서 IDENTITY 시절처럼 행마다 INSERT 하는 경우를 비교한다.
+ * 왕복은 실행한 배치 수와 배치 밖 단건 실행 수의 합이다(JdbcExecutionCounter).
+ * ./gradlew benchmark 로 실행한다.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session.events.auto=com.lien.service.JdbcExecutionCounter"
+})
+@Transactional
+class BulkWriteBenchmark
+{
+
+    private static final int DAYS = 30;
+    private static final int ACTIVITIES_PER_DAY = 20;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void 대량_일정_저장_왕복_횟수_비교(TestReporter reporter)
+    {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        User user = new User("bulk@test.com", "password", "벤치마크");
+        entityManager.persist(user);
+        Location location = Location.builder()
+                .user(user)
+                .name("장소")
+                .category(LocationCategory.ATTRACTION)
+                .latitude(13.7)
+                .longitude(100.5)
+                .address("Bangkok, Thailand")
+                .build();
+        entityManager.persist(location);
+        entityManager.flush();
+
+        run(reporter, "batched", statistics, user, location, false);
+        run(reporter, "row-by-row", statistics, user, location, true);
+    }
+
+    private void run(TestReporter reporter, String name, Statistics statistics, User user, Location location, boolean flushEach)
+    {
+        statistics.clear();
+        JdbcExecutionCounter.reset();
+        long start = System.nanoTime();
+
+        Template template = Template.builder()
+                .user(user)
+                .title(name)
+                .destination("Bangkok, Thailand")
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 1, DAYS))
+                .totalDays(DAYS)
+                .build();
+        entityManager.persist(template);
+        for (int d = 0; d < DAYS; d++) {
+            DaySchedule day = DaySchedule.builder()
+                    .template(template)
+                    .dayNumber(d + 1)
+                    .date(LocalDate.of(2024, 1, d + 1))
+                    .title(d + 1 + "일차")
+                    .build();
+            entityManager.persist(day);
+            flushIf(flushEach);
+            for (int a = 0; a < ACTIVITIES_PER_DAY; a++) {
+                entityManager.persist(Activity.builder()
+                        .daySchedule(day)
+                        .time("10:00")
+                        .description("활동" + a)
+                        .location(location)
+                        .orderIndex(a)
+                        .build());
+                flushIf(flushEach);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        reporter.publishEntry(name, String.format(
+                "%d rows: batches=%d, single executions=%d, prepared=%d, elapsed=%.1fms",
+                1 + DAYS + DAYS * ACTIVITIES_PER_DAY,
+                JdbcExecutionCounter.batches(),
+                JdbcExecutionCounter.statements(),
+                statistics.getPrepareStatementCount(),
+                (System.nanoTime() - start) / 1e6));
+    }
+
+    private void flushIf(boolean flush)
+    {
+        if (flush) {
+            entityManager.flush();
+        }
+    }
+}
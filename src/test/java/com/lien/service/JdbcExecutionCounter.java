@@ -0,0 +1,44 @@
+package com.lien.service;
+
+import org.hibernate.SessionEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 세션이 실제로 실행한 JDBC 배치(executeBatch)와 배치 밖 단건 실행 횟수. 준비한 문장 수와 달리
+ * 배치 하나에 묶인 INSERT 는 한 번으로 센다. hibernate.session.events.auto 로 모든 세션에 붙인다.
+ */
+public class JdbcExecutionCounter implements SessionEventListener
+{
+
+    private static final AtomicLong BATCHES = new AtomicLong();
+    private static final AtomicLong STATEMENTS = new AtomicLong();
+
+    @Override
+    public void jdbcExecuteBatchStart()
+    {
+        BATCHES.incrementAndGet();
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart()
+    {
+        STATEMENTS.incrementAndGet();
+    }
+
+    static void reset()
+    {
+        BATCHES.set(0);
+        STATEMENTS.set(0);
+    }
+
+    static long batches()
+    {
+        return BATCHES.get();
+    }
+
+    static long statements()
+    {
+        return STATEMENTS.get();
+    }
+}
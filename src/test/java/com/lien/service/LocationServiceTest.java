@@ -1,20 +1,29 @@
 package com.lien.service;
 
+import com.lien.config.LocationGeoCellInitializer;
 import com.lien.dto.request.LocationRequest;
+import com.lien.dto.response.LocationClusterResponse;
+import com.lien.dto.response.LocationClustersResponse;
 import com.lien.dto.response.LocationResponse;
+import com.lien.dto.response.NearbyLocationResponse;
+import com.lien.entity.Location;
 import com.lien.entity.LocationCategory;
 import com.lien.entity.User;
+import com.lien.geo.GeoGrid;
 import com.lien.repository.LocationRepository;
 import com.lien.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @SpringBootTest
@@ -31,6 +40,15 @@ class LocationServiceTest
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private LocationGeoCellInitializer locationGeoCellInitializer;
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    @Autowired
+    private LocationClusterIndex locationClusterIndex;
+
     private User testUser;
 
     @BeforeEach
@@ -55,7 +73,7 @@ class LocationServiceTest
         request.setIsPublic(true);
 
         // when
-        LocationResponse response = locationService.createLocation(testUser, request);
+        LocationResponse response = locationService.createLocation(testUser.getId(), request);
 
         // then
         assertThat(response).isNotNull();
@@ -73,7 +91,7 @@ class LocationServiceTest
         createTestLocation("장소2", LocationCategory.RESTAURANT, false);
 
         // when
-        List<LocationResponse> locations = locationService.getLocations(testUser, null, null);
+        List<LocationResponse> locations = locationService.getLocations(testUser.getId(), null, null);
 
         // then
         assertThat(locations).hasSize(2);
@@ -89,7 +107,7 @@ class LocationServiceTest
 
         // when
         List<LocationResponse> restaurants = locationService.getLocations(
-                testUser, LocationCategory.RESTAURANT, null);
+                testUser.getId(), LocationCategory.RESTAURANT, null);
 
         // then
         assertThat(restaurants).hasSize(1);
@@ -105,7 +123,7 @@ class LocationServiceTest
         createTestLocation("그랜드 팰리스", LocationCategory.ATTRACTION, true);
 
         // when
-        List<LocationResponse> results = locationService.getLocations(testUser, null, "왓");
+        List<LocationResponse> results = locationService.getLocations(testUser.getId(), null, "왓");
 
         // then
         assertThat(results).hasSize(2);
@@ -118,7 +136,7 @@ class LocationServiceTest
         LocationResponse created = createTestLocation("조회 테스트", LocationCategory.ATTRACTION, true);
 
         // when
-        LocationResponse found = locationService.getLocation(testUser, created.getId());
+        LocationResponse found = locationService.getLocation(testUser.getId(), created.getId());
 
         // then
         assertThat(found).isNotNull();
@@ -134,7 +152,7 @@ class LocationServiceTest
 
         // when & then
         assertThrows(IllegalArgumentException.class, () -> {
-            locationService.getLocation(otherUser, privateLocation.getId());
+            locationService.getLocation(otherUser.getId(), privateLocation.getId());
         });
     }
 
@@ -146,7 +164,7 @@ class LocationServiceTest
         User otherUser = userRepository.save(new User("other@test.com", "password", "다른유저"));
 
         // when
-        LocationResponse found = locationService.getLocation(otherUser, publicLocation.getId());
+        LocationResponse found = locationService.getLocation(otherUser.getId(), publicLocation.getId());
 
         // then
         assertThat(found).isNotNull();
@@ -169,7 +187,7 @@ class LocationServiceTest
         updateRequest.setIsPublic(true);
 
         // when
-        LocationResponse updated = locationService.updateLocation(testUser, original.getId(), updateRequest);
+        LocationResponse updated = locationService.updateLocation(testUser.getId(), original.getId(), updateRequest);
 
         // then
         assertThat(updated.getName()).isEqualTo("수정된 이름");
@@ -185,7 +203,7 @@ class LocationServiceTest
         Long locationId = location.getId();
 
         // when
-        locationService.deleteLocation(testUser, locationId);
+        locationService.deleteLocation(testUser.getId(), locationId);
 
         // then
         assertThat(locationRepository.findById(locationId)).isEmpty();
@@ -207,10 +225,299 @@ class LocationServiceTest
 
         // when & then
         assertThrows(IllegalArgumentException.class, () -> {
-            locationService.updateLocation(otherUser, location.getId(), updateRequest);
+            locationService.updateLocation(otherUser.getId(), location.getId(), updateRequest);
         });
     }
 
+    @Test
+    void 반경_검색은_가까운_순이고_다른_유저의_비공개_위치는_빠진다()
+    {
+        // given
+        createLocationAt("왓포", 13.7465, 100.4927, true);
+        createLocationAt("왕궁", 13.7500, 100.4913, true);
+        createLocationAt("카오산", 13.7589, 100.4974, false);
+        createLocationAt("치앙마이", 18.7883, 98.9853, true);
+        User otherUser = userRepository.save(new User("other@test.com", "password", "다른유저"));
+        locationRepository.flush();
+
+        // when
+        List<NearbyLocationResponse> mine = locationService.findNearby(testUser.getId(), 13.7465, 100.4927, 2000, 10);
+        List<NearbyLocationResponse> others = locationService.findNearby(otherUser.getId(), 13.7465, 100.4927, 2000, 10);
+
+        // then
+        assertThat(mine).extracting(result -> result.location().getName()).containsExactly("왓포", "왕궁", "카오산");
+        assertThat(mine.get(0).distanceMeters()).isLessThan(1);
+        assertThat(others).extracting(result -> result.location().getName()).containsExactly("왓포", "왕궁");
+    }
+
+    @Test
+    void 반경_검색은_가까운_순으로_limit_개만_돌려주고_거리를_채운다()
+    {
+        // given
+        createLocationAt("1km", 13.7555, 100.5018, true);
+        createLocationAt("2km", 13.7645, 100.5018, true);
+        createLocationAt("3km", 13.7735, 100.5018, true);
+        createLocationAt("4km", 13.7825, 100.5018, true);
+        locationRepository.flush();
+
+        // when
+        List<NearbyLocationResponse> nearby = locationService.findNearby(testUser.getId(), 13.7465, 100.5018, 5000, 2);
+
+        // then
+        assertThat(nearby).extracting(result -> result.location().getName()).containsExactly("1km", "2km");
+        assertThat(nearby.get(0).distanceMeters())
+                .isCloseTo(GeoGrid.distanceMeters(13.7465, 100.5018, 13.7555, 100.5018), within(0.01));
+    }
+
+    @Test
+    void 최근접_검색은_반경을_넓혀_k개를_찾는다()
+    {
+        // given
+        createLocationAt("1km", 13.7555, 100.5018, true);
+        createLocationAt("5km", 13.7915, 100.5018, true);
+        createLocationAt("12km", 13.8633, 100.5018, true);
+        locationRepository.flush();
+
+        // when
+        List<NearbyLocationResponse> nearest = locationService.findNearest(testUser.getId(), 13.7465, 100.5018, 2);
+
+        // then
+        assertThat(nearest).extracting(result -> result.location().getName()).containsExactly("1km", "5km");
+    }
+
+    @Test
+    void 위치를_옮기면_반경_검색_결과도_바뀐다()
+    {
+        // given
+        LocationResponse location = createLocationAt("이동", 13.7465, 100.4927, true);
+        LocationRequest moved = new LocationRequest();
+        moved.setName("이동");
+        moved.setCategory(LocationCategory.ATTRACTION);
+        moved.setLatitude(18.7883);
+        moved.setLongitude(98.9853);
+        moved.setAddress("Chiang Mai");
+        moved.setIsPublic(true);
+
+        // when
+        locationService.updateLocation(testUser.getId(), location.getId(), moved);
+        locationRepository.flush();
+
+        // then
+        assertThat(locationService.findNearby(testUser.getId(), 13.7465, 100.4927, 1000, 10)).isEmpty();
+        assertThat(locationService.findNearby(testUser.getId(), 18.7883, 98.9853, 1000, 10)).hasSize(1);
+    }
+
+    @Test
+    void 기존_행의_칸_번호는_저장할_때와_같은_값으로_채운다()
+    {
+        // given
+        LocationResponse location = createLocationAt("기존", 13.7465, 100.4927, true);
+        locationRepository.flush();
+        jdbcClient.sql("UPDATE locations SET geo_cell = NULL").update();
+
+        // when
+        locationGeoCellInitializer.afterSingletonsInstantiated();
+
+        // then
+        Long cell = jdbcClient.sql("SELECT geo_cell FROM locations WHERE id = :id")
+                .param("id", location.getId())
+                .query(Long.class)
+                .single();
+        assertThat(cell).isEqualTo(GeoGrid.cellOf(13.7465, 100.4927));
+    }
+
+    @Test
+    void 칸_번호는_저장소로_바로_저장하고_고칠_때도_채워진다()
+    {
+        // given
+        Location location = locationRepository.save(Location.builder()
+                .user(testUser)
+                .name("왓포")
+                .category(LocationCategory.ATTRACTION)
+                .latitude(13.7465)
+                .longitude(100.4927)
+                .address("2 Sanam Chai Rd, Bangkok")
+                .build());
+        assertThat(location.getGeoCell()).isEqualTo(GeoGrid.cellOf(13.7465, 100.4927));
+
+        // when
+        location.setLatitude(18.7883);
+        location.setLongitude(98.9853);
+        locationRepository.flush();
+
+        // then
+        Long cell = jdbcClient.sql("SELECT geo_cell FROM locations WHERE id = :id")
+                .param("id", location.getId())
+                .query(Long.class)
+                .single();
+        assertThat(cell).isEqualTo(GeoGrid.cellOf(18.7883, 98.9853));
+    }
+
+    @Test
+    void 묶음은_공개_위치만_칸별로_세고_카테고리를_나눈다()
+    {
+        // given
+        createLocationAt("왓포", LocationCategory.ATTRACTION, 13.7465, 100.4927, true);
+        createLocationAt("식당", LocationCategory.RESTAURANT, 13.7500, 100.4913, true);
+        createLocationAt("비공개", LocationCategory.HOTEL, 13.7589, 100.4974, false);
+        createLocationAt("치앙마이", LocationCategory.ATTRACTION, 18.7883, 98.9853, true);
+        locationRepository.flush();
+        locationClusterIndex.rebuild();
+
+        // when
+        LocationClustersResponse response = locationService.getClusters("100,13,101,14", 5);
+
+        // then
+        assertThat(response.points()).isEmpty();
+        assertThat(response.clusters()).hasSize(1);
+        LocationClusterResponse cluster = response.clusters().get(0);
+        assertThat(cluster.count()).isEqualTo(2);
+        assertThat(cluster.categories()).containsOnly(
+                Map.entry(LocationCategory.ATTRACTION, 1L), Map.entry(LocationCategory.RESTAURANT, 1L));
+        assertThat(cluster.latitude()).isCloseTo(13.74825, within(1e-9));
+    }
+
+    @Test
+    void 위치_변경은_기록만_해_두고_flush_때_묶음에_쓴다()
+    {
+        // given
+        createLocationAt("왓포", LocationCategory.ATTRACTION, 13.7465, 100.4927, true);
+        createLocationAt("비공개", LocationCategory.HOTEL, 13.7589, 100.4974, false);
+        locationRepository.flush();
+        assertThat(locationService.getClusters("-180,-90,180,90", 0).clusters()).isEmpty();
+
+        // when
+        locationClusterIndex.flush();
+
+        // then
+        List<LocationClusterResponse> clusters = locationService.getClusters("-180,-90,180,90", 0).clusters();
+        assertThat(clusters).hasSize(1);
+        assertThat(clusters.get(0).count()).isEqualTo(1);
+        assertThat(pendingChanges()).isZero();
+    }
+
+    @Test
+    void 다시_만들면_이미_들어간_변경_기록은_지워_두_번_세지_않는다()
+    {
+        // given
+        createLocationAt("왓포", LocationCategory.ATTRACTION, 13.7465, 100.4927, true);
+        createLocationAt("식당", LocationCategory.RESTAURANT, 13.7500, 100.4913, true);
+        locationRepository.flush();
+
+        // when
+        locationClusterIndex.rebuild();
+        locationClusterIndex.flush();
+
+        // then
+        assertThat(pendingChanges()).isZero();
+        List<LocationClusterResponse> clusters = locationService.getClusters("-180,-90,180,90", 0).clusters();
+        assertThat(clusters).hasSize(1);
+        assertThat(clusters.get(0).count()).isEqualTo(2);
+    }
+
+    @Test
+    void 쌓인_증감을_쓰면_묶음이_바뀐다()
+    {
+        // given
+        LocationClusterIndex.Point bangkok =
+                new LocationClusterIndex.Point(LocationCategory.ATTRACTION, 13.7465, 100.4927);
+        LocationClusterIndex.Point chiangMai =
+                new LocationClusterIndex.Point(LocationCategory.ATTRACTION, 18.7883, 98.9853);
+
+        // when & then
+        locationClusterIndex.change(null, bangkok);
+        locationClusterIndex.flush();
+        List<LocationClusterResponse> clusters = locationService.getClusters("-180,-90,180,90", 0).clusters();
+        assertThat(clusters).hasSize(1);
+        assertThat(clusters.get(0).latitude()).isCloseTo(13.7465, within(1e-9));
+
+        // 공개 -> 비공개, 다시 다른 곳에 공개: 두 변경이 합쳐져 한 번에 쓰인다
+        locationClusterIndex.change(bangkok, null);
+        locationClusterIndex.change(null, chiangMai);
+        locationClusterIndex.flush();
+        clusters = locationService.getClusters("-180,-90,180,90", 0).clusters();
+        assertThat(clusters).hasSize(1);
+        assertThat(clusters.get(0).count()).isEqualTo(1);
+        assertThat(clusters.get(0).latitude()).isCloseTo(18.7883, within(1e-9));
+
+        locationClusterIndex.change(chiangMai, null);
+        locationClusterIndex.flush();
+        assertThat(locationService.getClusters("-180,-90,180,90", 0).clusters()).isEmpty();
+    }
+
+    @Test
+    void 다시_만든_묶음은_증분으로_쌓은_것과_같다()
+    {
+        // given
+        createLocationAt("방콕1", LocationCategory.ATTRACTION, 13.7465, 100.4927, true);
+        createLocationAt("방콕2", LocationCategory.RESTAURANT, 13.7500, 100.4913, true);
+        createLocationAt("서울", LocationCategory.HOTEL, 37.5663, 126.9779, true);
+        createLocationAt("피지", LocationCategory.ATTRACTION, -17.7134, 178.0650, true);
+        createLocationAt("비공개", LocationCategory.ATTRACTION, 35.1798, 129.0750, false);
+        locationRepository.flush();
+        locationClusterIndex.flush();
+        List<LocationClusterResponse> incremental = locationService.getClusters("-180,-90,180,90", 3).clusters();
+
+        // when
+        locationClusterIndex.rebuild();
+
+        // then
+        List<LocationClusterResponse> rebuilt = locationService.getClusters("-180,-90,180,90", 3).clusters();
+        assertThat(rebuilt).hasSameSizeAs(incremental).hasSize(3);
+        for (int i = 0; i < rebuilt.size(); i++) {
+            assertThat(rebuilt.get(i).count()).isEqualTo(incremental.get(i).count());
+            assertThat(rebuilt.get(i).categories()).isEqualTo(incremental.get(i).categories());
+            assertThat(rebuilt.get(i).latitude()).isCloseTo(incremental.get(i).latitude(), within(1e-9));
+            assertThat(rebuilt.get(i).longitude()).isCloseTo(incremental.get(i).longitude(), within(1e-9));
+        }
+    }
+
+    @Test
+    void 크게_확대하면_개별_공개_위치를_돌려준다()
+    {
+        // given
+        createLocationAt("왓포", LocationCategory.ATTRACTION, 13.7465, 100.4927, true);
+        createLocationAt("왕궁", LocationCategory.ATTRACTION, 13.7500, 100.4913, true);
+        createLocationAt("비공개", LocationCategory.ATTRACTION, 13.7480, 100.4920, false);
+        createLocationAt("밖", LocationCategory.ATTRACTION, 13.7600, 100.4920, true);
+        locationRepository.flush();
+
+        // when
+        LocationClustersResponse response = locationService.getClusters("100.49,13.745,100.495,13.751", 17);
+
+        // then
+        assertThat(response.clusters()).isEmpty();
+        assertThat(response.points()).extracting(LocationResponse::getName).containsExactly("왓포", "왕궁");
+    }
+
+    private long pendingChanges()
+    {
+        return jdbcClient.sql("SELECT COUNT(*) FROM location_cluster_changes").query(Long.class).single();
+    }
+
+    private LocationResponse createLocationAt(String name, double latitude, double longitude, boolean isPublic)
+    {
+        return createLocationAt(name, LocationCategory.ATTRACTION, latitude, longitude, isPublic);
+    }
+
+    private LocationResponse createLocationAt(
+        String name,
+        LocationCategory category,
+        double latitude,
+        double longitude,
+        boolean isPublic
+    ) {
+        LocationRequest request = new LocationRequest();
+        request.setName(name);
+        request.setCategory(category);
+        request.setLatitude(latitude);
+        request.setLongitude(longitude);
+        request.setAddress("Thailand");
+        request.setIsPublic(isPublic);
+
+        return locationService.createLocation(testUser.getId(), request);
+    }
+
     private LocationResponse createTestLocation(String name, LocationCategory category, boolean isPublic)
     {
         LocationRequest request = new LocationRequest();
@@ -222,7 +529,7 @@ class LocationServiceTest
         request.setDescription("테스트 장소");
         request.setIsPublic(isPublic);
 
-        return locationService.createLocation(testUser, request);
+        return locationService.createLocation(testUser.getId(), request);
     }
 }
 
@@ -0,0 +1,51 @@
+package com.lien.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RankKeysTest {
+
+    @Test
+    void 순서값_키는_정수_순서를_따른다() {
+        for (int i = 0; i < 2000; i++) {
+            assertThat(RankKeys.forIndex(i)).isLessThan(RankKeys.forIndex(i + 1));
+        }
+    }
+
+    @Test
+    void 임의_위치에_끼워_넣어도_순서와_길이가_유지된다() {
+        Random random = new Random(42);
+        List<String> keys = new ArrayList<>(List.of(RankKeys.forIndex(0), RankKeys.forIndex(1)));
+        for (int i = 0; i < 5000; i++) {
+            int position = random.nextInt(keys.size() + 1);
+            String lower = position == 0 ? null : keys.get(position - 1);
+            String upper = position == keys.size() ? null : keys.get(position);
+            keys.add(position, RankKeys.between(lower, upper));
+        }
+
+        assertThat(keys).isSorted().doesNotHaveDuplicates();
+        assertThat(keys).allSatisfy(key -> assertThat(key.length()).isLessThanOrEqualTo(RankKeys.MAX_LENGTH));
+    }
+
+    @Test
+    void 여러_개를_한번에_만들면_고르게_나뉜다() {
+        List<String> keys = RankKeys.between(RankKeys.forIndex(0), RankKeys.forIndex(1), 100);
+
+        assertThat(keys).hasSize(100).isSorted().doesNotHaveDuplicates();
+        assertThat(keys.get(0)).isGreaterThan(RankKeys.forIndex(0));
+        assertThat(keys.get(99)).isLessThan(RankKeys.forIndex(1));
+        assertThat(keys).allSatisfy(key -> assertThat(key.length()).isLessThanOrEqualTo(8));
+    }
+
+    @Test
+    void 범위가_뒤집히면_실패() {
+        assertThrows(IllegalArgumentException.class,
+                () -> RankKeys.between(RankKeys.forIndex(2), RankKeys.forIndex(1)));
+    }
+}
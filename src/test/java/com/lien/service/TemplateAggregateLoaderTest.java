@@ -0,0 +1,173 @@
+package com.lien.service;
+
+import com.lien.entity.Activity;
+import com.lien.entity.ChecklistItem;
+import com.lien.entity.ChecklistSection;
+import com.lien.entity.DaySchedule;
+import com.lien.entity.Location;
+import com.lien.entity.LocationCategory;
+import com.lien.entity.Template;
+import com.lien.entity.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class TemplateAggregateLoaderTest
+{
+
+    @Autowired
+    private TemplateAggregateLoader templateAggregateLoader;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private User testUser;
+
+    @BeforeEach
+    void setUp()
+    {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        testUser = new User("loader@test.com", "password", "테스트유저");
+        entityManager.persist(testUser);
+    }
+
+    @Test
+    void 일정_길이와_관계없이_쿼리_수_일정()
+    {
+        // given
+        Long shortTrip = createTemplate(2, 2, 3, 2);
+        Long longTrip = createTemplate(10, 8, 5, 6);
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        long shortTripStatements = countStatements(shortTrip, 2 * 2, 3 * 2);
+        entityManager.clear();
+        long longTripStatements = countStatements(longTrip, 10 * 8, 5 * 6);
+
+        // then
+        assertThat(shortTripStatements).isLessThanOrEqualTo(4);
+        assertThat(longTripStatements).isEqualTo(shortTripStatements);
+    }
+
+    @Test
+    void 활동_순서대로_로딩()
+    {
+        // given
+        Long templateId = createTemplate(1, 3, 1, 3);
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        Template template = templateAggregateLoader.load(templateId).orElseThrow();
+
+        // then
+        assertThat(template.getDaySchedules().get(0).getActivities())
+                .extracting(Activity::getOrderIndex)
+                .containsExactly(0, 1, 2);
+        assertThat(template.getChecklistSections().get(0).getItems())
+                .extracting(ChecklistItem::getOrderIndex)
+                .containsExactly(0, 1, 2);
+    }
+
+    @Test
+    void 없는_템플릿은_빈_결과()
+    {
+        assertThat(templateAggregateLoader.load(-1L)).isEmpty();
+    }
+
+    private long countStatements(Long templateId, int expectedActivities, int expectedItems)
+    {
+        statistics.clear();
+        Template template = templateAggregateLoader.load(templateId).orElseThrow();
+
+        int activities = 0;
+        for (DaySchedule day : template.getDaySchedules()) {
+            for (Activity activity : day.getActivities()) {
+                assertThat(activity.getLocation().getName()).isNotNull();
+                assertThat(activity.getPreviousLocation().getName()).isNotNull();
+                activities++;
+            }
+        }
+        int items = 0;
+        for (ChecklistSection section : template.getChecklistSections()) {
+            items += section.getItems().size();
+        }
+        assertThat(activities).isEqualTo(expectedActivities);
+        assertThat(items).isEqualTo(expectedItems);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Long createTemplate(int days, int activitiesPerDay, int sections, int itemsPerSection)
+    {
+        Template template = Template.builder()
+                .user(testUser)
+                .title("여행")
+                .destination("Bangkok, Thailand")
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 1, days))
+                .totalDays(days)
+                .build();
+        entityManager.persist(template);
+
+        for (int s = 0; s < sections; s++) {
+            ChecklistSection section = ChecklistSection.builder()
+                    .template(template)
+                    .title("섹션" + s)
+                    .orderIndex(s)
+                    .build();
+            for (int i = itemsPerSection - 1; i >= 0; i--) {
+                section.getItems().add(ChecklistItem.builder().section(section).label("항목" + i).orderIndex(i).build());
+            }
+            entityManager.persist(section);
+        }
+
+        for (int d = 0; d < days; d++) {
+            DaySchedule day = DaySchedule.builder()
+                    .template(template)
+                    .dayNumber(d + 1)
+                    .date(LocalDate.of(2024, 1, d + 1))
+                    .title(d + 1 + "일차")
+                    .build();
+            entityManager.persist(day);
+            for (int a = activitiesPerDay - 1; a >= 0; a--) {
+                Activity activity = Activity.builder()
+                        .daySchedule(day)
+                        .time("10:00")
+                        .description("활동" + a)
+                        .location(createLocation("장소" + d + "-" + a))
+                        .previousLocation(createLocation("이전 장소" + d + "-" + a))
+                        .orderIndex(a)
+                        .build();
+                entityManager.persist(activity);
+            }
+        }
+        return template.getId();
+    }
+
+    private Location createLocation(String name)
+    {
+        Location location = Location.builder()
+                .user(testUser)
+                .name(name)
+                .category(LocationCategory.ATTRACTION)
+                .latitude(13.7563)
+                .longitude(100.5018)
+                .address("Bangkok, Thailand")
+                .build();
+        entityManager.persist(location);
+        return location;
+    }
+}
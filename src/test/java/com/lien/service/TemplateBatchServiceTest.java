@@ -0,0 +1,208 @@
+package com.lien.service;
+
+import com.lien.dto.request.ActivityRequest;
+import com.lien.dto.request.ChecklistSectionRequest;
+import com.lien.dto.request.TemplateBatchRequest.Operation;
+import com.lien.dto.request.TemplateBatchRequest.OperationType;
+import com.lien.dto.response.TemplateBatchResponse;
+import com.lien.entity.ChecklistItem;
+import com.lien.entity.ChecklistSection;
+import com.lien.entity.Location;
+import com.lien.entity.LocationCategory;
+import com.lien.entity.Template;
+import com.lien.entity.User;
+import com.lien.repository.ActivityRepository;
+import com.lien.repository.ChecklistSectionRepository;
+import com.lien.repository.DayScheduleRepository;
+import com.lien.repository.LocationRepository;
+import com.lien.repository.TemplateRepository;
+import com.lien.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.lien.service.TemplateFixture.dayRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Transactional
+class TemplateBatchServiceTest
+{
+
+    @Autowired
+    private TemplateBatchService templateBatchService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TemplateRepository templateRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private ChecklistSectionRepository checklistSectionRepository;
+
+    @Autowired
+    private DayScheduleRepository dayScheduleRepository;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User testUser;
+    private Template template;
+    private Location location;
+
+    @BeforeEach
+    void setUp()
+    {
+        testUser = TemplateFixture.user(userRepository);
+        template = templateRepository.save(TemplateFixture.template(testUser));
+        location = TemplateFixture.location(locationRepository, testUser);
+    }
+
+    @Test
+    void 여러_작업을_순서대로_한번에_적용()
+    {
+        // given
+        ChecklistSection section = ChecklistSection.builder().template(template).title("준비물").orderIndex(0).build();
+        section.getItems().add(ChecklistItem.builder().section(section).label("여권").orderIndex(0).build());
+        section = checklistSectionRepository.save(section);
+
+        Operation addDay = operation(OperationType.ADD_DAY);
+        addDay.setDay(dayRequest(1));
+        Operation addActivity = operation(OperationType.ADD_ACTIVITY);
+        addActivity.setDayRef(0);
+        addActivity.setActivity(activityRequest("09:00"));
+        Operation deleteSection = operation(OperationType.DELETE_SECTION);
+        deleteSection.setId(section.getId());
+        Operation addSection = operation(OperationType.ADD_SECTION);
+        addSection.setSection(sectionRequest("새 섹션"));
+
+        // when
+        TemplateBatchResponse response = templateBatchService.apply(
+                testUser.getId(), template.getId(), List.of(addDay, addActivity, deleteSection, addSection));
+        entityManager.flush();
+        entityManager.clear();
+
+        // then
+        assertThat(response.results()).extracting(TemplateBatchResponse.OperationResult::type)
+                .containsExactly(OperationType.ADD_DAY, OperationType.ADD_ACTIVITY,
+                        OperationType.DELETE_SECTION, OperationType.ADD_SECTION);
+        assertThat(response.results()).allSatisfy(result -> assertThat(result.id()).isNotNull());
+        assertThat(dayScheduleRepository.findAllWithActivitiesByTemplateId(template.getId()))
+                .singleElement()
+                .satisfies(day -> assertThat(day.getActivities()).hasSize(1));
+        assertThat(checklistSectionRepository.findAllWithItemsByTemplateId(template.getId()))
+                .extracting(ChecklistSection::getTitle)
+                .containsExactly("새 섹션");
+        assertThat(templateRepository.findVersionById(template.getId()).orElseThrow().version()).isEqualTo(1L);
+    }
+
+    @Test
+    void 다른_템플릿의_요소를_가리키면_작업_순번과_함께_실패()
+    {
+        // given
+        Template other = templateRepository.save(Template.builder()
+                .user(testUser)
+                .title("다른 여행")
+                .destination("Seoul")
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 1, 2))
+                .totalDays(2)
+                .build());
+        Long otherDayId = dayScheduleRepository.save(TemplateService.newDaySchedule(other, dayRequest(1))).getId();
+
+        Operation addDay = operation(OperationType.ADD_DAY);
+        addDay.setDay(dayRequest(1));
+        Operation addActivity = operation(OperationType.ADD_ACTIVITY);
+        addActivity.setDayId(otherDayId);
+        addActivity.setActivity(activityRequest("09:00"));
+
+        // when & then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> templateBatchService.apply(testUser.getId(), template.getId(), List.of(addDay, addActivity)));
+        assertThat(exception.getMessage()).startsWith("operations[1]");
+    }
+
+    @Test
+    void 권한이_없으면_실패()
+    {
+        // given
+        User other = userRepository.save(new User("other@test.com", "password", "다른유저"));
+        Operation addDay = operation(OperationType.ADD_DAY);
+        addDay.setDay(dayRequest(1));
+
+        // when & then
+        assertThrows(IllegalArgumentException.class,
+                () -> templateBatchService.apply(other.getId(), template.getId(), List.of(addDay)));
+    }
+
+    @Test
+    void 다른_유저의_비공개_위치는_연결할_수_없다()
+    {
+        // given
+        User other = userRepository.save(new User("other@test.com", "password", "다른유저"));
+        Location privateLocation = locationRepository.save(Location.builder()
+                .user(other)
+                .name("비공개 장소")
+                .category(LocationCategory.ATTRACTION)
+                .latitude(13.7)
+                .longitude(100.5)
+                .address("Bangkok")
+                .isPublic(false)
+                .build());
+        Long dayId = dayScheduleRepository.save(TemplateService.newDaySchedule(template, dayRequest(1))).getId();
+
+        Operation addActivity = operation(OperationType.ADD_ACTIVITY);
+        addActivity.setDayId(dayId);
+        ActivityRequest request = activityRequest("09:00");
+        request.setLocationId(privateLocation.getId());
+        addActivity.setActivity(request);
+
+        // when & then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> templateBatchService.apply(testUser.getId(), template.getId(), List.of(addActivity)));
+        assertThat(exception.getMessage()).contains(String.valueOf(privateLocation.getId()));
+    }
+
+    private static Operation operation(OperationType type)
+    {
+        Operation operation = new Operation();
+        operation.setType(type);
+        return operation;
+    }
+
+    private ActivityRequest activityRequest(String time)
+    {
+        ActivityRequest request = new ActivityRequest();
+        request.setTime(time);
+        request.setDescription("관광");
+        request.setLocationId(location.getId());
+        request.setOrderIndex(0);
+        return request;
+    }
+
+    private static ChecklistSectionRequest sectionRequest(String title)
+    {
+        ChecklistSectionRequest.ChecklistItemDto item = new ChecklistSectionRequest.ChecklistItemDto();
+        item.setLabel("항목");
+        item.setOrderIndex(0);
+        ChecklistSectionRequest request = new ChecklistSectionRequest();
+        request.setTitle(title);
+        request.setOrderIndex(1);
+        request.setItems(List.of(item));
+        return request;
+    }
+}
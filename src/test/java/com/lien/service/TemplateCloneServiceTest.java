@@ -0,0 +1,177 @@
+package com.lien.service;
+
+import com.lien.dto.request.ActivityRequest;
+import com.lien.dto.request.ChecklistSectionRequest;
+import com.lien.dto.request.TemplateCloneRequest;
+import com.lien.dto.response.TemplateResponse;
+import com.lien.entity.Activity;
+import com.lien.entity.DaySchedule;
+import com.lien.entity.Location;
+import com.lien.entity.User;
+import com.lien.repository.DayScheduleRepository;
+import com.lien.repository.LocationRepository;
+import com.lien.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.lien.service.TemplateFixture.dayRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Transactional
+class TemplateCloneServiceTest
+{
+
+    @Autowired
+    private TemplateCloneService templateCloneService;
+
+    @Autowired
+    private TemplateService templateService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private DayScheduleRepository dayScheduleRepository;
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User testUser;
+    private Location location;
+    private Long templateId;
+
+    @BeforeEach
+    void setUp()
+    {
+        testUser = TemplateFixture.user(userRepository);
+        location = TemplateFixture.location(locationRepository, testUser);
+        templateId = templateService.createTemplate(testUser.getId(), TemplateFixture.templateRequest()).getId();
+
+        ChecklistSectionRequest sectionRequest = new ChecklistSectionRequest();
+        sectionRequest.setTitle("서류");
+        sectionRequest.setOrderIndex(0);
+        sectionRequest.setItems(List.of(itemDto("여권", 0), itemDto("항공권", 1)));
+        templateService.addChecklistSection(testUser.getId(), templateId, sectionRequest);
+
+        Long firstDayId = templateService.addDaySchedule(testUser.getId(), templateId, dayRequest(1)).id();
+        Long secondDayId = templateService.addDaySchedule(testUser.getId(), templateId, dayRequest(2)).id();
+        addActivity(firstDayId, "사원 구경", 0);
+        addActivity(firstDayId, "야시장", 1);
+        addActivity(secondDayId, "마사지", 0);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void 템플릿_전체를_날짜를_옮겨_복제()
+    {
+        // given
+        TemplateCloneRequest request = new TemplateCloneRequest();
+        request.setStartDate(LocalDate.of(2025, 1, 1));
+
+        // when
+        TemplateResponse cloned = templateCloneService.cloneTemplate(testUser.getId(), templateId, request);
+        entityManager.clear();
+
+        // then
+        assertThat(cloned.getId()).isNotEqualTo(templateId);
+        assertThat(cloned.getTitle()).isEqualTo("방콕 여행");
+        assertThat(cloned.getStartDate()).isEqualTo(LocalDate.of(2025, 1, 1));
+        assertThat(cloned.getEndDate()).isEqualTo(LocalDate.of(2025, 1, 2));
+
+        List<DaySchedule> days = dayScheduleRepository.findAllWithActivitiesByTemplateId(cloned.getId());
+        assertThat(days).extracting(DaySchedule::getDate)
+                .containsExactly(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 2));
+        assertThat(days.get(0).getActivities()).extracting(Activity::getDescription).containsExactly("사원 구경", "야시장");
+        assertThat(days.get(1).getActivities()).extracting(Activity::getDescription).containsExactly("마사지");
+        assertThat(labels(cloned.getId())).containsExactly("여권", "항공권");
+
+        // 원본은 그대로
+        assertThat(labels(templateId)).containsExactly("여권", "항공권");
+        assertThat(dayScheduleRepository.findAllWithActivitiesByTemplateId(templateId)).extracting(DaySchedule::getDate)
+                .containsExactly(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 2));
+    }
+
+    @Test
+    void 복제_후에도_새로_저장하는_행의_id_가_겹치지_않는다()
+    {
+        // given
+        TemplateResponse cloned = templateCloneService.cloneTemplate(testUser.getId(), templateId, null);
+        Long clonedDayId = dayScheduleRepository.findAllWithActivitiesByTemplateId(cloned.getId()).get(0).getId();
+
+        // when
+        for (int i = 0; i < 60; i++) {
+            addActivity(clonedDayId, "추가 " + i, i + 2);
+        }
+        entityManager.flush();
+
+        // then
+        long activities = jdbcClient.sql("SELECT COUNT(*) FROM activities WHERE day_schedule_id = :dayId")
+                .param("dayId", clonedDayId)
+                .query(Long.class)
+                .single();
+        assertThat(activities).isEqualTo(62);
+    }
+
+    @Test
+    void 다른_사용자의_템플릿은_복제할_수_없다()
+    {
+        // given
+        User other = userRepository.save(new User("other@test.com", "password", "다른유저"));
+
+        // when & then
+        assertThrows(IllegalArgumentException.class,
+                () -> templateCloneService.cloneTemplate(other.getId(), templateId, null));
+    }
+
+    private List<String> labels(Long id)
+    {
+        return jdbcClient.sql("SELECT i.label FROM checklist_items i JOIN checklist_sections cs ON cs.id = i.section_id"
+                        + " WHERE cs.template_id = :id ORDER BY i.order_index")
+                .param("id", id)
+                .query(String.class)
+                .list();
+    }
+
+    private void addActivity(Long dayId, String description, int orderIndex)
+    {
+        ActivityRequest request = new ActivityRequest();
+        request.setTime("09:00");
+        request.setDescription(description);
+        request.setLocationId(location.getId());
+        request.setOrderIndex(orderIndex);
+        templateService.addActivity(testUser.getId(), dayTemplateId(dayId), dayId, request);
+    }
+
+    private Long dayTemplateId(Long dayId)
+    {
+        return jdbcClient.sql("SELECT template_id FROM day_schedules WHERE id = :id")
+                .param("id", dayId)
+                .query(Long.class)
+                .single();
+    }
+
+    private static ChecklistSectionRequest.ChecklistItemDto itemDto(String label, int orderIndex)
+    {
+        ChecklistSectionRequest.ChecklistItemDto item = new ChecklistSectionRequest.ChecklistItemDto();
+        item.setLabel(label);
+        item.setOrderIndex(orderIndex);
+        return item;
+    }
+}
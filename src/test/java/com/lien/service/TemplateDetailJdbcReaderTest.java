@@ -0,0 +1,162 @@
+package com.lien.service;
+
+import com.lien.dto.response.TemplateDetailResponse;
+import com.lien.entity.Activity;
+import com.lien.entity.ChecklistItem;
+import com.lien.entity.ChecklistSection;
+import com.lien.entity.DaySchedule;
+import com.lien.entity.Location;
+import com.lien.entity.LocationCategory;
+import com.lien.entity.Template;
+import com.lien.entity.User;
+import com.lien.mapper.TemplateMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class TemplateDetailJdbcReaderTest
+{
+
+    @Autowired
+    private TemplateDetailJdbcReader jdbcReader;
+
+    @Autowired
+    private TemplateAggregateLoader aggregateLoader;
+
+    @Autowired
+    private TemplateMapper templateMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp()
+    {
+        testUser = new User("jdbc-reader@test.com", "password", "테스트유저");
+        entityManager.persist(testUser);
+    }
+
+    @Test
+    void JPA_경로를_변환한_응답과_같은_트리_조립()
+    {
+        // given
+        Long templateId = createTemplate();
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        TemplateDetailResponse expected = templateMapper.toDetailResponse(aggregateLoader.load(templateId).orElseThrow());
+        entityManager.clear();
+        TemplateDetailJdbcReader.OwnedDetail fromJdbc = jdbcReader.read(templateId).orElseThrow();
+
+        // then
+        assertThat(fromJdbc.detail()).isEqualTo(expected);
+        assertThat(fromJdbc.detail().daySchedules().get(0).activities()).hasSize(3);
+        assertThat(fromJdbc.ownerId()).isEqualTo(testUser.getId());
+    }
+
+    @Test
+    void 일정이_없는_템플릿_조회()
+    {
+        // given
+        Template template = Template.builder()
+                .user(testUser)
+                .title("빈 여행")
+                .destination("Seoul")
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 1, 1))
+                .totalDays(1)
+                .build();
+        entityManager.persist(template);
+        entityManager.flush();
+
+        // when
+        TemplateDetailResponse result = jdbcReader.read(template.getId()).orElseThrow().detail();
+
+        // then
+        assertThat(result.template().getTitle()).isEqualTo("빈 여행");
+        assertThat(result.daySchedules()).isEmpty();
+        assertThat(result.checklistSections()).isEmpty();
+    }
+
+    @Test
+    void 없는_템플릿은_빈_결과()
+    {
+        assertThat(jdbcReader.read(-1L)).isEmpty();
+    }
+
+    private Long createTemplate()
+    {
+        Template template = Template.builder()
+                .user(testUser)
+                .title("방콕 여행")
+                .destination("Bangkok, Thailand")
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 1, 3))
+                .totalDays(3)
+                .accommodation("호텔")
+                .build();
+        entityManager.persist(template);
+
+        ChecklistSection section = ChecklistSection.builder()
+                .template(template)
+                .title("준비물")
+                .orderIndex(0)
+                .build();
+        section.getItems().add(ChecklistItem.builder().section(section).label("여권").orderIndex(1).build());
+        section.getItems().add(ChecklistItem.builder().section(section).label("충전기").orderIndex(0).build());
+        entityManager.persist(section);
+        entityManager.persist(ChecklistSection.builder().template(template).title("빈 섹션").orderIndex(1).build());
+
+        Location hotel = createLocation("호텔", LocationCategory.HOTEL);
+        Location temple = createLocation("왓포", LocationCategory.ATTRACTION);
+        for (int d = 1; d <= 3; d++) {
+            DaySchedule day = DaySchedule.builder()
+                    .template(template)
+                    .dayNumber(d)
+                    .date(LocalDate.of(2024, 1, d))
+                    .title(d + "일차")
+                    .build();
+            entityManager.persist(day);
+            if (d == 3) {
+                continue;
+            }
+            for (int a = 2; a >= 0; a--) {
+                entityManager.persist(Activity.builder()
+                        .daySchedule(day)
+                        .time("1" + a + ":00")
+                        .description("활동" + a)
+                        .location(a % 2 == 0 ? temple : hotel)
+                        .previousLocation(a == 0 ? null : hotel)
+                        .orderIndex(a)
+                        .build());
+            }
+        }
+        return template.getId();
+    }
+
+    private Location createLocation(String name, LocationCategory category)
+    {
+        Location location = Location.builder()
+                .user(testUser)
+                .name(name)
+                .category(category)
+                .latitude(13.7563)
+                .longitude(100.5018)
+                .address("Bangkok, Thailand")
+                .build();
+        entityManager.persist(location);
+        return location;
+    }
+}
@@ -0,0 +1,170 @@
+package com.lien.service;
+
+import com.lien.dto.response.ActivityResponse;
+import com.lien.dto.response.ChecklistSectionResponse;
+import com.lien.dto.response.DayScheduleResponse;
+import com.lien.dto.response.TemplateDetailResponse;
+import com.lien.entity.Activity;
+import com.lien.entity.ChecklistItem;
+import com.lien.entity.ChecklistSection;
+import com.lien.entity.DaySchedule;
+import com.lien.entity.Location;
+import com.lien.entity.LocationCategory;
+import com.lien.entity.Template;
+import com.lien.entity.User;
+import com.lien.mapper.TemplateMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * 대용량 일정의 상세 조회를 JPA 경로와 JDBC 경로로 비교한다. ./gradlew benchmark 로 실행한다.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@Transactional
+class TemplateDetailReadBenchmark
+{
+
+    private static final int DAYS = 30;
+    private static final int ACTIVITIES_PER_DAY = 15;
+    private static final int WARMUP = 50;
+    private static final int ITERATIONS = 200;
+
+    @Autowired
+    private TemplateAggregateLoader aggregateLoader;
+
+    @Autowired
+    private TemplateDetailJdbcReader jdbcReader;
+
+    @Autowired
+    private TemplateMapper templateMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void 대용량_일정_상세_조회_비교(TestReporter reporter)
+    {
+        Long templateId = createLargeTemplate();
+        entityManager.flush();
+        entityManager.clear();
+
+        // 두 경로 모두 응답 DTO 까지 만든 비용을 잰다
+        measure(reporter, "jpa", id -> {
+            int activities = countActivities(templateMapper.toDetailResponse(aggregateLoader.load(id).orElseThrow()));
+            entityManager.clear();
+            return activities;
+        }, templateId);
+        measure(reporter, "jdbc", id -> countActivities(jdbcReader.read(id).orElseThrow().detail()), templateId);
+    }
+
+    private void measure(TestReporter reporter, String name, LongFunction<Integer> read, Long templateId)
+    {
+        for (int i = 0; i < WARMUP; i++) {
+            read.apply(templateId);
+        }
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        List<Long> latencies = new ArrayList<>(ITERATIONS);
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            read.apply(templateId);
+            latencies.add(System.nanoTime() - start);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        latencies.sort(Long::compare);
+        reporter.publishEntry(name, String.format("%d days x %d activities: p50=%.2fms p99=%.2fms alloc/op=%dKB",
+                DAYS, ACTIVITIES_PER_DAY,
+                latencies.get(ITERATIONS / 2) / 1e6,
+                latencies.get(ITERATIONS * 99 / 100) / 1e6,
+                allocated / ITERATIONS / 1024));
+    }
+
+    private int countActivities(TemplateDetailResponse detail)
+    {
+        int count = 0;
+        for (DayScheduleResponse day : detail.daySchedules()) {
+            for (ActivityResponse activity : day.activities()) {
+                activity.location().getName();
+                count++;
+            }
+        }
+        for (ChecklistSectionResponse section : detail.checklistSections()) {
+            count += section.items().size();
+        }
+        return count;
+    }
+
+    private Long createLargeTemplate()
+    {
+        User user = new User("benchmark@test.com", "password", "벤치마크");
+        entityManager.persist(user);
+        Template template = Template.builder()
+                .user(user)
+                .title("장기 여행")
+                .destination("Bangkok, Thailand")
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 1, DAYS))
+                .totalDays(DAYS)
+                .build();
+        entityManager.persist(template);
+
+        for (int s = 0; s < 5; s++) {
+            ChecklistSection section = ChecklistSection.builder().template(template).title("섹션" + s).orderIndex(s).build();
+            for (int i = 0; i < 10; i++) {
+                section.getItems().add(ChecklistItem.builder().section(section).label("항목" + i).orderIndex(i).build());
+            }
+            entityManager.persist(section);
+        }
+
+        List<Location> locations = new ArrayList<>();
+        for (int l = 0; l < 50; l++) {
+            Location location = Location.builder()
+                    .user(user)
+                    .name("장소" + l)
+                    .category(LocationCategory.ATTRACTION)
+                    .latitude(13.7 + l * 0.001)
+                    .longitude(100.5 + l * 0.001)
+                    .address("Bangkok, Thailand")
+                    .build();
+            entityManager.persist(location);
+            locations.add(location);
+        }
+
+        for (int d = 0; d < DAYS; d++) {
+            DaySchedule day = DaySchedule.builder()
+                    .template(template)
+                    .dayNumber(d + 1)
+                    .date(LocalDate.of(2024, 1, d + 1))
+                    .title(d + 1 + "일차")
+                    .build();
+            entityManager.persist(day);
+            for (int a = 0; a < ACTIVITIES_PER_DAY; a++) {
+                entityManager.persist(Activity.builder()
+                        .daySchedule(day)
+                        .time("10:00")
+                        .description("활동" + a)
+                        .location(locations.get((d * ACTIVITIES_PER_DAY + a) % locations.size()))
+                        .previousLocation(locations.get((d * ACTIVITIES_PER_DAY + a + 1) % locations.size()))
+                        .orderIndex(a)
+                        .build());
+            }
+        }
+        return template.getId();
+    }
+}
@@ -0,0 +1,83 @@
+package com.lien.service;
+
+import com.lien.dto.request.DayScheduleRequest;
+import com.lien.dto.request.TemplateCreateRequest;
+import com.lien.entity.Location;
+import com.lien.entity.LocationCategory;
+import com.lien.entity.Template;
+import com.lien.entity.User;
+import com.lien.repository.LocationRepository;
+import com.lien.repository.UserRepository;
+
+import java.time.LocalDate;
+
+/**
+ * 템플릿 편집 테스트들이 함께 쓰는 기본 데이터. 사용자 하나, 그 사용자의 위치 하나, 2일짜리 방콕 여행 템플릿.
+ */
+final class TemplateFixture
+{
+
+    static final LocalDate START_DATE = LocalDate.of(2024, 1, 1);
+    static final int TOTAL_DAYS = 2;
+
+    private TemplateFixture()
+    {
+    }
+
+    static User user(UserRepository userRepository)
+    {
+        return userRepository.save(new User("test@test.com", "password", "테스트유저"));
+    }
+
+    static Location location(LocationRepository locationRepository, User user)
+    {
+        return location(locationRepository, user, true);
+    }
+
+    static Location location(LocationRepository locationRepository, User user, boolean isPublic)
+    {
+        return locationRepository.save(Location.builder()
+                .user(user)
+                .name("왓포")
+                .category(LocationCategory.ATTRACTION)
+                .latitude(13.7467)
+                .longitude(100.4926)
+                .address("2 Sanam Chai Rd, Bangkok")
+                .isPublic(isPublic)
+                .build());
+    }
+
+    static TemplateCreateRequest templateRequest()
+    {
+        TemplateCreateRequest request = new TemplateCreateRequest();
+        request.setTitle("방콕 여행");
+        request.setDestination("Bangkok, Thailand");
+        request.setStartDate(START_DATE);
+        request.setEndDate(START_DATE.plusDays(TOTAL_DAYS - 1));
+        request.setTotalDays(TOTAL_DAYS);
+        return request;
+    }
+
+    // 서비스를 거치지 않고 저장할 때 쓰는 같은 내용의 엔티티
+    static Template template(User user)
+    {
+        TemplateCreateRequest request = templateRequest();
+        return Template.builder()
+                .user(user)
+                .title(request.getTitle())
+                .destination(request.getDestination())
+                .startDate(request.getStartDate())
+                .endDate(request.getEndDate())
+                .totalDays(request.getTotalDays())
+                .build();
+    }
+
+    static DayScheduleRequest dayRequest(int dayNumber)
+    {
+        DayScheduleRequest request = new DayScheduleRequest();
+        request.setDayNumber(dayNumber);
+        request.setDate(START_DATE.plusDays(dayNumber - 1));
+        request.setTitle(dayNumber + "일차");
+        return request;
+    }
+}
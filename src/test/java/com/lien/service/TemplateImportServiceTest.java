@@ -0,0 +1,147 @@
+package com.lien.service;
+
+import com.lien.dto.response.TemplateResponse;
+import com.lien.entity.Location;
+import com.lien.entity.User;
+import com.lien.repository.LocationRepository;
+import com.lien.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Transactional
+class TemplateImportServiceTest
+{
+
+    private static final String TEMPLATE = """
+            "template": {"title": "방콕 여행", "destination": "Bangkok, Thailand",
+                         "startDate": "2024-01-01", "endDate": "2024-01-02", "totalDays": 2}
+            """;
+
+    @Autowired
+    private TemplateImportService templateImportService;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User testUser;
+    private Location location;
+
+    @BeforeEach
+    void setUp()
+    {
+        testUser = TemplateFixture.user(userRepository);
+        location = TemplateFixture.location(locationRepository, testUser);
+    }
+
+    @Test
+    void 일정_전체_가져오기_성공()
+    {
+        // given
+        String body = "{" + TEMPLATE + """
+                , "checklistSections": [
+                    {"title": "준비물", "orderIndex": 0,
+                     "items": [{"label": "여권", "orderIndex": 0}, {"label": "충전기", "orderIndex": 1}]}
+                  ],
+                  "daySchedules": [
+                    {"dayNumber": 1, "date": "2024-01-01", "title": "1일차",
+                     "activities": [
+                       {"time": "09:00", "description": "출발", "locationId": %1$d, "orderIndex": 0},
+                       {"time": "12:00", "description": "점심", "locationId": %1$d, "previousLocationId": %1$d, "orderIndex": 1}
+                     ]},
+                    {"dayNumber": 2, "date": "2024-01-02", "title": "2일차", "activities": []}
+                  ]
+                }
+                """.formatted(location.getId());
+
+        // when
+        TemplateResponse response = templateImportService.importTemplate(testUser.getId(), stream(body));
+
+        // then
+        assertThat(response.getId()).isNotNull();
+        assertThat(response.getTitle()).isEqualTo("방콕 여행");
+        assertThat(count("SELECT COUNT(i) FROM ChecklistItem i WHERE i.section.template.id = :id", response.getId()))
+                .isEqualTo(2L);
+        assertThat(count("SELECT COUNT(d) FROM DaySchedule d WHERE d.template.id = :id", response.getId()))
+                .isEqualTo(2L);
+        assertThat(count("SELECT COUNT(a) FROM Activity a WHERE a.daySchedule.template.id = :id", response.getId()))
+                .isEqualTo(2L);
+    }
+
+    @Test
+    void 다른_사용자의_비공개_위치를_참조하면_실패()
+    {
+        // given
+        User other = userRepository.save(new User("other@test.com", "password", "다른유저"));
+        Location privateLocation = TemplateFixture.location(locationRepository, other, false);
+        String body = "{" + TEMPLATE + """
+                , "daySchedules": [
+                    {"dayNumber": 1, "date": "2024-01-01", "title": "1일차",
+                     "activities": [{"time": "09:00", "description": "출발", "locationId": %d, "orderIndex": 0}]}
+                  ]
+                }
+                """.formatted(privateLocation.getId());
+
+        // when & then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> templateImportService.importTemplate(testUser.getId(), stream(body)));
+        assertThat(exception.getMessage()).contains(String.valueOf(privateLocation.getId()));
+    }
+
+    @Test
+    void 요소_검증_실패시_경로를_알려준다()
+    {
+        // given
+        String body = "{" + TEMPLATE + """
+                , "checklistSections": [{"title": "준비물", "orderIndex": 0, "items": []}]
+                }
+                """;
+
+        // when & then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> templateImportService.importTemplate(testUser.getId(), stream(body)));
+        assertThat(exception.getMessage()).startsWith("checklistSections[0].items");
+    }
+
+    @Test
+    void 템플릿이_먼저_오지_않으면_실패()
+    {
+        // given
+        String body = """
+                {"checklistSections": [], %s}
+                """.formatted(TEMPLATE);
+
+        // when & then
+        assertThrows(IllegalArgumentException.class,
+                () -> templateImportService.importTemplate(testUser.getId(), stream(body)));
+    }
+
+    private long count(String jpql, Long templateId)
+    {
+        return entityManager.createQuery(jpql, Long.class)
+                .setParameter("id", templateId)
+                .getSingleResult();
+    }
+
+    private static InputStream stream(String body)
+    {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
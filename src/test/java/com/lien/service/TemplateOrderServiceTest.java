@@ -0,0 +1,304 @@
+package com.lien.service;
+
+import com.lien.dto.request.ActivityRequest;
+import com.lien.dto.request.ChecklistSectionRequest;
+import com.lien.dto.request.MoveRequest;
+import com.lien.dto.request.TemplateCreateRequest;
+import com.lien.dto.response.ActivityResponse;
+import com.lien.dto.response.TemplateDetailResponse;
+import com.lien.entity.Activity;
+import com.lien.entity.DaySchedule;
+import com.lien.entity.Location;
+import com.lien.entity.User;
+import com.lien.repository.DayScheduleRepository;
+import com.lien.repository.LocationRepository;
+import com.lien.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.lien.service.TemplateFixture.dayRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Transactional
+class TemplateOrderServiceTest
+{
+
+    @Autowired
+    private TemplateOrderService templateOrderService;
+
+    @Autowired
+    private TemplateService templateService;
+
+    @Autowired
+    private RankRebalancer rankRebalancer;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private DayScheduleRepository dayScheduleRepository;
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User testUser;
+    private Long templateId;
+    private Long firstDayId;
+    private Long secondDayId;
+    private Long activityA;
+    private Long activityB;
+    private Long activityC;
+    private Long locationId;
+
+    @BeforeEach
+    void setUp()
+    {
+        testUser = TemplateFixture.user(userRepository);
+        Location location = TemplateFixture.location(locationRepository, testUser);
+        locationId = location.getId();
+        templateId = templateService.createTemplate(testUser.getId(), TemplateFixture.templateRequest()).getId();
+
+        firstDayId = templateService.addDaySchedule(testUser.getId(), templateId, dayRequest(1)).id();
+        secondDayId = templateService.addDaySchedule(testUser.getId(), templateId, dayRequest(2)).id();
+        activityA = addActivity(firstDayId, location, "A", 0);
+        activityB = addActivity(firstDayId, location, "B", 1);
+        activityC = addActivity(firstDayId, location, "C", 2);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void 일정_안에서_옮기면_옮긴_행의_키만_바뀐다()
+    {
+        // given
+        Map<Long, String> before = rankKeys(firstDayId);
+        MoveRequest request = moveRequest(firstDayId, List.of(activityC));
+        request.setAfterId(activityA);
+
+        // when
+        templateOrderService.moveActivities(testUser.getId(), templateId, request);
+
+        // then
+        assertThat(descriptions(firstDayId)).containsExactly("A", "C", "B");
+        Map<Long, String> after = rankKeys(firstDayId);
+        assertThat(after.get(activityA)).isEqualTo(before.get(activityA));
+        assertThat(after.get(activityB)).isEqualTo(before.get(activityB));
+    }
+
+    @Test
+    void 옮긴_뒤_예전_순서값으로_고쳐도_옮긴_자리가_유지된다()
+    {
+        // given
+        MoveRequest request = moveRequest(firstDayId, List.of(activityC));
+        request.setAfterId(activityA);
+        templateOrderService.moveActivities(testUser.getId(), templateId, request);
+        entityManager.flush();
+        entityManager.clear();
+
+        // when: 옮기기 전에 받은 orderIndex(2)를 그대로 보낸다
+        templateService.updateActivity(testUser.getId(), templateId, firstDayId, activityC,
+                activityRequest(locationId, "C 수정", 2));
+        entityManager.flush();
+
+        // then
+        assertThat(descriptions(firstDayId)).containsExactly("A", "C 수정", "B");
+        TemplateDetailResponse detail =
+                (TemplateDetailResponse) templateService.getTemplateDetail(testUser.getId(), templateId);
+        assertThat(detail.daySchedules().get(0).activities())
+                .extracting(ActivityResponse::id, ActivityResponse::orderIndex)
+                .containsExactly(tuple(activityA, 0), tuple(activityC, 1), tuple(activityB, 2));
+    }
+
+    @Test
+    void 다른_일정으로_옮기기()
+    {
+        // given
+        MoveRequest request = moveRequest(secondDayId, List.of(activityB, activityA));
+
+        // when
+        templateOrderService.moveActivities(testUser.getId(), templateId, request);
+
+        // then
+        assertThat(descriptions(firstDayId)).containsExactly("C");
+        assertThat(descriptions(secondDayId)).containsExactly("B", "A");
+    }
+
+    @Test
+    void 다른_템플릿의_활동은_옮길_수_없다()
+    {
+        // given
+        TemplateCreateRequest otherRequest = new TemplateCreateRequest();
+        otherRequest.setTitle("다른 여행");
+        otherRequest.setDestination("Seoul");
+        otherRequest.setStartDate(LocalDate.of(2024, 1, 1));
+        otherRequest.setEndDate(LocalDate.of(2024, 1, 1));
+        otherRequest.setTotalDays(1);
+        Long otherTemplateId = templateService.createTemplate(testUser.getId(), otherRequest).getId();
+        Long otherDayId = templateService.addDaySchedule(testUser.getId(), otherTemplateId, dayRequest(1)).id();
+        entityManager.flush();
+
+        // when & then
+        assertThrows(IllegalArgumentException.class, () -> templateOrderService.moveActivities(
+                testUser.getId(), otherTemplateId, moveRequest(otherDayId, List.of(activityA))));
+    }
+
+    @Test
+    void 키가_없는_행은_재정렬에서_순서값대로_채운다()
+    {
+        // given
+        jdbcClient.sql("UPDATE activities SET rank_key = NULL WHERE day_schedule_id = :dayId")
+                .param("dayId", firstDayId)
+                .update();
+
+        // when
+        rankRebalancer.rebalance(RankedSiblings.ACTIVITIES, firstDayId);
+
+        // then
+        Map<Long, String> keys = rankKeys(firstDayId);
+        assertThat(keys.get(activityA)).isEqualTo(RankKeys.forIndex(0));
+        assertThat(keys.get(activityB)).isEqualTo(RankKeys.forIndex(1));
+        assertThat(keys.get(activityC)).isEqualTo(RankKeys.forIndex(2));
+    }
+
+    @Test
+    void 섹션을_맨_앞으로_옮기면_옮긴_섹션의_키만_바뀐다()
+    {
+        // given
+        Long sectionA = addSection("A", 0);
+        Long sectionB = addSection("B", 1);
+        Long sectionC = addSection("C", 2);
+        entityManager.flush();
+        Map<Long, String> before = sectionRankKeys();
+        MoveRequest request = new MoveRequest();
+        request.setIds(List.of(sectionC));
+        request.setBeforeId(sectionA);
+
+        // when
+        templateOrderService.moveChecklistSections(testUser.getId(), templateId, request);
+
+        // then
+        assertThat(sectionTitles()).containsExactly("C", "A", "B");
+        Map<Long, String> after = sectionRankKeys();
+        assertThat(after.get(sectionA)).isEqualTo(before.get(sectionA));
+        assertThat(after.get(sectionB)).isEqualTo(before.get(sectionB));
+        assertThat(after.get(sectionC)).isLessThan(after.get(sectionA));
+    }
+
+    @Test
+    void 기준과_이웃의_키가_같으면_다시_매긴_뒤_사이에_넣는다()
+    {
+        // given
+        Long sectionA = addSection("A", 0);
+        Long sectionB = addSection("B", 1);
+        Long sectionC = addSection("C", 2);
+        entityManager.flush();
+        jdbcClient.sql("UPDATE checklist_sections SET rank_key = :key WHERE id IN (:ids)")
+                .param("key", RankKeys.forIndex(0))
+                .param("ids", List.of(sectionA, sectionB))
+                .update();
+        MoveRequest request = new MoveRequest();
+        request.setIds(List.of(sectionC));
+        request.setAfterId(sectionA);
+        request.setBeforeId(sectionB);
+
+        // when
+        templateOrderService.moveChecklistSections(testUser.getId(), templateId, request);
+
+        // then
+        assertThat(sectionTitles()).containsExactly("A", "C", "B");
+        Map<Long, String> keys = sectionRankKeys();
+        assertThat(keys.get(sectionA)).isLessThan(keys.get(sectionC));
+        assertThat(keys.get(sectionC)).isLessThan(keys.get(sectionB));
+    }
+
+    private Long addSection(String title, int orderIndex)
+    {
+        ChecklistSectionRequest request = new ChecklistSectionRequest();
+        request.setTitle(title);
+        request.setOrderIndex(orderIndex);
+        request.setItems(List.of());
+        return templateService.addChecklistSection(testUser.getId(), templateId, request).id();
+    }
+
+    private List<String> sectionTitles()
+    {
+        return jdbcClient.sql("SELECT title FROM checklist_sections WHERE template_id = :templateId ORDER BY rank_key, id")
+                .param("templateId", templateId)
+                .query(String.class)
+                .list();
+    }
+
+    private Map<Long, String> sectionRankKeys()
+    {
+        return jdbcClient.sql("SELECT id, rank_key FROM checklist_sections WHERE template_id = :templateId")
+                .param("templateId", templateId)
+                .query((rs, rowNum) -> Map.entry(rs.getLong("id"), rs.getString("rank_key")))
+                .list()
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    private List<String> descriptions(Long dayId)
+    {
+        entityManager.clear();
+        return dayScheduleRepository.findAllWithActivitiesByTemplateId(templateId).stream()
+                .filter(day -> day.getId().equals(dayId))
+                .map(DaySchedule::getActivities)
+                .flatMap(List::stream)
+                .map(Activity::getDescription)
+                .toList();
+    }
+
+    private Map<Long, String> rankKeys(Long dayId)
+    {
+        return jdbcClient.sql("SELECT id, rank_key FROM activities WHERE day_schedule_id = :dayId")
+                .param("dayId", dayId)
+                .query((rs, rowNum) -> Map.entry(rs.getLong("id"), rs.getString("rank_key")))
+                .list()
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    private Long addActivity(Long dayId, Location location, String description, int orderIndex)
+    {
+        return templateService.addActivity(testUser.getId(), templateId, dayId,
+                activityRequest(location.getId(), description, orderIndex)).id();
+    }
+
+    private static ActivityRequest activityRequest(Long locationId, String description, int orderIndex)
+    {
+        ActivityRequest request = new ActivityRequest();
+        request.setTime("09:00");
+        request.setDescription(description);
+        request.setLocationId(locationId);
+        request.setOrderIndex(orderIndex);
+        return request;
+    }
+
+    private static MoveRequest moveRequest(Long dayId, List<Long> ids)
+    {
+        MoveRequest request = new MoveRequest();
+        request.setDayId(dayId);
+        request.setIds(ids);
+        return request;
+    }
+}
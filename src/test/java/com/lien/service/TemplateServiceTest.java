@@ -1,10 +1,17 @@
 package com.lien.service;
 
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.lien.dto.request.ActivityRequest;
 import com.lien.dto.request.ChecklistSectionRequest;
 import com.lien.dto.request.DayScheduleRequest;
 import com.lien.dto.request.TemplateCreateRequest;
+import com.lien.dto.request.TemplateListSort;
+import com.lien.dto.response.ChecklistItemResponse;
+import com.lien.dto.response.ChecklistSectionResponse;
+import com.lien.dto.response.DayScheduleResponse;
+import com.lien.dto.response.TemplateCursorResponse;
 import com.lien.dto.response.TemplateResponse;
+import com.lien.dto.response.TemplateSummaryResponse;
 import com.lien.entity.Location;
 import com.lien.entity.LocationCategory;
 import com.lien.entity.Template;
@@ -21,9 +28,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -84,7 +93,7 @@ class TemplateServiceTest
         request.setTransportation("비행기");
 
         // when
-        TemplateResponse response = templateService.createTemplate(testUser, request);
+        TemplateResponse response = templateService.createTemplate(testUser.getId(), request);
 
         // then
         assertThat(response).isNotNull();
@@ -101,12 +110,69 @@ class TemplateServiceTest
         createTestTemplate("여행2");
 
         // when
-        Page<TemplateResponse> templates = templateService.getTemplates(testUser, PageRequest.of(0, 10));
+        Page<TemplateSummaryResponse> templates = templateService.getTemplates(testUser.getId(), PageRequest.of(0, 10));
 
         // then
         assertThat(templates.getContent()).hasSize(2);
     }
 
+    @Test
+    void 목록_ETag_는_템플릿을_고치거나_지우면_바뀐다()
+    {
+        // given
+        Template template = createTestTemplate("여행1");
+        Template other = createTestTemplate("여행2");
+        PageRequest pageable = PageRequest.of(0, 10);
+        String initial = templateService.getTemplatesETag(testUser.getId(), pageable);
+
+        // when
+        DayScheduleRequest dayRequest = new DayScheduleRequest();
+        dayRequest.setDayNumber(1);
+        dayRequest.setDate(LocalDate.of(2024, 1, 1));
+        dayRequest.setTitle("1일차");
+        templateService.addDaySchedule(testUser.getId(), template.getId(), dayRequest);
+        String edited = templateService.getTemplatesETag(testUser.getId(), pageable);
+        templateService.deleteTemplate(testUser.getId(), other.getId());
+        String deleted = templateService.getTemplatesETag(testUser.getId(), pageable);
+
+        // then
+        assertThat(templateService.getTemplatesETag(testUser.getId(), pageable)).isEqualTo(deleted);
+        assertThat(edited).isNotEqualTo(initial);
+        assertThat(deleted).isNotEqualTo(edited).isNotEqualTo(initial);
+    }
+
+    @Test
+    void 목록에_일정과_활동_개수가_포함된다()
+    {
+        // given
+        Template template = createTestTemplate("개수 테스트");
+        Location location = createTestLocation();
+
+        DayScheduleRequest dayRequest = new DayScheduleRequest();
+        dayRequest.setDayNumber(1);
+        dayRequest.setDate(LocalDate.of(2024, 1, 1));
+        dayRequest.setTitle("1일차");
+        Long dayId = templateService.addDaySchedule(testUser.getId(), template.getId(), dayRequest).id();
+
+        ActivityRequest activityRequest = new ActivityRequest();
+        activityRequest.setTime("09:00");
+        activityRequest.setDescription("관광지 방문");
+        activityRequest.setLocationId(location.getId());
+        activityRequest.setOrderIndex(0);
+        templateService.addActivity(testUser.getId(), template.getId(), dayId, activityRequest);
+        activityRequest.setOrderIndex(1);
+        templateService.addActivity(testUser.getId(), template.getId(), dayId, activityRequest);
+        createTestTemplate("빈 여행");
+
+        // when
+        Page<TemplateSummaryResponse> templates = templateService.getTemplates(
+                testUser.getId(), PageRequest.of(0, 10, Sort.by("id")));
+
+        // then
+        assertThat(templates.getContent()).extracting(TemplateSummaryResponse::dayCount).containsExactly(1L, 0L);
+        assertThat(templates.getContent()).extracting(TemplateSummaryResponse::activityCount).containsExactly(2L, 0L);
+    }
+
     @Test
     void 템플릿_상세_조회()
     {
@@ -114,7 +180,7 @@ class TemplateServiceTest
         Template template = createTestTemplate("상세조회 테스트");
 
         // when
-        Object detail = templateService.getTemplateDetail(testUser, template.getId());
+        Object detail = templateService.getTemplateDetail(testUser.getId(), template.getId());
 
         // then
         assertThat(detail).isNotNull();
@@ -133,13 +199,65 @@ class TemplateServiceTest
         updateRequest.setTotalDays(5);
 
         // when
-        TemplateResponse response = templateService.updateTemplate(testUser, template.getId(), updateRequest);
+        TemplateResponse response = templateService.updateTemplate(testUser.getId(), template.getId(), updateRequest);
 
         // then
         assertThat(response.getTitle()).isEqualTo("수정된 제목");
         assertThat(response.getDestination()).isEqualTo("New Destination");
     }
 
+    @Test
+    void 부분_수정_응답의_수정_시각은_저장된_값이다()
+    {
+        // given
+        Template template = createTestTemplate("원본 제목");
+        LocalDateTime before = template.getUpdatedAt();
+
+        // when
+        TemplateResponse response = templateService.patchTemplate(
+                testUser.getId(), template.getId(), JsonNodeFactory.instance.objectNode().put("title", "수정된 제목"));
+
+        // then
+        assertThat(response.getTitle()).isEqualTo("수정된 제목");
+        assertThat(response.getUpdatedAt()).isAfter(before);
+    }
+
+    @Test
+    void 커서로_목록_이어_읽기()
+    {
+        // given
+        Long first = createTestTemplate("첫 번째").getId();
+        Long second = createTestTemplate("두 번째").getId();
+        Long third = createTestTemplate("세 번째").getId();
+
+        // when
+        TemplateCursorResponse firstPage =
+                templateService.getTemplatesByCursor(testUser.getId(), TemplateListSort.START_DATE, null, 2, true);
+        TemplateCursorResponse secondPage = templateService.getTemplatesByCursor(
+                testUser.getId(), TemplateListSort.START_DATE, firstPage.nextCursor(), 2, false);
+
+        // then
+        assertThat(firstPage.content()).extracting(TemplateSummaryResponse::id).containsExactly(first, second);
+        assertThat(firstPage.totalElements()).isEqualTo(3);
+        assertThat(secondPage.content()).extracting(TemplateSummaryResponse::id).containsExactly(third);
+        assertThat(secondPage.nextCursor()).isNull();
+        assertThat(secondPage.totalElements()).isNull();
+    }
+
+    @Test
+    void 다른_정렬의_커서는_거부()
+    {
+        // given
+        createTestTemplate("첫 번째");
+        createTestTemplate("두 번째");
+        String cursor = templateService.getTemplatesByCursor(
+                testUser.getId(), TemplateListSort.START_DATE, null, 1, false).nextCursor();
+
+        // when & then
+        assertThrows(IllegalArgumentException.class, () -> templateService.getTemplatesByCursor(
+                testUser.getId(), TemplateListSort.UPDATED_AT, cursor, 1, false));
+    }
+
     @Test
     void 템플릿_삭제_성공()
     {
@@ -148,12 +266,49 @@ class TemplateServiceTest
         Long templateId = template.getId();
 
         // when
-        templateService.deleteTemplate(testUser, templateId);
+        templateService.deleteTemplate(testUser.getId(), templateId);
 
         // then
         assertThat(templateRepository.findById(templateId)).isEmpty();
     }
 
+    @Test
+    void 하위_항목이_있는_템플릿_삭제()
+    {
+        // given
+        Template template = createTestTemplate("삭제 테스트");
+        Location location = createTestLocation();
+
+        ChecklistSectionRequest sectionRequest = new ChecklistSectionRequest();
+        sectionRequest.setTitle("서류");
+        sectionRequest.setOrderIndex(0);
+        sectionRequest.setItems(List.of(itemDto(null, "여권", 0)));
+        templateService.addChecklistSection(testUser.getId(), template.getId(), sectionRequest);
+
+        DayScheduleRequest dayRequest = new DayScheduleRequest();
+        dayRequest.setDayNumber(1);
+        dayRequest.setDate(LocalDate.of(2024, 1, 1));
+        dayRequest.setTitle("1일차");
+        Long dayId = templateService.addDaySchedule(testUser.getId(), template.getId(), dayRequest).id();
+
+        ActivityRequest activityRequest = new ActivityRequest();
+        activityRequest.setTime("09:00");
+        activityRequest.setDescription("관광지 방문");
+        activityRequest.setLocationId(location.getId());
+        activityRequest.setOrderIndex(0);
+        templateService.addActivity(testUser.getId(), template.getId(), dayId, activityRequest);
+
+        // when
+        templateService.deleteTemplate(testUser.getId(), template.getId());
+
+        // then
+        assertThat(templateRepository.findById(template.getId())).isEmpty();
+        assertThat(checklistSectionRepository.count()).isZero();
+        assertThat(dayScheduleRepository.count()).isZero();
+        assertThat(activityRepository.count()).isZero();
+        assertThat(locationRepository.findById(location.getId())).isPresent();
+    }
+
     @Test
     void 다른_유저의_템플릿_접근_실패()
     {
@@ -163,10 +318,47 @@ class TemplateServiceTest
 
         // when & then
         assertThrows(IllegalArgumentException.class, () -> {
-            templateService.getTemplateDetail(otherUser, template.getId());
+            templateService.getTemplateDetail(otherUser.getId(), template.getId());
         });
     }
 
+    @Test
+    void 다른_유저의_비공개_위치는_활동에_연결할_수_없다()
+    {
+        // given
+        Template template = createTestTemplate("위치 권한 테스트");
+        User otherUser = userRepository.save(new User("other@test.com", "password", "다른유저"));
+        Location otherLocation = locationRepository.save(Location.builder()
+                .user(otherUser)
+                .name("다른 유저 장소")
+                .category(LocationCategory.ATTRACTION)
+                .latitude(13.7563)
+                .longitude(100.5018)
+                .address("Bangkok, Thailand")
+                .isPublic(false)
+                .build());
+        DayScheduleRequest dayRequest = new DayScheduleRequest();
+        dayRequest.setDayNumber(1);
+        dayRequest.setDate(LocalDate.of(2024, 1, 1));
+        dayRequest.setTitle("1일차");
+        Long dayId = templateService.addDaySchedule(testUser.getId(), template.getId(), dayRequest).id();
+
+        ActivityRequest activityRequest = new ActivityRequest();
+        activityRequest.setTime("09:00");
+        activityRequest.setDescription("관광지 방문");
+        activityRequest.setLocationId(createTestLocation().getId());
+        activityRequest.setPreviousLocationId(otherLocation.getId());
+        activityRequest.setOrderIndex(0);
+
+        // when & then
+        assertThrows(IllegalArgumentException.class, () ->
+                templateService.addActivity(testUser.getId(), template.getId(), dayId, activityRequest));
+        activityRequest.setPreviousLocationId(null);
+        activityRequest.setLocationId(otherLocation.getId());
+        assertThrows(IllegalArgumentException.class, () ->
+                templateService.addActivity(testUser.getId(), template.getId(), dayId, activityRequest));
+    }
+
     @Test
     void 체크리스트_섹션_추가()
     {
@@ -188,12 +380,57 @@ class TemplateServiceTest
         request.setItems(List.of(item1, item2));
 
         // when
-        Object result = templateService.addChecklistSection(testUser, template.getId(), request);
+        Object result = templateService.addChecklistSection(testUser.getId(), template.getId(), request);
 
         // then
         assertThat(result).isNotNull();
     }
 
+    @Test
+    void 체크리스트_섹션_수정시_남은_항목은_id_유지()
+    {
+        // given
+        Template template = createTestTemplate("체크리스트 테스트");
+        ChecklistSectionRequest request = new ChecklistSectionRequest();
+        request.setTitle("준비물");
+        request.setOrderIndex(0);
+        request.setItems(List.of(itemDto(null, "여권", 0), itemDto(null, "항공권", 1)));
+        ChecklistSectionResponse created = templateService.addChecklistSection(testUser.getId(), template.getId(), request);
+        Long passportId = created.items().get(0).id();
+        Long ticketId = created.items().get(1).id();
+
+        request.setItems(List.of(itemDto(passportId, "여권 사본", 0), itemDto(null, "충전기", 1)));
+
+        // when
+        ChecklistSectionResponse updated = templateService.updateChecklistSection(
+                testUser.getId(), template.getId(), created.id(), request);
+        checklistSectionRepository.flush();
+
+        // then
+        assertThat(updated.items()).extracting(ChecklistItemResponse::label).containsExactly("여권 사본", "충전기");
+        assertThat(updated.items().get(0).id()).isEqualTo(passportId);
+        assertThat(updated.items()).extracting(ChecklistItemResponse::id).doesNotContain(ticketId);
+    }
+
+    @Test
+    void 체크리스트_섹션_수정시_다른_섹션의_항목_id면_실패()
+    {
+        // given
+        Template template = createTestTemplate("체크리스트 테스트");
+        ChecklistSectionRequest request = new ChecklistSectionRequest();
+        request.setTitle("준비물");
+        request.setOrderIndex(0);
+        request.setItems(List.of(itemDto(null, "여권", 0)));
+        ChecklistSectionResponse first = templateService.addChecklistSection(testUser.getId(), template.getId(), request);
+        ChecklistSectionResponse second = templateService.addChecklistSection(testUser.getId(), template.getId(), request);
+
+        request.setItems(List.of(itemDto(first.items().get(0).id(), "여권", 0)));
+
+        // when & then
+        assertThrows(IllegalArgumentException.class, () ->
+                templateService.updateChecklistSection(testUser.getId(), template.getId(), second.id(), request));
+    }
+
     @Test
     void 일정_추가()
     {
@@ -206,7 +443,7 @@ class TemplateServiceTest
         request.setColor("#4f46e5");
 
         // when
-        Object result = templateService.addDaySchedule(testUser, template.getId(), request);
+        Object result = templateService.addDaySchedule(testUser.getId(), template.getId(), request);
 
         // then
         assertThat(result).isNotNull();
@@ -223,8 +460,8 @@ class TemplateServiceTest
         dayRequest.setTitle("첫째 날");
         dayRequest.setColor("#4f46e5");
 
-        Object dayResult = templateService.addDaySchedule(testUser, template.getId(), dayRequest);
-        Long dayId = extractIdFromAnonymousObject(dayResult);
+        DayScheduleResponse dayResult = templateService.addDaySchedule(testUser.getId(), template.getId(), dayRequest);
+        Long dayId = dayResult.id();
 
         Location location = createTestLocation();
 
@@ -235,12 +472,64 @@ class TemplateServiceTest
         activityRequest.setOrderIndex(0);
 
         // when
-        Object result = templateService.addActivity(testUser, template.getId(), dayId, activityRequest);
+        Object result = templateService.addActivity(testUser.getId(), template.getId(), dayId, activityRequest);
 
         // then
         assertThat(result).isNotNull();
     }
 
+    @Test
+    void 다른_템플릿의_일정에는_활동을_추가할_수_없다()
+    {
+        // given
+        Template template = createTestTemplate("여행1");
+        Template other = createTestTemplate("여행2");
+        Location location = createTestLocation();
+
+        DayScheduleRequest dayRequest = new DayScheduleRequest();
+        dayRequest.setDayNumber(1);
+        dayRequest.setDate(LocalDate.of(2024, 1, 1));
+        dayRequest.setTitle("1일차");
+        Long otherDayId = templateService.addDaySchedule(testUser.getId(), other.getId(), dayRequest).id();
+
+        ActivityRequest activityRequest = new ActivityRequest();
+        activityRequest.setTime("09:00");
+        activityRequest.setDescription("관광지 방문");
+        activityRequest.setLocationId(location.getId());
+        activityRequest.setOrderIndex(0);
+
+        // when & then
+        assertThrows(IllegalArgumentException.class, () ->
+                templateService.addActivity(testUser.getId(), template.getId(), otherDayId, activityRequest));
+    }
+
+    @Test
+    void 삭제된_템플릿에는_섹션을_추가할_수_없다()
+    {
+        // given
+        Template template = createTestTemplate("삭제 테스트");
+        ChecklistSectionRequest request = new ChecklistSectionRequest();
+        request.setTitle("서류");
+        request.setOrderIndex(0);
+        request.setItems(List.of(itemDto(null, "여권", 0)));
+        // 소유자 캐시에 올려 둔 뒤 삭제한다
+        templateService.addChecklistSection(testUser.getId(), template.getId(), request);
+        templateService.deleteTemplate(testUser.getId(), template.getId());
+
+        // when & then
+        assertThrows(IllegalArgumentException.class, () ->
+                templateService.addChecklistSection(testUser.getId(), template.getId(), request));
+    }
+
+    private ChecklistSectionRequest.ChecklistItemDto itemDto(Long id, String label, int orderIndex)
+    {
+        ChecklistSectionRequest.ChecklistItemDto item = new ChecklistSectionRequest.ChecklistItemDto();
+        item.setId(id);
+        item.setLabel(label);
+        item.setOrderIndex(orderIndex);
+        return item;
+    }
+
     private Template createTestTemplate(String title)
     {
         TemplateCreateRequest request = new TemplateCreateRequest();
@@ -250,7 +539,7 @@ class TemplateServiceTest
         request.setEndDate(LocalDate.of(2024, 1, 5));
         request.setTotalDays(5);
 
-        TemplateResponse response = templateService.createTemplate(testUser, request);
+        TemplateResponse response = templateService.createTemplate(testUser.getId(), request);
         return templateRepository.findById(response.getId()).orElseThrow();
     }
 
@@ -268,16 +557,5 @@ class TemplateServiceTest
                 .build();
         return locationRepository.save(location);
     }
-
-    private Long extractIdFromAnonymousObject(Object obj)
-    {
-        try {
-            java.lang.reflect.Field field = obj.getClass().getDeclaredField("id");
-            field.setAccessible(true);
-            return (Long) field.get(obj);
-        } catch (Exception e) {
-            throw new RuntimeException("ID 추출 실패", e);
-        }
-    }
 }
 
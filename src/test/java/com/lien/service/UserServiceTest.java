@@ -2,12 +2,17 @@ package com.lien.service;
 
 import com.lien.entity.User;
 import com.lien.repository.UserRepository;
+import com.lien.security.PasswordHasher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -15,18 +20,23 @@ import static org.mockito.ArgumentMatchers.anyString;
 class UserServiceTest {
 
     private UserRepository userRepository;
+    private RegisteredEmailFilter registeredEmails;
     private UserService userService;
 
     @BeforeEach
     void setUp() {
         userRepository = Mockito.mock(UserRepository.class);
-        userService = new UserService(userRepository);
+        registeredEmails = new RegisteredEmailFilter(
+                userRepository, Mockito.mock(StringRedisTemplate.class), new SimpleMeterRegistry(),
+                true, false, 1000, 0.01);
+        userService = new UserService(
+                userRepository, new PasswordHasher(new SimpleMeterRegistry(), 4, 2, 16, 5000), registeredEmails);
     }
 
     @Test
     void 회원가입_성공() {
         Mockito.when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
-        Mockito.when(userRepository.save(Mockito.any(User.class)))
+        Mockito.when(userRepository.saveAndFlush(Mockito.any(User.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
 
         User user = userService.register("test@email.com", "pw1234", "홍길동");
@@ -43,6 +53,38 @@ class UserServiceTest {
                 userService.register("test@email.com", "pw1234", "홍길동"));
     }
 
+    @Test
+    void 회원가입_새_이메일은_중복_조회_생략() {
+        // given
+        Mockito.when(userRepository.streamAllEmails()).thenReturn(Stream.of("other@email.com"));
+        registeredEmails.rebuild();
+        Mockito.when(userRepository.saveAndFlush(Mockito.any(User.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        userService.register("test@email.com", "pw1234", "홍길동");
+
+        // then
+        Mockito.verify(userRepository, Mockito.never()).findByEmail(anyString());
+        assertTrue(registeredEmails.mightContain("TEST@email.com"));
+    }
+
+    @Test
+    void 회원가입_동시_가입으로_유니크_제약_위반시_중복_오류() {
+        // given: 필터에 아직 반영되지 않은 이메일이 다른 요청에서 먼저 저장된 상황
+        Mockito.when(userRepository.streamAllEmails()).thenReturn(Stream.empty());
+        registeredEmails.rebuild();
+        Mockito.when(userRepository.saveAndFlush(Mockito.any(User.class)))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+        Mockito.when(userRepository.findByEmail(anyString()))
+                .thenReturn(Optional.of(new User("test@email.com", "pw", "홍길동")));
+
+        // when & then
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () ->
+                userService.register("test@email.com", "pw1234", "홍길동"));
+        assertEquals("이미 가입된 이메일입니다.", e.getMessage());
+    }
+
     @Test
     void 로그인_성공() {
         String rawPw = "pw1234";
@@ -63,4 +105,20 @@ class UserServiceTest {
         assertThrows(IllegalArgumentException.class, () ->
                 userService.authenticate("test@email.com", "pw1234"));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void 로그인_성공시_낮은_cost_해시_갱신() {
+        String rawPw = "pw1234";
+        User user = new User("test@email.com", new BCryptPasswordEncoder(4).encode(rawPw), "홍길동");
+        Mockito.when(userRepository.findByEmail(anyString()))
+                .thenReturn(Optional.of(user));
+        UserService strongerService = new UserService(
+                userRepository, new PasswordHasher(new SimpleMeterRegistry(), 5, 2, 16, 5000), registeredEmails);
+
+        strongerService.authenticate("test@email.com", rawPw);
+
+        assertTrue(user.getPassword().startsWith("$2a$05$"));
+        assertTrue(new BCryptPasswordEncoder().matches(rawPw, user.getPassword()));
+        Mockito.verify(userRepository).save(user);
+    }
+}